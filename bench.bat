@@ -0,0 +1,34 @@
+@echo off
+echo ===== run bench.bat =====
+
+REM 進入 src 資料夾
+cd src
+
+echo [編譯中...]
+javac -encoding UTF-8 -cp "..\lib\mysql-connector-j-9.2.0.jar;." -sourcepath ".;..\bench" -d ..\bin ..\bench\Benchmarks.java ..\bench\AllocationCheck.java ..\bench\TrajectoryAccuracy.java ..\bench\SolverCheck.java ..\bench\ServerLoadTest.java
+
+if %errorlevel% neq 0 (
+    echo 編譯失敗，請檢查錯誤訊息。
+    pause
+    exit /b
+)
+
+REM 圖片放在 classpath 上，由 AssetManager 讀取
+copy /Y ball1.png ..\bin\ >nul
+
+cd ..
+
+echo [allocation check...]
+java -cp "lib\mysql-connector-j-9.2.0.jar;bin" AllocationCheck
+
+echo [trajectory accuracy...]
+java -cp "lib\mysql-connector-j-9.2.0.jar;bin" TrajectoryAccuracy
+
+echo [solver check...]
+java -cp "lib\mysql-connector-j-9.2.0.jar;bin" SolverCheck
+
+echo [benchmarks...]
+java -cp "lib\mysql-connector-j-9.2.0.jar;bin" Benchmarks %*
+
+echo ===== bench over =====
+pause
@@ -0,0 +1,229 @@
+import data.Pitcher;
+import data.TrajectoryData;
+import sim.Arsenal;
+import sim.BatterModel;
+import sim.DragMagnusTrajectory;
+import sim.OutcomeTally;
+import sim.PitchTrajectory;
+import sim.PlateAppearanceSimulator;
+import sim.Trajectory;
+import sim.TrajectoryBuffer;
+import sim.TrajectoryBufferPool;
+import javax.swing.Action;
+import javax.swing.SwingUtilities;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Counts the bytes the current thread allocates on steady-state hot paths and exits with status 1
+ * when a path goes over its budget. Run after the warm-up so JIT and class loading are out of the way.
+ * The frame checks drive a real GamePanel (update, render into an offscreen image, repaint bookkeeping)
+ * on the event thread, fed from a catalog file built from CREATETABLE.sql.
+ */
+public class AllocationCheck {
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 1_000_000;
+    // Long enough for the JIT to compile the paths a pitch only takes once; until then a quiet frame can allocate
+    private static final int WARMUP_FRAMES = 10_000;
+    private static final int MEASURED_FRAMES = 5_000;
+    // Frames are measured one at a time and sorted by what happened in them. A frame that changes nothing the HUD
+    // shows must not allocate at all. A frame that starts a pitch, or lays the HUD out again, pays for the pitch log
+    // record and the HUD strings; those get their own per-event budgets
+    private static final long QUIET_FRAME_BUDGET_BYTES = 0;
+    private static final long PITCH_BUDGET_BYTES = 3_072;
+    private static final long RELAYOUT_BUDGET_BYTES = 4_096;
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, TrajectoryData> pitchData = seedArsenal();
+        boolean ok = true;
+        ok &= check("pitch generation (trajectory + pooled buffer)", 0, new PitchGeneration(pitchData, new PitchTrajectory()));
+        ok &= check("pitch generation (drag/Magnus trajectory)", 0, new PitchGeneration(pitchData, new DragMagnusTrajectory()));
+        ok &= check("headless plate appearance", 0, new HeadlessPlateAppearance(pitchData));
+        ok &= checkFrames("game frame (hitting mode)", true);
+        ok &= checkFrames("game frame (pitching mode)", false);
+        if (!ok) {
+            System.exit(1);
+        }
+        System.exit(0); // The game panels' timers would keep the event thread alive
+    }
+
+    // Ohtani's arsenal from CREATETABLE.sql
+    static Map<String, TrajectoryData> seedArsenal() {
+        Map<String, TrajectoryData> pitchData = new LinkedHashMap<>();
+        pitchData.put("SWEEPER", new TrajectoryData(1, 7, 35.0, 8.6, -32.4, -2.4, 5.7, 83.8, 940, 151.0));
+        pitchData.put("4SEAMFAST", new TrajectoryData(1, 1, 33.0, -2.7, -13.5, -2.2, 5.8, 96.8, 1620, 187.0));
+        pitchData.put("CUTTER", new TrajectoryData(1, 8, 15.0, 2.0, -25.6, -2.4, 5.7, 88.6, 960, 173.0));
+        pitchData.put("SPLIT", new TrajectoryData(1, 6, 6.0, -4.0, -28.0, -2.0, 6.1, 88.6, 800, 195.0));
+        pitchData.put("SINKER", new TrajectoryData(1, 5, 6.0, -8.7, -22.8, -2.3, 5.7, 94.3, 1020, 210.0));
+        return pitchData;
+    }
+
+    static long allocatedBytes() {
+        return THREAD_BEAN.getCurrentThreadAllocatedBytes();
+    }
+
+    private static boolean check(String name, long budgetBytes, Runnable iteration) {
+        return check(name, budgetBytes, WARMUP_ITERATIONS, MEASURED_ITERATIONS, iteration);
+    }
+
+    private static boolean check(String name, long budgetBytes, int warmupIterations, int measuredIterations, Runnable iteration) {
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration.run();
+        }
+        long overhead = allocatedBytes();
+        overhead = allocatedBytes() - overhead;
+        long before = allocatedBytes();
+        for (int i = 0; i < measuredIterations; i++) {
+            iteration.run();
+        }
+        long allocated = allocatedBytes() - before - overhead;
+        boolean ok = allocated <= budgetBytes;
+        System.out.printf("%-50s %,d bytes over %,d iterations (budget %,d) %s%n",
+                name, allocated, measuredIterations, budgetBytes, ok ? "OK" : "FAIL");
+        return ok;
+    }
+
+    // Builds a GamePanel, waits for its arsenal, then measures whole frames on the event thread
+    private static boolean checkFrames(String name, boolean hittingMode) throws Exception {
+        useSeedCatalog();
+        Pitcher pitcher = PitchRepository.getShared().getAllPitchers().get(0);
+        GamePanel[] panel = new GamePanel[1];
+        SwingUtilities.invokeAndWait(() -> panel[0] = new GamePanel(hittingMode, null, pitcher, false));
+        boolean[] loading = {true};
+        for (int i = 0; i < 500 && loading[0]; i++) {
+            Thread.sleep(10);
+            SwingUtilities.invokeAndWait(() -> loading[0] = panel[0].isLoadingPitchData());
+        }
+        if (loading[0]) {
+            System.out.printf("%-50s arsenal did not load: %s%n", name, PitchRepository.getShared().getLastError());
+            return false;
+        }
+        GamePanel game = panel[0];
+        Runnable frame = new GameFrame(game, hittingMode);
+        boolean[] ok = new boolean[1];
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 0; i < WARMUP_FRAMES; i++) {
+                frame.run();
+            }
+            long overhead = allocatedBytes();
+            overhead = allocatedBytes() - overhead;
+            long[] bytes = new long[3], frames = new long[3]; // Quiet, pitch, relayout
+            for (int i = 0; i < MEASURED_FRAMES; i++) {
+                int pitches = game.getPitchesStarted();
+                long hudState = game.hudState();
+                long before = allocatedBytes();
+                frame.run();
+                long allocated = allocatedBytes() - before - overhead;
+                int kind = game.getPitchesStarted() != pitches ? 1 : game.hudState() != hudState ? 2 : 0;
+                bytes[kind] += allocated;
+                frames[kind]++;
+            }
+            ok[0] = report(name + ", quiet frames", bytes[0], frames[0], QUIET_FRAME_BUDGET_BYTES)
+                    & report(name + ", pitches", bytes[1], frames[1], PITCH_BUDGET_BYTES)
+                    & report(name + ", HUD relayouts", bytes[2], frames[2], RELAYOUT_BUDGET_BYTES);
+        });
+        return ok[0];
+    }
+
+    private static boolean report(String name, long allocated, long events, long budgetPerEvent) {
+        long budget = budgetPerEvent * events;
+        boolean ok = allocated <= budget;
+        System.out.printf("%-50s %,d bytes over %,d frames (budget %,d) %s%n", name, allocated, events, budget,
+                ok ? "OK" : "FAIL");
+        return ok;
+    }
+
+    private static void useSeedCatalog() throws Exception {
+        if (System.getProperty(PitchRepository.CATALOG_FILE_PROPERTY) != null) return;
+        Path file = Files.createTempFile("pitch-catalog", ".bin");
+        file.toFile().deleteOnExit();
+        MappedCatalogRepository.write(CatalogImporter.fromScript(SqlSeedParser.parse(Paths.get("src", "CREATETABLE.sql"))), file);
+        System.setProperty(PitchRepository.CATALOG_FILE_PROPERTY, file.toString());
+        // Pitches are logged as in the game, but not into the working directory
+        Path log = Files.createTempFile("pitch-log", ".bin");
+        Files.delete(log);
+        log.toFile().deleteOnExit();
+        System.setProperty(PitchLog.LOG_FILE_PROPERTY, log.toString());
+    }
+
+    // One frame as the game loop runs it, plus the key presses a player would make to keep pitches coming
+    private static class GameFrame implements Runnable {
+        private final GamePanel panel;
+        private final boolean hittingMode;
+        // One Graphics for all frames; Swing and BufferStrategy hand the game theirs, so creating it is not game cost
+        private final Graphics2D g2d = new BufferedImage(1000, 700, BufferedImage.TYPE_INT_RGB).createGraphics();
+        private final Action nextPitch, selectPitch, space;
+
+        GameFrame(GamePanel panel, boolean hittingMode) {
+            this.panel = panel;
+            this.hittingMode = hittingMode;
+            this.nextPitch = panel.getActionMap().get("nextPitchAction");
+            this.selectPitch = panel.getActionMap().get("pitchAction1");
+            this.space = panel.getActionMap().get("spacebarAction");
+        }
+
+        @Override
+        public void run() {
+            if (hittingMode) {
+                nextPitch.actionPerformed(null); // Only acts once the previous pitch has a result
+            } else {
+                selectPitch.actionPerformed(null); // Select, aim and throw as soon as the last pitch is in
+                space.actionPerformed(null);
+            }
+            panel.update(GameLoop.SIMULATION_STEP_SECONDS);
+            panel.render(g2d, 0.5);
+            panel.requestRepaint();
+        }
+    }
+
+    // What GamePanel does for every pitch: aim, take a buffer from the pool, sample, give it back on reset
+    private static class PitchGeneration implements Runnable {
+        private final TrajectoryData[] pitches;
+        private final Trajectory trajectory;
+        private final TrajectoryBufferPool pool;
+        private final Random random = new Random(42);
+
+        PitchGeneration(Map<String, TrajectoryData> pitchData, Trajectory trajectory) {
+            this.pitches = pitchData.values().toArray(new TrajectoryData[0]);
+            this.trajectory = trajectory;
+            this.pool = new TrajectoryBufferPool(TrajectoryBufferPool.capacityFor(pitchData.values(), 0.005));
+        }
+
+        @Override
+        public void run() {
+            TrajectoryData data = pitches[random.nextInt(pitches.length)];
+            trajectory.aim(data, random.nextDouble() * 2 - 1, 1 + random.nextDouble() * 2.5);
+            TrajectoryBuffer buffer = pool.acquire();
+            buffer.fill(trajectory, 0.005);
+            pool.release(buffer);
+        }
+    }
+
+    private static class HeadlessPlateAppearance implements Runnable {
+        private final Arsenal arsenal;
+        private final OutcomeTally tally;
+        private final PlateAppearanceSimulator simulator =
+                new PlateAppearanceSimulator(BatterModel.defaultModel(), new SplittableRandom(42));
+
+        HeadlessPlateAppearance(Map<String, TrajectoryData> pitchData) {
+            this.arsenal = new Arsenal(new Pitcher(1, 1, "SHOHEI OHTANI", 23, "R", 80, 80, 36), pitchData);
+            this.tally = new OutcomeTally(arsenal.getPitchCount());
+        }
+
+        @Override
+        public void run() {
+            simulator.simulate(arsenal, tally);
+        }
+    }
+}
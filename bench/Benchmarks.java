@@ -0,0 +1,439 @@
+import data.Batter;
+import data.Pitcher;
+import data.Point3D;
+import data.TrajectoryData;
+import perf.FrameEvent;
+import perf.FrameStats;
+import perf.PaintEvent;
+import sim.Arsenal;
+import sim.AtBatCount;
+import sim.AtBatRules;
+import sim.BatterModel;
+import sim.DragMagnusTrajectory;
+import sim.MatchupMatrix;
+import sim.PitchOutcome;
+import sim.PitchRecord;
+import sim.PitchTrajectory;
+import sim.PlateAppearanceSolver;
+import sim.SwingTiming;
+import sim.TrajectoryBuffer;
+import sim.TrajectoryBufferPool;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Micro-benchmark harness in the spirit of JMH (average time mode, warm-up and measurement iterations),
+ * with per-operation allocation measured through ThreadMXBean as a stand-in for "-prof gc".
+ *
+ * Usage: Benchmarks [name filter] [--mysql]
+ * Database benchmarks run against SeedDataConnection, an in-process stand-in loaded from CREATETABLE.sql;
+ * database.mapped runs them against a MappedCatalogRepository file written from the same script;
+ * --mysql adds the same benchmarks against the live server configured in DatabaseManager.
+ */
+public class Benchmarks {
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASUREMENT_ITERATIONS = 5;
+    private static final long ITERATION_NANOS = 500_000_000L;
+    private static final int OPS_PER_TIME_CHECK = 64;
+    private static final int MATRIX_BATTERS = 16;
+    private static final int MATRIX_PITCHERS = 1_000;
+
+    public static volatile double sink;
+
+    interface Benchmark {
+        // Return something derived from the work so the JIT cannot drop it
+        double run() throws Exception;
+    }
+
+    private static final class Entry {
+        final String name;
+        final Benchmark benchmark;
+
+        Entry(String name, Benchmark benchmark) {
+            this.name = name;
+            this.benchmark = benchmark;
+        }
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    void add(String name, Benchmark benchmark) {
+        entries.add(new Entry(name, benchmark));
+    }
+
+    public static void main(String[] args) throws Exception {
+        String filter = "";
+        boolean mysql = false;
+        for (String arg : args) {
+            if (arg.equals("--mysql")) mysql = true;
+            else filter = arg;
+        }
+
+        Benchmarks benchmarks = new Benchmarks();
+        registerTrajectory(benchmarks);
+        registerProjection(benchmarks);
+        registerHitProbability(benchmarks);
+        registerPitchSelection(benchmarks);
+        registerSolver(benchmarks);
+        registerInstrumentation(benchmarks);
+        DatabaseManager seedManager = seedDatabaseManager();
+        registerDatabase(benchmarks, "database.seed", seedManager);
+        registerDatabase(benchmarks, "database.mapped", mappedRepository());
+        PitchEventWriter seedEvents = registerPitchEvents(benchmarks, "database.seed", seedManager);
+        DatabaseManager mysqlManager = mysql ? new DatabaseManager() : null;
+        PitchEventWriter mysqlEvents = null;
+        if (mysqlManager != null) {
+            registerDatabase(benchmarks, "database.mysql", mysqlManager);
+            mysqlEvents = registerPitchEvents(benchmarks, "database.mysql", mysqlManager);
+        }
+        benchmarks.runAll(filter);
+
+        System.out.println("database.seed pool: " + seedManager.getPoolStats());
+        printPitchEvents("database.seed", seedEvents);
+        if (mysqlManager != null) {
+            System.out.println("database.mysql pool: " + mysqlManager.getPoolStats());
+            printPitchEvents("database.mysql", mysqlEvents);
+        }
+    }
+
+    void runAll(String filter) throws Exception {
+        System.out.printf("%-52s %5s %14s %10s %14s %12s%n", "Benchmark", "Cnt", "Score (ns/op)", "Error", "B/op", "MB/s alloc");
+        for (Entry entry : entries) {
+            if (!entry.name.contains(filter)) continue;
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                measure(entry.benchmark);
+            }
+            double[] nanosPerOp = new double[MEASUREMENT_ITERATIONS];
+            double bytesPerOp = 0;
+            double allocRate = 0;
+            for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+                double[] result = measure(entry.benchmark);
+                nanosPerOp[i] = result[0];
+                bytesPerOp += result[1] / MEASUREMENT_ITERATIONS;
+                allocRate += result[1] / result[0] * 1_000_000_000.0 / (1024 * 1024) / MEASUREMENT_ITERATIONS;
+            }
+            double mean = 0;
+            for (double v : nanosPerOp) mean += v / nanosPerOp.length;
+            double variance = 0;
+            for (double v : nanosPerOp) variance += (v - mean) * (v - mean) / (nanosPerOp.length - 1);
+            System.out.printf(Locale.ROOT, "%-52s %5d %14.3f %10.3f %14.1f %12.1f%n",
+                    entry.name, MEASUREMENT_ITERATIONS, mean, Math.sqrt(variance), bytesPerOp, allocRate);
+        }
+    }
+
+    // One timed iteration: returns { ns/op, bytes/op }
+    private static double[] measure(Benchmark benchmark) throws Exception {
+        double accumulator = 0;
+        long ops = 0;
+        long allocatedBefore = AllocationCheck.allocatedBytes();
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (int i = 0; i < OPS_PER_TIME_CHECK; i++) {
+                accumulator += benchmark.run();
+            }
+            ops += OPS_PER_TIME_CHECK;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < ITERATION_NANOS);
+        long allocated = AllocationCheck.allocatedBytes() - allocatedBefore;
+        sink = accumulator;
+        return new double[] { (double) elapsed / ops, (double) allocated / ops };
+    }
+
+    private static void registerTrajectory(Benchmarks benchmarks) {
+        Map<String, TrajectoryData> arsenal = AllocationCheck.seedArsenal();
+        TrajectoryData[] pitches = arsenal.values().toArray(new TrajectoryData[0]);
+        SplittableRandom random = new SplittableRandom(42);
+
+        LegacyEulerTrajectory legacy = new LegacyEulerTrajectory();
+        benchmarks.add("trajectory.legacyEuler", () ->
+                legacy.calculate(pitches[random.nextInt(pitches.length)], random.nextDouble() * 2 - 1, 1 + random.nextDouble() * 2.5));
+
+        PitchTrajectory trajectory = new PitchTrajectory();
+        benchmarks.add("trajectory.closedForm", () -> {
+            trajectory.aim(pitches[random.nextInt(pitches.length)], random.nextDouble() * 2 - 1, 1 + random.nextDouble() * 2.5);
+            return trajectory.getPlateX() + trajectory.getPlateY() + trajectory.getPlateTime();
+        });
+
+        TrajectoryBufferPool pool = new TrajectoryBufferPool(TrajectoryBufferPool.capacityFor(arsenal.values(), 0.005));
+        benchmarks.add("trajectory.closedFormSampled", () -> {
+            trajectory.aim(pitches[random.nextInt(pitches.length)], random.nextDouble() * 2 - 1, 1 + random.nextDouble() * 2.5);
+            TrajectoryBuffer buffer = pool.acquire();
+            buffer.fill(trajectory, 0.005);
+            double last = buffer.x(buffer.size() - 1);
+            pool.release(buffer);
+            return last;
+        });
+
+        DragMagnusTrajectory dragMagnus = new DragMagnusTrajectory();
+        benchmarks.add("trajectory.dragMagnus", () -> {
+            dragMagnus.aim(pitches[random.nextInt(pitches.length)], random.nextDouble() * 2 - 1, 1 + random.nextDouble() * 2.5);
+            return dragMagnus.getPlateX() + dragMagnus.getPlateY() + dragMagnus.getPlateTime();
+        });
+        benchmarks.add("trajectory.dragMagnusSampled", () -> {
+            dragMagnus.aim(pitches[random.nextInt(pitches.length)], random.nextDouble() * 2 - 1, 1 + random.nextDouble() * 2.5);
+            TrajectoryBuffer buffer = pool.acquire();
+            buffer.fill(dragMagnus, 0.005);
+            double last = buffer.x(buffer.size() - 1);
+            pool.release(buffer);
+            return last;
+        });
+    }
+
+    private static void registerProjection(Benchmarks benchmarks) {
+        Camera camera = new Camera(1000, 700);
+        BallRenderer renderer = new BallRenderer(camera);
+        double[] depths = new double[64];
+        for (int i = 0; i < depths.length; i++) {
+            depths[i] = AtBatRules.HOME_PLATE_FRONT_FT + i * (AtBatRules.PITCHER_MOUND_DISTANCE_FT - AtBatRules.HOME_PLATE_FRONT_FT) / depths.length;
+        }
+        int[] index = new int[1];
+        Point screen = new Point();
+        benchmarks.add("projection.camera.project", () -> {
+            double z = depths[index[0]++ & 63];
+            return camera.project(-0.5, 2.5, z, screen) ? screen.x + screen.y : 0;
+        });
+        benchmarks.add("projection.ballRenderer.calculateBallSize", () -> renderer.calculateBallSize(-0.5, 2.5, depths[index[0]++ & 63]));
+
+        // A full-length trail (1024 samples) per op, projected point by point and in one batch
+        int trailLength = 1024;
+        double[] xs = new double[trailLength], ys = new double[trailLength], zs = new double[trailLength];
+        for (int i = 0; i < trailLength; i++) {
+            xs[i] = -1 + 2.0 * i / trailLength;
+            ys[i] = 6 - 4.0 * i / trailLength;
+            zs[i] = depths[i & 63];
+        }
+        int[] outX = new int[trailLength], outY = new int[trailLength];
+        benchmarks.add("projection.camera.trail1024.pointByPoint", () -> {
+            int sum = 0;
+            for (int i = 0; i < trailLength; i++) {
+                if (camera.project(xs[i], ys[i], zs[i], screen)) {
+                    sum += screen.x + screen.y;
+                }
+            }
+            return sum;
+        });
+        benchmarks.add("projection.camera.trail1024.projectAll", () ->
+                camera.projectAll(xs, ys, zs, trailLength, outX, outY) + outX[trailLength - 1]);
+
+        // Blitting the pre-scaled sprite against rescaling the full-size image, as drawBall did before AssetManager
+        BufferedImage frame = new BufferedImage(1000, 700, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = frame.createGraphics();
+        BufferedImage ballImage = AssetManager.getShared().getImage(AssetManager.BALL_IMAGE);
+        benchmarks.add("projection.ballRenderer.drawBall", () -> {
+            renderer.drawBall(g2d, -0.5, 2.5, depths[index[0]++ & 63]);
+            return frame.getRGB(500, 350);
+        });
+        if (ballImage != null) {
+            benchmarks.add("projection.ballRenderer.drawBallRescaled", () -> {
+                double z = depths[index[0]++ & 63];
+                Point p = camera.project(-0.5, 2.5, z);
+                int size = renderer.calculateBallSize(-0.5, 2.5, z);
+                g2d.drawImage(ballImage, p.x - size / 2, p.y - size / 2, size, size, null);
+                return frame.getRGB(500, 350);
+            });
+        }
+    }
+
+    private static void registerHitProbability(Benchmarks benchmarks) {
+        SplittableRandom random = new SplittableRandom(42);
+        benchmarks.add("hitProbability.formula", () ->
+                AtBatRules.hitProbability(random.nextDouble(), AtBatRules.DEFAULT_BATTER_POWER, AtBatRules.DEFAULT_BATTER_ACCURACY,
+                        80, 80 + random.nextDouble() * 20));
+
+        AtBatCount count = new AtBatCount();
+        SwingTiming[] timings = SwingTiming.values();
+        benchmarks.add("hitProbability.resolveSwing", () -> {
+            count.reset();
+            return AtBatRules.resolveSwing(random, count, timings[random.nextInt(timings.length)], random.nextBoolean(),
+                    AtBatRules.DEFAULT_BATTER_POWER, AtBatRules.DEFAULT_BATTER_ACCURACY, 80, 95.0).ordinal();
+        });
+
+        // A large roster: MATRIX_BATTERS x MATRIX_PITCHERS, each pitcher with the seed arsenal and his own stuff
+        List<Batter> batters = new ArrayList<>();
+        for (int i = 0; i < MATRIX_BATTERS; i++) batters.add(new Batter(i, "B" + i, 60 + i * 2, 95 - i));
+        List<Arsenal> pitchers = new ArrayList<>();
+        Map<String, TrajectoryData> arsenal = AllocationCheck.seedArsenal();
+        for (int i = 0; i < MATRIX_PITCHERS; i++) {
+            pitchers.add(new Arsenal(new Pitcher(i, 0, "P" + i, 25, "R", 50 + i % 50, 90, 0), arsenal));
+        }
+        MatchupMatrix matchups = new MatchupMatrix(batters, pitchers);
+        int[] bids = new int[arsenal.size()];
+        int b = 0;
+        for (TrajectoryData data : arsenal.values()) bids[b++] = data.getBid();
+        benchmarks.add("hitProbability.matchupMatrix", () -> {
+            count.reset();
+            int cell = matchups.cell(random.nextInt(MATRIX_BATTERS), random.nextInt(MATRIX_PITCHERS),
+                    bids[random.nextInt(bids.length)]);
+            return matchups.resolveSwing(random, count, cell, timings[random.nextInt(timings.length)],
+                    random.nextBoolean()).ordinal();
+        });
+        // The cell a plate appearance keeps hitting; the random lookups above mostly miss the cache on this roster
+        int sameCell = matchups.cell(0, 0, bids[0]);
+        benchmarks.add("hitProbability.matchupMatrix.sameCell", () -> {
+            count.reset();
+            return matchups.resolveSwing(random, count, sameCell, timings[random.nextInt(timings.length)],
+                    random.nextBoolean()).ordinal();
+        });
+        int[] next = { 0 };
+        benchmarks.add("hitProbability.matchupMatrix.setBatterRatings", () -> {
+            int batter = next[0]++ % MATRIX_BATTERS;
+            matchups.setBatterRatings(batter, 60 + batter * 2, 95 - batter);
+            return batter;
+        });
+    }
+
+    // The computer picking its next pitch: GamePanel's old uniform pick off the arsenal map's key set, against the
+    // usage- and count-weighted alias tables Arsenal builds up front
+    private static void registerPitchSelection(Benchmarks benchmarks) {
+        SplittableRandom random = new SplittableRandom(42);
+        Map<String, TrajectoryData> pitchData = new HashMap<>(AllocationCheck.seedArsenal());
+        benchmarks.add("pitchSelection.uniformKeySet", () -> {
+            Object[] types = pitchData.keySet().toArray();
+            return ((String) types[random.nextInt(types.length)]).length();
+        });
+        Arsenal arsenal = new Arsenal(null, pitchData);
+        AtBatCount count = new AtBatCount();
+        benchmarks.add("pitchSelection.aliasTable", () -> {
+            count.restore(random.nextInt(AtBatRules.MAX_BALLS), random.nextInt(AtBatRules.MAX_STRIKES));
+            return arsenal.nextPitch(random, count);
+        });
+    }
+
+    // Exact odds for one pitcher (the seed arsenal), against sampling them in HeadlessSimulator
+    private static void registerSolver(Benchmarks benchmarks) {
+        PlateAppearanceSolver solver = new PlateAppearanceSolver(BatterModel.defaultModel());
+        Arsenal arsenal = new Arsenal(new Pitcher(1, 0, "P", 25, "R", 80, 90, 0), AllocationCheck.seedArsenal());
+        benchmarks.add("solver.plateAppearance", () -> solver.solve(arsenal).getStrikeout());
+    }
+
+    // What the game loop pays per frame to stay observable; run with -XX:StartFlightRecording for the cost of
+    // committing the events to a recording
+    private static void registerInstrumentation(Benchmarks benchmarks) {
+        FrameStats stats = new FrameStats(60);
+        long[] now = { 1 };
+        benchmarks.add("perf.frameStats.record", () -> {
+            now[0] += 16_666_667;
+            stats.paint(1_000_000);
+            return stats.frame(now[0]);
+        });
+        benchmarks.add("perf.frameStats.summarize", () -> {
+            stats.summarize();
+            return stats.getIntervalP99();
+        });
+        benchmarks.add("perf.jfr.frameAndPaintEvents", () -> {
+            FrameEvent.commit(16_666_667, 2, 0);
+            PaintEvent.commit(1_000_000, false);
+            return 0;
+        });
+    }
+
+    private static void registerDatabase(Benchmarks benchmarks, String group, PitchRepository dbManager) {
+        benchmarks.add(group + ".getAllPitchers", () -> dbManager.getAllPitchers().size());
+        benchmarks.add(group + ".loadCatalog", () -> dbManager.loadCatalog().getTrajectoryCount());
+        int[] pid = new int[1];
+        benchmarks.add(group + ".getPitchDataForPitcher", () -> dbManager.getPitchDataForPitcher(1 + (pid[0]++ % 6)).size());
+
+        PitchDataCache cache = new PitchDataCache(dbManager, 256, 10 * 60_000);
+        benchmarks.add(group + ".cached.getAllPitchers", () -> cache.getAllPitchers().size());
+        benchmarks.add(group + ".cached.getPitchDataForPitcher", () -> cache.getPitchDataForPitcher(1 + (pid[0]++ % 6)).size());
+    }
+
+    // A headless producer feeding the writer as fast as it accepts pitches: once the queue is full each record()
+    // waits for room, so the score is the sustained write rate rather than the cost of queueing
+    private static PitchEventWriter registerPitchEvents(Benchmarks benchmarks, String group, DatabaseManager dbManager) {
+        PitchEventWriter writer = new PitchEventWriter(dbManager);
+        PitchEventWriter.Session session = writer.openSession(true);
+        PitchOutcome[] outcomes = { PitchOutcome.BALL, PitchOutcome.CALLED_STRIKE, PitchOutcome.SWINGING_STRIKE, PitchOutcome.IN_PLAY_OUT };
+        long[] seed = new long[1];
+        benchmarks.add(group + ".pitchEvents.record", () -> {
+            long s = seed[0]++;
+            session.record(new PitchRecord(s, System.currentTimeMillis(), 1, 1, PitchRecord.MODE_PLAY, 0, 0,
+                    Double.NaN, Double.NaN, Double.NaN, 0.1, 2.5, 0.2, 2.4, 0.41, outcomes[(int) (s & 3)]));
+            return s;
+        });
+        return writer;
+    }
+
+    private static void printPitchEvents(String group, PitchEventWriter writer) {
+        writer.shutdown(10_000);
+        System.out.printf("%s pitch events: written=%d dropped=%d failed=%d%s%n", group, writer.getWrittenCount(),
+                writer.getDroppedCount(), writer.getFailedCount(),
+                writer.getLastError() != null ? " (" + writer.getLastError() + ")" : "");
+    }
+
+    private static MappedCatalogRepository mappedRepository() throws Exception {
+        Path file = Files.createTempFile("pitch-catalog", ".bin");
+        file.toFile().deleteOnExit();
+        MappedCatalogRepository.write(CatalogImporter.fromScript(SqlSeedParser.parse(Paths.get("src", "CREATETABLE.sql"))), file);
+        return new MappedCatalogRepository(file);
+    }
+
+    private static DatabaseManager seedDatabaseManager() throws Exception {
+        Map<String, SqlSeedParser.Table> tables = SqlSeedParser.parse(Paths.get("src", "CREATETABLE.sql"));
+        return new DatabaseManager() {
+            @Override
+            public Connection getConnection() {
+                return SeedDataConnection.open(tables);
+            }
+        };
+    }
+
+    // The Euler loop GamePanel used before PitchTrajectory was evaluated in closed form, kept as the baseline
+    static final class LegacyEulerTrajectory {
+        double calculate(TrajectoryData data, double targetX, double targetY) {
+            double startX_ft = data.getRex();
+            double startY_ft = data.getRey();
+            double startZ_ft = AtBatRules.PITCHER_MOUND_DISTANCE_FT;
+            double endZ_ft = AtBatRules.HOME_PLATE_FRONT_FT;
+
+            double releaseSpeed_fts = data.getSpeed() * 1.467;
+            double pfx_x_ft = data.getHmov() / 12.0;
+            double pfx_z_ft = data.getVmov() / 12.0;
+            double flightTime = (startZ_ft - endZ_ft) / releaseSpeed_fts;
+            double ax = (2 * pfx_x_ft) / (flightTime * flightTime);
+            double ay = (2 * pfx_z_ft) / (flightTime * flightTime);
+            double vx = ((targetX - startX_ft) / flightTime) - (0.5 * ax * flightTime);
+            double vy = ((targetY - startY_ft) / flightTime) - (0.5 * ay * flightTime);
+            double vz = releaseSpeed_fts;
+
+            List<Point3D> ballTrajectoryPoints = new ArrayList<>();
+            double current_x = startX_ft, current_y = startY_ft, current_z = startZ_ft;
+            double current_vx = vx, current_vy = vy;
+            double simTimeStep = 0.005;
+            while (current_z > endZ_ft - 0.1) {
+                ballTrajectoryPoints.add(new Point3D(current_x, current_y, current_z));
+                current_vx += ax * simTimeStep;
+                current_vy += ay * simTimeStep;
+                current_x += current_vx * simTimeStep;
+                current_y += current_vy * simTimeStep;
+                current_z -= vz * simTimeStep;
+                if (ballTrajectoryPoints.size() > 2000) break;
+            }
+
+            Point3D finalSimulatedPoint;
+            if (ballTrajectoryPoints.size() > 1) {
+                Point3D prev = ballTrajectoryPoints.get(ballTrajectoryPoints.size() - 2);
+                Point3D last = ballTrajectoryPoints.get(ballTrajectoryPoints.size() - 1);
+                double frac = (prev.z - endZ_ft) / (prev.z - last.z);
+                finalSimulatedPoint = new Point3D(prev.x + (last.x - prev.x) * frac, prev.y + (last.y - prev.y) * frac, endZ_ft);
+            } else {
+                finalSimulatedPoint = new Point3D(targetX, targetY, endZ_ft);
+            }
+            ballTrajectoryPoints.removeIf(p -> p.z < endZ_ft);
+            ballTrajectoryPoints.add(finalSimulatedPoint);
+            return finalSimulatedPoint.x + finalSimulatedPoint.y + ballTrajectoryPoints.size();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-process JDBC stand-in serving the rows of CREATETABLE.sql, so DatabaseManager can be benchmarked
+ * without a MySQL server. It understands just the queries DatabaseManager issues: a scan of a single table,
+ * TRAJECTORY joined with BALLTYPE with an optional "T.PID = ?" filter, the catalog's PITCHER left join, and
+ * DatabaseMetaData's table and column lookups.
+ * Batched INSERTs are accepted and discarded, so the pitch event writer can be driven without a server.
+ */
+final class SeedDataConnection {
+    private final Map<String, SqlSeedParser.Table> tables;
+
+    private SeedDataConnection(Map<String, SqlSeedParser.Table> tables) {
+        this.tables = tables;
+    }
+
+    static Connection open(Map<String, SqlSeedParser.Table> tables) {
+        SeedDataConnection seed = new SeedDataConnection(tables);
+        boolean[] closed = new boolean[1];
+        return proxy(Connection.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "prepareStatement": return seed.prepare((String) args[0]);
+                case "close": closed[0] = true; return null;
+                case "isClosed": return closed[0];
+                case "isValid": return !closed[0];
+                case "getMetaData": return seed.metaData();
+                default: return defaultValue(method);
+            }
+        });
+    }
+
+    // Table and column lookups, for the schema checks DatabaseManager makes before its queries
+    private DatabaseMetaData metaData() {
+        return proxy(DatabaseMetaData.class, (proxy, method, args) -> {
+            List<Map<String, String>> rows = new ArrayList<>();
+            switch (method.getName()) {
+                case "getTables":
+                    if (tables.containsKey((String) args[2])) rows.add(Map.of("TABLE_NAME", (String) args[2]));
+                    return resultSet(rows);
+                case "getColumns":
+                    SqlSeedParser.Table table = tables.get((String) args[2]);
+                    if (table == null) return resultSet(rows);
+                    for (String column : table.getColumns()) {
+                        if (args[3] == null || column.equals(args[3])) rows.add(Map.of("COLUMN_NAME", column));
+                    }
+                    return resultSet(rows);
+                default:
+                    return defaultValue(method);
+            }
+        });
+    }
+
+    private PreparedStatement prepare(String sql) {
+        Map<Integer, Object> parameters = new HashMap<>();
+        int[] batched = new int[1];
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length == 2 && args[0] instanceof Integer) {
+                parameters.put((Integer) args[0], args[1]);
+                return null;
+            }
+            if (name.equals("executeQuery")) {
+                return resultSet(query(sql, parameters));
+            }
+            if (name.equals("addBatch") && args == null) {
+                batched[0]++;
+                parameters.clear();
+                return null;
+            }
+            if (name.equals("executeBatch")) {
+                int[] updateCounts = new int[batched[0]];
+                Arrays.fill(updateCounts, 1);
+                batched[0] = 0;
+                return updateCounts;
+            }
+            if (name.equals("clearParameters")) {
+                parameters.clear();
+                return null;
+            }
+            return defaultValue(method);
+        });
+    }
+
+    private List<Map<String, String>> query(String sql, Map<Integer, Object> parameters) throws SQLException {
+        String upper = sql.toUpperCase(Locale.ROOT);
+        List<Map<String, String>> rows = new ArrayList<>();
+        Map<String, Map<String, String>> ballTypes = new HashMap<>();
+        for (Map<String, String> ballType : rows("BALLTYPE")) {
+            ballTypes.put(ballType.get("BID"), ballType);
+        }
+        if (upper.contains("FROM PITCHER P LEFT JOIN TRAJECTORY")) {
+            for (Map<String, String> pitcher : rows("PITCHER")) {
+                boolean any = false;
+                for (Map<String, String> trajectory : rows("TRAJECTORY")) {
+                    if (!pitcher.get("PID").equals(trajectory.get("PID"))) continue;
+                    Map<String, String> row = new HashMap<>(trajectory);
+                    row.putAll(pitcher);
+                    Map<String, String> ballType = ballTypes.get(trajectory.get("BID"));
+                    row.put("BNAME", ballType != null ? ballType.get("BNAME") : null);
+                    rows.add(row);
+                    any = true;
+                }
+                if (!any) rows.add(new HashMap<>(pitcher));
+            }
+            rows.sort((a, b) -> Integer.compare(Integer.parseInt(a.get("PID")), Integer.parseInt(b.get("PID"))));
+            return rows;
+        }
+        if (upper.contains("FROM TRAJECTORY")) {
+            String pid = upper.contains("PID = ?") ? String.valueOf(parameters.get(1)) : null;
+            for (Map<String, String> trajectory : rows("TRAJECTORY")) {
+                if (pid != null && !pid.equals(trajectory.get("PID"))) continue;
+                Map<String, String> ballType = ballTypes.get(trajectory.get("BID"));
+                if (ballType == null) continue;
+                Map<String, String> row = new HashMap<>(trajectory);
+                row.put("BNAME", ballType.get("BNAME"));
+                rows.add(row);
+            }
+            return rows;
+        }
+        for (String table : tables.keySet()) {
+            if (upper.contains("FROM " + table)) {
+                return rows(table);
+            }
+        }
+        throw new SQLException("Query not supported by the seed data stand-in: " + sql);
+    }
+
+    private List<Map<String, String>> rows(String tableName) {
+        SqlSeedParser.Table table = tables.get(tableName);
+        List<Map<String, String>> rows = new ArrayList<>();
+        if (table == null) return rows;
+        for (String[] values : table.getRows()) {
+            Map<String, String> row = new HashMap<>();
+            for (int i = 0; i < table.getColumns().size(); i++) {
+                row.put(table.getColumns().get(i), values[i]);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static ResultSet resultSet(List<Map<String, String>> rows) {
+        int[] cursor = { -1 };
+        boolean[] wasNull = new boolean[1];
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.equals("next")) {
+                return ++cursor[0] < rows.size();
+            }
+            if (name.startsWith("get") && args != null && args.length == 1 && args[0] instanceof String) {
+                String value = rows.get(cursor[0]).get(((String) args[0]).toUpperCase(Locale.ROOT));
+                wasNull[0] = value == null;
+                switch (name) {
+                    case "getString": return value;
+                    case "getInt": return value == null ? 0 : (int) Double.parseDouble(value);
+                    case "getLong": return value == null ? 0L : (long) Double.parseDouble(value);
+                    case "getDouble": return value == null ? 0.0 : Double.parseDouble(value);
+                    default: break;
+                }
+            }
+            if (name.equals("wasNull")) {
+                return wasNull[0];
+            }
+            return defaultValue(method);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SeedDataConnection.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static Object defaultValue(Method method) {
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        return null;
+    }
+}
@@ -0,0 +1,215 @@
+import data.PitchCatalog;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * How many simultaneous Play Mode sessions one GameServer keeps at its 60 Hz tick. The server runs in this JVM on
+ * the CREATETABLE.sql catalog; bot clients on CLIENT_THREADS threads connect over localhost. Bots swing at about half
+ * the pitches, with realistic timing, ask for the next pitch as soon as a result arrives and start a new game when
+ * one ends. The session count doubles each step until the server misses more than 1% of its ticks or its p99
+ * tick work exceeds the tick period. Bots share the machine with the server, so the result is conservative.
+ *
+ * Usage: ServerLoadTest [first sessions] [max sessions] [seconds per step] [tick threads]
+ */
+public class ServerLoadTest {
+    private static final int CLIENT_THREADS = 2;
+    private static final double SWING_PROBABILITY = 0.5;
+    private static final double MAX_MISSED_TICK_SHARE = 0.01;
+    private static final long WARMUP_MS = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        int first = args.length > 0 ? Integer.parseInt(args[0]) : 250;
+        int max = args.length > 1 ? Integer.parseInt(args[1]) : 8_000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        int tickThreads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        PitchCatalog catalog = CatalogImporter.fromScript(SqlSeedParser.parse(Paths.get("src", "CREATETABLE.sql")));
+        try (GameServer server = new GameServer(catalog, 0, tickThreads)) {
+            BotThread[] bots = new BotThread[CLIENT_THREADS];
+            for (int i = 0; i < bots.length; i++) {
+                bots[i] = new BotThread(server.getPort(), i);
+                bots[i].start();
+            }
+            System.out.printf("GameServer at %d Hz, %d tick threads, %d cores, %ds per step%n",
+                    GameServer.TICK_HZ, tickThreads, Runtime.getRuntime().availableProcessors(), seconds);
+            System.out.printf("%9s %9s %10s %12s %14s %12s %10s%n",
+                    "Sessions", "Ticks/s", "Missed", "Pitches/s", "Interval p99", "Work p99", "Result");
+            int sustained = 0;
+            for (int sessions = first; sessions <= max; sessions *= 2) {
+                int connected = 0;
+                for (BotThread bot : bots) connected += bot.size();
+                try {
+                    for (int i = connected; i < sessions; i++) {
+                        bots[i % bots.length].connect();
+                    }
+                } catch (IOException e) {
+                    // Each session takes two descriptors here, one per end
+                    System.out.println("Stopped opening connections: " + e.getMessage() + " (check the open file limit)");
+                    break;
+                }
+                while (server.getClientCount() < sessions) {
+                    Thread.sleep(10);
+                }
+                Thread.sleep(WARMUP_MS);
+
+                GameServer.Stats before = server.getStats();
+                long pitchesBefore = pitches(bots);
+                Thread.sleep(seconds * 1_000L);
+                GameServer.Stats after = server.getStats();
+                long ticks = after.ticks - before.ticks;
+                long missed = after.missedTicks - before.missedTicks;
+                double missedShare = (double) missed / Math.max(1, ticks + missed);
+                double periodMillis = 1000.0 / GameServer.TICK_HZ;
+                boolean ok = missedShare <= MAX_MISSED_TICK_SHARE && after.workP99Millis < periodMillis;
+                System.out.printf("%9d %9.1f %9.2f%% %12.0f %11.1f ms %9.2f ms %10s%n",
+                        after.clients, (double) ticks / seconds / tickThreads, missedShare * 100,
+                        (double) (pitches(bots) - pitchesBefore) / seconds,
+                        after.tickP99Millis, after.workP99Millis, ok ? "OK" : "OVERLOAD");
+                if (!ok) break;
+                sustained = sessions;
+            }
+            System.out.println(sustained > 0
+                    ? "Sustained " + sustained + " sessions at " + GameServer.TICK_HZ + " Hz"
+                    : "Could not sustain " + first + " sessions at " + GameServer.TICK_HZ + " Hz");
+            for (BotThread bot : bots) bot.interrupt();
+        }
+        System.exit(0);
+    }
+
+    private static long pitches(BotThread[] bots) {
+        long total = 0;
+        for (BotThread bot : bots) total += bot.pitches.get();
+        return total;
+    }
+
+    // One selector for many bots; swings are sent when due, checked every millisecond
+    private static final class BotThread extends Thread {
+        private final int port;
+        private final Selector selector;
+        private final ConcurrentLinkedQueue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+        private final List<Bot> bots = new ArrayList<>();
+        private final SplittableRandom random;
+        final AtomicLong pitches = new AtomicLong();
+        private volatile int size;
+
+        BotThread(int port, int index) throws IOException {
+            super("load-test-bots-" + index);
+            setDaemon(true);
+            this.port = port;
+            this.selector = Selector.open();
+            this.random = new SplittableRandom(index);
+        }
+
+        int size() { return size; }
+
+        void connect() throws IOException {
+            SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", port));
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            pending.add(channel);
+            size++;
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!isInterrupted()) {
+                    SocketChannel channel;
+                    while ((channel = pending.poll()) != null) {
+                        Bot bot = new Bot(channel);
+                        channel.register(selector, SelectionKey.OP_READ, bot);
+                        bots.add(bot);
+                        bot.send("START PLAY " + random.nextLong());
+                    }
+                    selector.select(1);
+                    for (SelectionKey key : selector.selectedKeys()) {
+                        ((Bot) key.attachment()).read();
+                    }
+                    selector.selectedKeys().clear();
+                    long now = System.nanoTime();
+                    for (Bot bot : bots) {
+                        if (bot.swingAtNanos != 0 && now >= bot.swingAtNanos) {
+                            bot.send(String.format(Locale.ROOT, "SWING %.4f", (now - bot.pitchNanos) / 1e9));
+                            bot.swingAtNanos = 0;
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Load test client failed: " + e.getMessage());
+            }
+        }
+
+        private final class Bot {
+            private final SocketChannel channel;
+            private final ByteBuffer in = ByteBuffer.allocate(4096);
+            private final StringBuilder line = new StringBuilder();
+            long pitchNanos, swingAtNanos;
+
+            Bot(SocketChannel channel) {
+                this.channel = channel;
+            }
+
+            void read() throws IOException {
+                in.clear();
+                if (channel.read(in) < 0) {
+                    channel.close();
+                    return;
+                }
+                in.flip();
+                while (in.hasRemaining()) {
+                    char c = (char) in.get();
+                    if (c != '\n') {
+                        line.append(c);
+                        continue;
+                    }
+                    handle(line.toString());
+                    line.setLength(0);
+                }
+            }
+
+            private void handle(String message) throws IOException {
+                String[] words = message.split(" ");
+                switch (words[0]) {
+                    case "PITCH":
+                        pitches.incrementAndGet();
+                        pitchNanos = System.nanoTime();
+                        if (random.nextDouble() < SWING_PROBABILITY) {
+                            // Around the timing windows: 80-100% of the flight
+                            double plateTime = Double.parseDouble(words[4]);
+                            swingAtNanos = pitchNanos + (long) (plateTime * (0.8 + 0.2 * random.nextDouble()) * 1e9);
+                        }
+                        break;
+                    case "RESULT":
+                        swingAtNanos = 0;
+                        send("NEXT");
+                        break;
+                    case "GAMEOVER":
+                        send("START PLAY " + random.nextLong());
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            void send(String command) throws IOException {
+                ByteBuffer out = ByteBuffer.wrap((command + "\n").getBytes(StandardCharsets.US_ASCII));
+                while (out.hasRemaining()) {
+                    channel.write(out);
+                }
+            }
+        }
+    }
+}
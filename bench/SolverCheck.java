@@ -0,0 +1,77 @@
+import data.PitchCatalog;
+import sim.Arsenal;
+import sim.BatterModel;
+import sim.MonteCarloEngine;
+import sim.OutcomeTally;
+import sim.PitchOutcome;
+import sim.PlateAppearanceSolver;
+import sim.SimulationReport;
+import sim.Trajectory;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Cross-checks PlateAppearanceSolver against MonteCarloEngine for every pitcher in CREATETABLE.sql: each outcome
+ * rate has to fall within MAX_STANDARD_ERRORS of the exact one, and so do pitches per plate appearance (taking
+ * the largest spread a count of 1 to 6 pitches can have). Exits with status 1 when a pitcher is off.
+ *
+ * Usage: SolverCheck [plate appearances per pitcher] [CREATETABLE.sql]
+ */
+public class SolverCheck {
+    private static final double MAX_STANDARD_ERRORS = 4;
+    private static final double MAX_PITCHES_STD_DEV = 2.5;
+
+    public static void main(String[] args) throws Exception {
+        long plateAppearances = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        String script = args.length > 1 ? args[1] : "src/CREATETABLE.sql";
+        PitchCatalog catalog = CatalogImporter.fromScript(SqlSeedParser.parse(Paths.get(script)));
+        List<Arsenal> arsenals = Arsenal.fromCatalog(catalog);
+
+        BatterModel batter = BatterModel.defaultModel();
+        PlateAppearanceSolver solver = new PlateAppearanceSolver(batter);
+        PlateAppearanceSolver.Odds[] odds = new PlateAppearanceSolver.Odds[arsenals.size()];
+        long start = System.nanoTime();
+        for (int i = 0; i < odds.length; i++) odds[i] = solver.solve(arsenals.get(i));
+        long solveNanos = System.nanoTime() - start;
+
+        MonteCarloEngine engine = new MonteCarloEngine(Runtime.getRuntime().availableProcessors(), batter,
+                Trajectory.Model.selected());
+        SimulationReport report;
+        try {
+            report = engine.run(arsenals, plateAppearances, 42L);
+        } finally {
+            engine.shutdown();
+        }
+
+        boolean ok = true;
+        System.out.printf("%-22s %-10s %9s %9s %8s%n", "Pitcher", "", "Exact", "Sampled", "Std err");
+        for (int i = 0; i < odds.length; i++) {
+            OutcomeTally tally = report.getTally(i);
+            long pa = tally.plateAppearances();
+            String name = arsenals.get(i).getPitcher().getPname();
+            ok &= compare(name, "K", odds[i].getStrikeout(), tally.count(PitchOutcome.STRIKEOUT), pa);
+            ok &= compare("", "BB", odds[i].getWalk(), tally.count(PitchOutcome.WALK), pa);
+            ok &= compare("", "H", odds[i].getHit(), tally.count(PitchOutcome.HIT), pa);
+            ok &= compare("", "Out", odds[i].getInPlayOut(), tally.count(PitchOutcome.IN_PLAY_OUT), pa);
+            ok &= report("", "Pitches/PA", odds[i].getPitchesPerPlateAppearance(), (double) tally.pitches() / pa,
+                    MAX_PITCHES_STD_DEV / Math.sqrt(pa));
+        }
+        System.out.printf(Locale.ROOT, "Solved %d pitchers in %.3f ms; sampled %,d PA each in %.3f s%n", odds.length,
+                solveNanos / 1e6, plateAppearances, report.getElapsedNanos() / 1e9);
+        System.out.println(ok ? "OK" : "FAIL");
+        if (!ok) System.exit(1);
+    }
+
+    private static boolean compare(String pitcher, String outcome, double exact, long count, long plateAppearances) {
+        double standardError = Math.sqrt(exact * (1 - exact) / plateAppearances);
+        return report(pitcher, outcome, exact, (double) count / plateAppearances, standardError);
+    }
+
+    private static boolean report(String pitcher, String outcome, double exact, double sampled, double standardError) {
+        boolean ok = Math.abs(sampled - exact) <= MAX_STANDARD_ERRORS * standardError;
+        System.out.printf(Locale.ROOT, "%-22s %-10s %9.5f %9.5f %8.5f%s%n", pitcher, outcome, exact, sampled,
+                standardError, ok ? "" : "  FAIL");
+        return ok;
+    }
+}
@@ -0,0 +1,151 @@
+import data.PitchCatalog;
+import data.Pitcher;
+import data.TrajectoryData;
+import sim.DragMagnusTrajectory;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Accuracy of DragMagnusTrajectory's adaptive RK4 against the fixed 0.005 s Euler loop the game used to run,
+ * both integrating the same drag/Magnus equations from the same release. The reference is RK4 with a 0.1 ms step.
+ * Every pitch in CREATETABLE.sql is thrown at a 5 x 5 grid of targets; errors are in inches, at the plate and
+ * along the flight (the adaptive model interpolates between its steps, so both matter for drawing the ball).
+ *
+ * Usage: TrajectoryAccuracy [CREATETABLE.sql]
+ */
+public class TrajectoryAccuracy {
+    private static final double EULER_STEP_S = 0.005;
+    private static final double REFERENCE_STEP_S = 1e-4;
+    private static final double FLIGHT_SAMPLE_S = 0.01;
+    private static final double[] TOLERANCES_FT = { 1e-3, 1e-4, 1e-5, 1e-6, 1e-7 };
+
+    // Positions every FLIGHT_SAMPLE_S from release and the plate crossing, from one integration
+    private static final class Path {
+        final List<double[]> samples = new ArrayList<>();
+        double plateX, plateY;
+        int steps;
+    }
+
+    private static final class Error {
+        double plateSum, plateMax, flightMax, stepSum;
+        int pitches;
+
+        void add(Path reference, double plateX, double plateY, double flight, int steps) {
+            double plate = Math.hypot(plateX - reference.plateX, plateY - reference.plateY) * 12;
+            plateSum += plate;
+            plateMax = Math.max(plateMax, plate);
+            flightMax = Math.max(flightMax, flight * 12);
+            stepSum += steps;
+            pitches++;
+        }
+
+        void print(String name) {
+            System.out.printf(Locale.ROOT, "%-28s %10.1f %16.2e %16.2e %16.2e%n",
+                    name, stepSum / pitches, plateSum / pitches, plateMax, flightMax);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String script = args.length > 0 ? args[0] : "src/CREATETABLE.sql";
+        PitchCatalog catalog = CatalogImporter.fromScript(SqlSeedParser.parse(Paths.get(script)));
+        List<TrajectoryData> pitches = new ArrayList<>();
+        for (Pitcher pitcher : catalog.getPitchers()) {
+            pitches.addAll(catalog.getArsenal(pitcher.getPid()).values());
+        }
+
+        Error euler = new Error();
+        Error[] adaptive = new Error[TOLERANCES_FT.length];
+        DragMagnusTrajectory[] models = new DragMagnusTrajectory[TOLERANCES_FT.length];
+        for (int i = 0; i < models.length; i++) {
+            adaptive[i] = new Error();
+            models[i] = new DragMagnusTrajectory(TOLERANCES_FT[i]);
+        }
+
+        for (TrajectoryData data : pitches) {
+            for (int ix = 0; ix < 5; ix++) {
+                for (int iy = 0; iy < 5; iy++) {
+                    double targetX = -1.2 + ix * 0.6;
+                    double targetY = 0.8 + iy * 0.6;
+                    for (int i = 0; i < models.length; i++) {
+                        // Where the model says the pitch goes, against where its release really takes it
+                        DragMagnusTrajectory model = models[i];
+                        model.aim(data, targetX, targetY);
+                        Path reference = integrate(model, REFERENCE_STEP_S, true);
+                        double flight = 0;
+                        for (int s = 0; s < reference.samples.size(); s++) {
+                            double[] p = reference.samples.get(s);
+                            double t = s * FLIGHT_SAMPLE_S;
+                            flight = Math.max(flight, Math.hypot(model.xAt(t) - p[0], model.yAt(t) - p[1]));
+                        }
+                        adaptive[i].add(reference, model.getPlateX(), model.getPlateY(), flight, model.getStepCount());
+                        if (i == models.length - 1) {
+                            Path legacy = integrate(model, EULER_STEP_S, false);
+                            euler.add(reference, legacy.plateX, legacy.plateY, flightError(reference, legacy), legacy.steps);
+                        }
+                    }
+                }
+            }
+        }
+
+        System.out.printf("%d pitches x 25 targets; errors in inches against RK4 with a %.0e s step%n",
+                pitches.size(), REFERENCE_STEP_S);
+        System.out.printf("%-28s %10s %16s %16s %16s%n", "Integrator", "Steps", "Plate mean", "Plate max", "Flight max");
+        euler.print(String.format(Locale.ROOT, "Euler, %.3f s fixed", EULER_STEP_S));
+        for (int i = 0; i < models.length; i++) {
+            adaptive[i].print(String.format(Locale.ROOT, "RK4 adaptive, tol %.0e ft", TOLERANCES_FT[i]));
+        }
+    }
+
+    // Fixed-step integration of the aimed pitch's equations, RK4 or the legacy loop's Euler (velocity first)
+    private static Path integrate(DragMagnusTrajectory model, double dt, boolean rk4) {
+        double[] s = { model.getStartX(), model.getStartY(), model.getStartZ(),
+                       model.getReleaseVx(), model.getReleaseVy(), model.getReleaseVz() };
+        double[] a = new double[3];
+        double[][] k = new double[4][6];
+        double[] stage = new double[6];
+        Path path = new Path();
+        double t = 0;
+        double nextSample = 0;
+        double[] previous = s.clone();
+        while (s[2] > model.getEndZ()) {
+            if (t >= nextSample - dt / 2) {
+                path.samples.add(new double[] { s[0], s[1] });
+                nextSample += FLIGHT_SAMPLE_S;
+            }
+            System.arraycopy(s, 0, previous, 0, 6);
+            if (rk4) {
+                for (int j = 0; j < 4; j++) {
+                    double h = j == 0 ? 0 : j == 3 ? dt : dt / 2;
+                    for (int i = 0; i < 6; i++) stage[i] = s[i] + (j == 0 ? 0 : h * k[j - 1][i]);
+                    model.accelerate(stage[3], stage[4], stage[5], a);
+                    k[j][0] = stage[3]; k[j][1] = stage[4]; k[j][2] = stage[5];
+                    k[j][3] = a[0]; k[j][4] = a[1]; k[j][5] = a[2];
+                }
+                for (int i = 0; i < 6; i++) s[i] += dt / 6 * (k[0][i] + 2 * k[1][i] + 2 * k[2][i] + k[3][i]);
+            } else {
+                model.accelerate(s[3], s[4], s[5], a);
+                s[3] += a[0] * dt; s[4] += a[1] * dt; s[5] += a[2] * dt;
+                s[0] += s[3] * dt; s[1] += s[4] * dt; s[2] += s[5] * dt;
+            }
+            t += dt;
+            path.steps++;
+        }
+        // Linear interpolation to the plate, as the legacy loop did
+        double frac = (previous[2] - model.getEndZ()) / (previous[2] - s[2]);
+        path.plateX = previous[0] + (s[0] - previous[0]) * frac;
+        path.plateY = previous[1] + (s[1] - previous[1]) * frac;
+        return path;
+    }
+
+    private static double flightError(Path reference, Path path) {
+        double max = 0;
+        int n = Math.min(reference.samples.size(), path.samples.size());
+        for (int i = 0; i < n; i++) {
+            double[] r = reference.samples.get(i), p = path.samples.get(i);
+            max = Math.max(max, Math.hypot(r[0] - p[0], r[1] - p[1]));
+        }
+        return max;
+    }
+}
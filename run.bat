@@ -5,7 +5,7 @@ REM 進入 src 資料夾
 cd src
 
 echo [編譯中...]
-javac -encoding UTF-8 -cp "..\lib\mysql-connector-j-9.2.0.jar;." -d ..\bin Main.java
+javac -encoding UTF-8 -cp "..\lib\mysql-connector-j-9.2.0.jar;." -d ..\bin Main.java HeadlessSimulator.java CatalogImporter.java PitchReplay.java GameServer.java TournamentSimulator.java StatcastImporter.java
 
 if %errorlevel% neq 0 (
     echo 編譯失敗，請檢查錯誤訊息。
@@ -13,6 +13,9 @@ if %errorlevel% neq 0 (
     exit /b
 )
 
+REM 圖片放在 classpath 上，由 AssetManager 讀取
+copy /Y ball1.png ..\bin\ >nul
+
 echo [running...]
 java -cp "..\lib\mysql-connector-j-9.2.0.jar;..\bin" Main
 
@@ -0,0 +1,93 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import javax.imageio.ImageIO;
+
+/**
+ * Process-wide cache of images and their sprite pyramids. Each image is read once, from the classpath (run.bat
+ * copies it next to the classes) or else from src/ when run from the project root, and converted to the screen's
+ * native pixel format. Missing images are reported once and return null, so callers can draw a fallback.
+ */
+public class AssetManager {
+    public static final String BALL_IMAGE = "ball1.png";
+    private static final Path SOURCE_DIR = Paths.get("src");
+
+    private static AssetManager shared;
+
+    private final GraphicsConfiguration gc;
+    private final Map<String, BufferedImage> images = new HashMap<>();
+    private final Map<String, SpritePyramid> pyramids = new HashMap<>();
+
+    public static synchronized AssetManager getShared() {
+        if (shared == null) {
+            shared = new AssetManager();
+        }
+        return shared;
+    }
+
+    private AssetManager() {
+        this.gc = GraphicsEnvironment.isHeadless() ? null
+                : GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    }
+
+    public synchronized BufferedImage getImage(String name) {
+        if (!images.containsKey(name)) {
+            images.put(name, load(name)); // A failed load caches null so it is only reported once
+        }
+        return images.get(name);
+    }
+
+    // The image pre-scaled to every size in [minSize, maxSize]; pyramids are shared by name and size range
+    public synchronized SpritePyramid getSprites(String name, int minSize, int maxSize) {
+        String key = name + "@" + minSize + "-" + maxSize;
+        if (!pyramids.containsKey(key)) {
+            BufferedImage image = getImage(name);
+            pyramids.put(key, image != null ? new SpritePyramid(image, minSize, maxSize, gc) : null);
+        }
+        return pyramids.get(key);
+    }
+
+    private BufferedImage load(String name) {
+        try {
+            BufferedImage image = null;
+            try (InputStream in = AssetManager.class.getResourceAsStream("/" + name)) {
+                if (in != null) {
+                    image = ImageIO.read(in);
+                }
+            }
+            Path file = SOURCE_DIR.resolve(name);
+            if (image == null && Files.isReadable(file)) {
+                image = ImageIO.read(file.toFile());
+            }
+            if (image == null) {
+                System.err.println("Image not found on the classpath or in " + SOURCE_DIR + ": " + name);
+                return null;
+            }
+            return toCompatible(image);
+        } catch (IOException e) {
+            System.err.println("Failed to load image " + name + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private BufferedImage toCompatible(BufferedImage image) {
+        if (gc == null || image.getColorModel().equals(gc.getColorModel(image.getTransparency()))) {
+            return image;
+        }
+        BufferedImage converted = gc.createCompatibleImage(image.getWidth(), image.getHeight(), image.getTransparency());
+        Graphics2D g2d = converted.createGraphics();
+        try {
+            g2d.setComposite(AlphaComposite.Src);
+            g2d.drawImage(image, 0, 0, null);
+        } finally {
+            g2d.dispose();
+        }
+        return converted;
+    }
+}
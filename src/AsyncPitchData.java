@@ -0,0 +1,59 @@
+import data.PitchCatalog;
+import data.TrajectoryData;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.SwingUtilities;
+
+/**
+ * Runs catalog and arsenal loads on background threads so no JDBC or file read ever blocks the event thread.
+ * Results come back as CompletableFutures; chain UI updates with thenAcceptAsync(..., AsyncPitchData.EDT).
+ * A failed query or empty tables complete the future exceptionally with PitchDataCache's message.
+ */
+public class AsyncPitchData {
+    public static final Executor EDT = SwingUtilities::invokeLater;
+
+    private static final int LOADER_THREADS = 2;
+    private static AsyncPitchData shared;
+
+    private final PitchDataCache pitchDataCache;
+    private final ExecutorService loader;
+
+    public AsyncPitchData(PitchDataCache pitchDataCache) {
+        this.pitchDataCache = pitchDataCache;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.loader = Executors.newFixedThreadPool(LOADER_THREADS, r -> {
+            Thread thread = new Thread(r, "pitch-data-loader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static synchronized AsyncPitchData getShared() {
+        if (shared == null) {
+            shared = new AsyncPitchData(PitchDataCache.getShared());
+        }
+        return shared;
+    }
+
+    public CompletableFuture<PitchCatalog> loadCatalog() {
+        return CompletableFuture.supplyAsync(pitchDataCache::getCatalog, loader);
+    }
+
+    public CompletableFuture<Map<String, TrajectoryData>> loadArsenal(int pitcherId) {
+        return CompletableFuture.supplyAsync(() -> pitchDataCache.getPitchDataForPitcher(pitcherId), loader);
+    }
+
+    // Unwraps the CompletionException a failed stage hands to exceptionally/handle
+    public static String describe(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && (cause instanceof java.util.concurrent.CompletionException
+                || cause instanceof java.util.concurrent.ExecutionException)) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.toString();
+    }
+}
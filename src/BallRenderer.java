@@ -1,61 +1,33 @@
-import javax.swing.*;
 import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import javax.imageio.ImageIO;
 
 public class BallRenderer {
-    private BufferedImage ballImage;
-    private final double focalLength;
-    private final int vanishingPointX;
-    private final int vanishingPointY;
-    private final double cameraY_ft;
-    private final double cameraZ_ft;
+    private static final int MIN_BALL_SIZE = 2; // calculateBallSize never returns less
+    private static final int MAX_SPRITE_SIZE = 64; // The ball is 31 px at the plate; anything larger is scaled on the fly
 
-    public BallRenderer(int windowWidth, int windowHeight) {
-        this.focalLength = 700; // Consistent with GamePanel
-        this.vanishingPointX = windowWidth / 2; // Consistent with GamePanel
-        this.vanishingPointY = windowHeight / 2; // Consistent with GamePanel
-        this.cameraY_ft = 2.5; // Consistent with GamePanel
-        this.cameraZ_ft = -4.0; // Consistent with GamePanel
+    private static final double BALL_DIAMETER_FT = 0.24;
 
-        try {
-            ballImage = ImageIO.read(new File("src/ball.png")); // Ensure ball.png is in the src folder
-        } catch (IOException e) {
-            System.err.println("Failed to load ball image in BallRenderer: " + e.getMessage());
-            // Can set a default error image or flag
-        }
-    }
+    private final SpritePyramid ballSprites; // Shared by every renderer; null when the image is missing
+    private final Camera camera; // Shared with GamePanel, so a view change moves the ball too
+    private final Point ballPos = new Point(); // Reused by drawBall, which runs every frame
 
-    // Method to project 3D coordinates to 2D screen (copied from GamePanel)
-    private Point project3D(double objX_ft, double objY_ft, double objZ_ft) {
-        double deltaX = objX_ft - 0;
-        double deltaY = objY_ft - cameraY_ft;
-        double deltaZ = objZ_ft - cameraZ_ft;
-        if (deltaZ <= 0.1) return null;
-        double projectedX = (deltaX * focalLength) / deltaZ;
-        double projectedY = (deltaY * focalLength) / deltaZ;
-        int screenX = vanishingPointX + (int) projectedX;
-        int screenY = vanishingPointY - (int) projectedY;
-        return new Point(screenX, screenY);
+    public BallRenderer(Camera camera) {
+        this.camera = camera;
+        this.ballSprites = AssetManager.getShared().getSprites(AssetManager.BALL_IMAGE, MIN_BALL_SIZE, MAX_SPRITE_SIZE);
     }
 
-    // Method to calculate ball size on screen (copied from GamePanel)
-    private int calculateBallSize(double objZ_ft) {
-        double deltaZ = objZ_ft - cameraZ_ft;
-        if (deltaZ <= 0) return 0;
-        double visualSize = (0.24 * focalLength) / deltaZ;
-        return Math.max(2, (int) visualSize);
+    // On-screen ball diameter in pixels at the given point, or 0 behind the camera
+    int calculateBallSize(double x_ft, double y_ft, double z_ft) {
+        double visualSize = camera.scaleAt(BALL_DIAMETER_FT, x_ft, y_ft, z_ft);
+        if (visualSize <= 0) return 0;
+        return Math.max(MIN_BALL_SIZE, (int) visualSize);
     }
 
     // Method to draw the ball
     public void drawBall(Graphics2D g2d, double x_ft, double y_ft, double z_ft) {
-        Point ballPos = project3D(x_ft, y_ft, z_ft);
-        if (ballPos == null) return;
-        int ballSize = calculateBallSize(z_ft);
-        if (ballImage != null) {
-            g2d.drawImage(ballImage, ballPos.x - ballSize / 2, ballPos.y - ballSize / 2, ballSize, ballSize, null);
+        if (!camera.project(x_ft, y_ft, z_ft, ballPos)) return;
+        int ballSize = calculateBallSize(x_ft, y_ft, z_ft);
+        if (ballSprites != null) {
+            ballSprites.draw(g2d, ballPos.x, ballPos.y, ballSize);
         } else {
             g2d.setColor(Color.WHITE);
             g2d.fillOval(ballPos.x - ballSize / 2, ballPos.y - ballSize / 2, ballSize, ballSize);
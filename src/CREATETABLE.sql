@@ -49,35 +49,40 @@ CREATE TABLE TRAJECTORY (
     REX DECIMAL(5,2),
     REY DECIMAL(5,2),
     SPEED DECIMAL(5,2),
+    SPINRATE INT,
+    SPINAXIS DECIMAL(4,1),
     PRIMARY KEY (PID, BID) -- 組合主鍵，因為 PID 和 BID 一起唯一標識一條記錄
 );
 
-INSERT INTO TRAJECTORY (PID, BID, USEP, HMOV, VMOV, REX, REY, SPEED) VALUES
-(1, 7, 35.0, 8.6, -32.4, -2.4, 5.7, 83.8),
-(1, 1, 33.0, -2.7, -13.5, -2.2, 5.8, 96.8),
-(1, 8, 15.0, 2.0, -25.6, -2.4, 5.7, 88.6),
-(1, 6, 6.0, -4.0, -28.0, -2.0, 6.1, 88.6),
-(1, 5, 6.0, -8.7, -22.8, -2.3, 5.7, 94.3),
-(2, 1, 37.0, -8.4, -15.4, -2.4, 5.7, 98.4),
-(2, 5, 20.0, -8.6, -25.7, -2.4, 5.6, 95.1),
-(2, 2, 24.0, 5.2, -28.6, -2.4, 5.6, 84.9),
-(2, 4, 9.0, -10.1, -27.2, -2.6, 5.6, 88.4),
-(3, 1, 41.0, -5.4, -13.5, -2.1, 5.3, 95.8),
-(3, 5, 16.0, -9.9, -20.3, -2.1, 5.2, 95.1),
-(3, 7, 14.0, 7.1, -31.9, -2.2, 5.2, 84.0),
-(3, 6, 10.0, -7.5, -26.7, -2.1, 5.3, 86.9),
-(3, 3, 9.0, 6.9, -46.9, -2.1, 5.2, 81.0),
-(4, 5, 72.0, -1.0, -48.0, -3.8, 1.2, 83.1),
-(4, 2, 28.0, 5.9, -32.6, -3.8, 1.3, 73.9),
-(5, 1, 43.0, 1.7, -13.3, 1.3, 6.2, 95.3),
-(5, 5, 18.0, 5.9, -23.7, 1.6, 6.0, 93.6),
-(5, 3, 16.0, -6.5, -59.9, 1.5, 6.2, 75.4),
-(5, 2, 11.0, -9.0, -42.8, 1.8, 5.9, 81.3),
-(5, 4, 9.0, 7.5, -31.0, 1.9, 5.8, 84.3),
-(6, 4, 30.0, 9.1, -25.5, 1.9, 6.2, 88.5),
-(6, 5, 28.0, 7.8, -13.6, 1.7, 6.3, 97.5),
-(6, 1, 27.0, 2.4, -10.4, 1.6, 6.4, 97.7),
-(6, 3, 13.0, -1.9, -25.6, 1.9, 6.3, 89.9);
+-- SPINRATE (rpm) 與 SPINAXIS (從捕手方向看的轉軸角度，180 = 純 backspin) 只用於 -Dpitch.physics=spin 的阻力與馬格努斯力模型；
+-- 以下數值由 HMOV/VMOV 反推，讓兩種模型的位移一致。既有資料庫沒有這兩欄時照常載入 (轉速視為未知)，可用下列指令加上欄位：
+-- ALTER TABLE TRAJECTORY ADD COLUMN SPINRATE INT, ADD COLUMN SPINAXIS DECIMAL(4,1);
+INSERT INTO TRAJECTORY (PID, BID, USEP, HMOV, VMOV, REX, REY, SPEED, SPINRATE, SPINAXIS) VALUES
+(1, 7, 35.0, 8.6, -32.4, -2.4, 5.7, 83.8, 940, 151.0),
+(1, 1, 33.0, -2.7, -13.5, -2.2, 5.8, 96.8, 1620, 187.0),
+(1, 8, 15.0, 2.0, -25.6, -2.4, 5.7, 88.6, 960, 173.0),
+(1, 6, 6.0, -4.0, -28.0, -2.0, 6.1, 88.6, 800, 195.0),
+(1, 5, 6.0, -8.7, -22.8, -2.3, 5.7, 94.3, 1020, 210.0),
+(2, 1, 37.0, -8.4, -15.4, -2.4, 5.7, 98.4, 1460, 203.0),
+(2, 5, 20.0, -8.6, -25.7, -2.4, 5.6, 95.1, 770, 216.0),
+(2, 2, 24.0, 5.2, -28.6, -2.4, 5.6, 84.9, 1040, 164.0),
+(2, 4, 9.0, -10.1, -27.2, -2.6, 5.6, 88.4, 1080, 212.0),
+(3, 1, 41.0, -5.4, -13.5, -2.1, 5.3, 95.8, 1780, 193.0),
+(3, 5, 16.0, -9.9, -20.3, -2.1, 5.2, 95.1, 1240, 210.0),
+(3, 7, 14.0, 7.1, -31.9, -2.2, 5.2, 84.0, 910, 156.0),
+(3, 6, 10.0, -7.5, -26.7, -2.1, 5.3, 86.9, 1120, 203.0),
+(3, 3, 9.0, 6.9, -46.9, -2.1, 5.2, 81.0, 320, 124.0),
+(4, 5, 72.0, -1.0, -48.0, -3.8, 1.2, 83.1, 60, 213.0),
+(4, 2, 28.0, 5.9, -32.6, -3.8, 1.3, 73.9, 2350, 169.0),
+(5, 1, 43.0, 1.7, -13.3, 1.3, 6.2, 95.3, 1760, 176.0),
+(5, 5, 18.0, 5.9, -23.7, 1.6, 6.0, 93.6, 880, 158.0),
+(5, 3, 16.0, -6.5, -59.9, 1.5, 6.2, 75.4, 220, 274.0),
+(5, 2, 11.0, -9.0, -42.8, 1.8, 5.9, 81.3, 530, 227.0),
+(5, 4, 9.0, 7.5, -31.0, 1.9, 5.8, 84.3, 960, 156.0),
+(6, 4, 30.0, 9.1, -25.5, 1.9, 6.2, 88.5, 1160, 153.0),
+(6, 5, 28.0, 7.8, -13.6, 1.7, 6.3, 97.5, 1710, 160.0),
+(6, 1, 27.0, 2.4, -10.4, 1.6, 6.4, 97.7, 1990, 175.0),
+(6, 3, 13.0, -1.9, -25.6, 1.9, 6.3, 89.9, 870, 187.0);
 
 ALTER TABLE TRAJECTORY
 ADD CONSTRAINT fk_trajectory_pitcher
@@ -85,4 +90,68 @@ FOREIGN KEY (PID) REFERENCES PITCHER(PID);
 
 ALTER TABLE TRAJECTORY
 ADD CONSTRAINT fk_trajectory_balltype
-FOREIGN KEY (BID) REFERENCES BALLTYPE(BID);
\ No newline at end of file
+FOREIGN KEY (BID) REFERENCES BALLTYPE(BID);
+
+-- 4. BATTER 表格：打者能力值，擊球機率依 POWER/ACCURACY 與投手 STUFF、球速計算
+-- 遊戲預設使用 BATID 1，可用 -Dgame.batter=<BATID> 指定
+CREATE TABLE BATTER (
+    BATID INT PRIMARY KEY,
+    BATNAME VARCHAR(255),
+    POWER INT,
+    ACCURACY INT
+);
+
+INSERT INTO BATTER (BATID, BATNAME, POWER, ACCURACY) VALUES
+(1, 'PLAYER', 90, 90),
+(2, 'CONTACT HITTER', 75, 98),
+(3, 'SLUGGER', 98, 72),
+(4, 'ROOKIE', 70, 70);
+
+-- 5. PITCH_EVENT 表格：遊戲中投出的每一球，由 PitchEventWriter 在背景批次寫入
+-- SESSION_ID 是一場遊戲畫面的亂數編號；PA_NO 在投球模式為 NULL；AIMX/AIMY/AIMRADIUS 只有手動投球才有值，SWINGTIME 只有揮棒才有值
+CREATE TABLE PITCH_EVENT (
+    SESSION_ID BIGINT NOT NULL,
+    PITCH_NO INT NOT NULL,
+    PA_NO INT,
+    SEED BIGINT NOT NULL,
+    PID INT NOT NULL,
+    BID INT NOT NULL,
+    MODE TINYINT NOT NULL,
+    BALLS TINYINT NOT NULL,
+    STRIKES TINYINT NOT NULL,
+    AIMX DOUBLE,
+    AIMY DOUBLE,
+    AIMRADIUS DOUBLE,
+    TARGETX DOUBLE NOT NULL,
+    TARGETY DOUBLE NOT NULL,
+    PLATEX DOUBLE NOT NULL,
+    PLATEY DOUBLE NOT NULL,
+    SWINGTIME DOUBLE,
+    OUTCOME VARCHAR(16) NOT NULL,
+    THROWN_AT DATETIME(3) NOT NULL,
+    PRIMARY KEY (SESSION_ID, PITCH_NO)
+);
+
+-- 6. PLATE_APPEARANCE 表格：每個打席的結果 (最後一球的 OUTCOME) 與球數
+CREATE TABLE PLATE_APPEARANCE (
+    SESSION_ID BIGINT NOT NULL,
+    PA_NO INT NOT NULL,
+    PID INT NOT NULL,
+    MODE TINYINT NOT NULL,
+    PITCHES INT NOT NULL,
+    OUTCOME VARCHAR(16) NOT NULL,
+    ENDED_AT DATETIME(3) NOT NULL,
+    PRIMARY KEY (SESSION_ID, PA_NO)
+);
+
+ALTER TABLE PITCH_EVENT
+ADD CONSTRAINT fk_pitch_event_pitcher
+FOREIGN KEY (PID) REFERENCES PITCHER(PID);
+
+ALTER TABLE PITCH_EVENT
+ADD CONSTRAINT fk_pitch_event_balltype
+FOREIGN KEY (BID) REFERENCES BALLTYPE(BID);
+
+ALTER TABLE PLATE_APPEARANCE
+ADD CONSTRAINT fk_plate_appearance_pitcher
+FOREIGN KEY (PID) REFERENCES PITCHER(PID);
\ No newline at end of file
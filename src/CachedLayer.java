@@ -0,0 +1,61 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Something that rarely changes, painted once into an image in the screen's native pixel format and blitted each
+ * frame: the static scene (sky, field, strike zone, mound) as an opaque layer, the HUD as a translucent one.
+ * Rebuilt when the size changes or invalidate() is called, e.g. after a camera change or new HUD text.
+ */
+public class CachedLayer {
+    public interface Painter {
+        void paint(Graphics2D g2d);
+    }
+
+    private final Painter painter;
+    private final int transparency;
+    private BufferedImage image;
+    private boolean valid;
+    private int rebuilds;
+
+    // transparency is Transparency.OPAQUE or Transparency.TRANSLUCENT
+    public CachedLayer(Painter painter, int transparency) {
+        this.painter = painter;
+        this.transparency = transparency;
+    }
+
+    public void invalidate() {
+        valid = false;
+    }
+
+    // gc may be null before the component is displayable (or when headless); a plain image is used then
+    public void draw(Graphics2D g2d, GraphicsConfiguration gc, int width, int height) {
+        if (!valid || image == null || image.getWidth() != width || image.getHeight() != height) {
+            rebuild(gc, width, height);
+        }
+        g2d.drawImage(image, 0, 0, null);
+    }
+
+    private void rebuild(GraphicsConfiguration gc, int width, int height) {
+        boolean opaque = transparency == Transparency.OPAQUE;
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            image = gc != null
+                    ? gc.createCompatibleImage(width, height, transparency)
+                    : new BufferedImage(width, height, opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        Graphics2D g2d = image.createGraphics();
+        try {
+            if (!opaque) {
+                g2d.setComposite(AlphaComposite.Clear);
+                g2d.fillRect(0, 0, width, height);
+                g2d.setComposite(AlphaComposite.SrcOver);
+            }
+            painter.paint(g2d);
+        } finally {
+            g2d.dispose();
+        }
+        valid = true;
+        rebuilds++;
+    }
+
+    public int getRebuildCount() { return rebuilds; }
+}
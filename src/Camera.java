@@ -0,0 +1,148 @@
+import java.awt.Point;
+import java.awt.geom.Point2D;
+
+/**
+ * Perspective camera shared by the scene, the ball and the aiming overlay: one place for the focal length, screen
+ * centre and eye position that GamePanel and BallRenderer used to hardcode separately.
+ *
+ * The camera turns about the vertical axis only (yaw). Views that look down on the plate move the horizon up the
+ * screen instead of tilting, which keeps verticals upright and the projection a single divide per point.
+ */
+public class Camera {
+    // Written to the x buffer by projectAll for points behind the camera
+    public static final int OFFSCREEN = Integer.MIN_VALUE;
+    private static final double NEAR_PLANE_FT = 0.1;
+
+    public enum View {
+        CATCHER("Catcher", 0.0, 2.5, -4.0, 0, 700, 0.5), // The original view, behind the plate
+        BATTER("Batter", -1.2, 4.8, -3.0, 0, 500, 0.3), // Eye height of a right-handed batter
+        SIDE("Side", -35.0, 4.0, 30.0, 90, 450, 0.45); // From the first-base side, mound on the left
+
+        private final String label;
+        private final double eyeX_ft, eyeY_ft, eyeZ_ft;
+        private final double yawDegrees;
+        private final double focalLength;
+        private final double horizon; // Screen height fraction the eye level projects to
+
+        View(String label, double eyeX_ft, double eyeY_ft, double eyeZ_ft, double yawDegrees, double focalLength, double horizon) {
+            this.label = label;
+            this.eyeX_ft = eyeX_ft;
+            this.eyeY_ft = eyeY_ft;
+            this.eyeZ_ft = eyeZ_ft;
+            this.yawDegrees = yawDegrees;
+            this.focalLength = focalLength;
+            this.horizon = horizon;
+        }
+
+        public String getLabel() { return label; }
+
+        public View next() {
+            View[] views = values();
+            return views[(ordinal() + 1) % views.length];
+        }
+    }
+
+    private final int width;
+    private final int height;
+    private View view;
+
+    private double eyeX, eyeY, eyeZ;
+    private double rightX, rightZ; // Screen-right direction on the ground plane
+    private double forwardX, forwardZ; // Viewing direction on the ground plane
+    private double focalLength;
+    private int vanishingPointX, vanishingPointY;
+
+    public Camera(int width, int height) {
+        this(width, height, View.CATCHER);
+    }
+
+    public Camera(int width, int height, View view) {
+        this.width = width;
+        this.height = height;
+        setView(view);
+    }
+
+    public void setView(View view) {
+        this.view = view;
+        double yaw = Math.toRadians(view.yawDegrees);
+        eyeX = view.eyeX_ft;
+        eyeY = view.eyeY_ft;
+        eyeZ = view.eyeZ_ft;
+        forwardX = Math.sin(yaw);
+        forwardZ = Math.cos(yaw);
+        rightX = forwardZ;
+        rightZ = -forwardX;
+        focalLength = view.focalLength;
+        vanishingPointX = width / 2;
+        vanishingPointY = (int) (height * view.horizon);
+    }
+
+    public View getView() { return view; }
+
+    // Distance in front of the camera along the viewing direction; at or below the near plane nothing is drawn
+    public double depth(double x_ft, double y_ft, double z_ft) {
+        return (x_ft - eyeX) * forwardX + (z_ft - eyeZ) * forwardZ;
+    }
+
+    public Point project(double x_ft, double y_ft, double z_ft) {
+        Point screen = new Point();
+        return project(x_ft, y_ft, z_ft, screen) ? screen : null;
+    }
+
+    // Per-frame variant: writes into a reused Point and returns false when the point is behind the camera
+    public boolean project(double x_ft, double y_ft, double z_ft, Point screen) {
+        double dx = x_ft - eyeX;
+        double dz = z_ft - eyeZ;
+        double depth = dx * forwardX + dz * forwardZ;
+        if (depth <= NEAR_PLANE_FT) return false;
+        double scale = focalLength / depth;
+        screen.x = vanishingPointX + (int) ((dx * rightX + dz * rightZ) * scale);
+        screen.y = vanishingPointY - (int) ((y_ft - eyeY) * scale);
+        return true;
+    }
+
+    /**
+     * Projects count points from parallel coordinate arrays into preallocated screen buffers in one pass.
+     * Points behind the camera get OFFSCREEN in outX. Returns how many points are in front of the camera.
+     */
+    public int projectAll(double[] xs, double[] ys, double[] zs, int count, int[] outX, int[] outY) {
+        double ex = eyeX, ey = eyeY, ez = eyeZ;
+        double fx = forwardX, fz = forwardZ, rx = rightX, rz = rightZ, focal = focalLength;
+        int cx = vanishingPointX, cy = vanishingPointY;
+        int visible = 0;
+        for (int i = 0; i < count; i++) {
+            double dx = xs[i] - ex;
+            double dz = zs[i] - ez;
+            double depth = dx * fx + dz * fz;
+            if (depth > NEAR_PLANE_FT) {
+                double scale = focal / depth;
+                outX[i] = cx + (int) ((dx * rx + dz * rz) * scale);
+                outY[i] = cy - (int) ((ys[i] - ey) * scale);
+                visible++;
+            } else {
+                outX[i] = OFFSCREEN;
+            }
+        }
+        return visible;
+    }
+
+    // On-screen size in pixels of something size_ft across at the given point, or 0 behind the camera
+    public double scaleAt(double size_ft, double x_ft, double y_ft, double z_ft) {
+        double depth = depth(x_ft, y_ft, z_ft);
+        return depth <= 0 ? 0 : size_ft * focalLength / depth;
+    }
+
+    // Where the ray through a screen pixel meets the plane z = planeZ_ft; false if it never does in front of the camera
+    public boolean unprojectToPlane(int screenX, int screenY, double planeZ_ft, Point2D.Double world) {
+        double u = (screenX - vanishingPointX) / focalLength;
+        double v = (vanishingPointY - screenY) / focalLength;
+        double dirX = forwardX + u * rightX;
+        double dirZ = forwardZ + u * rightZ;
+        if (Math.abs(dirZ) < 1e-9) return false;
+        double t = (planeZ_ft - eyeZ) / dirZ;
+        if (t <= 0) return false;
+        world.x = eyeX + t * dirX;
+        world.y = eyeY + t * v;
+        return true;
+    }
+}
@@ -0,0 +1,121 @@
+import data.Batter;
+import data.PitchCatalog;
+import data.Pitcher;
+import data.TrajectoryData;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds the catalog file read by MappedCatalogRepository.
+ *
+ * Usage: CatalogImporter <script.sql | --mysql> [output file]
+ * The source is CREATETABLE.sql, a mysqldump of BASEBALLJAVAGAME, or the live database configured in DatabaseManager.
+ * Run the game against the result with -Dpitch.catalog=<output file>.
+ */
+public class CatalogImporter {
+    private static final String DEFAULT_OUTPUT = "pitch-catalog.bin";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: CatalogImporter <script.sql | --mysql> [output file]");
+            System.exit(1);
+        }
+        Path output = Paths.get(args.length > 1 ? args[1] : DEFAULT_OUTPUT);
+
+        long start = System.nanoTime();
+        PitchCatalog catalog;
+        if (args[0].equals("--mysql")) {
+            DatabaseManager dbManager = DatabaseManager.getShared();
+            catalog = dbManager.loadCatalog();
+            dbManager.close();
+            if (catalog.isEmpty() && dbManager.getLastError() != null) {
+                System.err.println("Import failed: " + dbManager.getLastError());
+                System.exit(1);
+            }
+        } else {
+            catalog = fromScript(SqlSeedParser.parse(Paths.get(args[0])));
+        }
+        MappedCatalogRepository.write(catalog, output);
+
+        System.out.printf("Wrote %d pitchers, %d ball types, %d trajectories and %d batters to %s in %.1f ms%n",
+                catalog.getPitcherCount(), catalog.getBallTypeNames().size(), catalog.getTrajectoryCount(),
+                catalog.getBatters().size(), output, (System.nanoTime() - start) / 1e6);
+    }
+
+    // Same join as DatabaseManager.loadCatalog, done over the parsed INSERT rows
+    static PitchCatalog fromScript(Map<String, SqlSeedParser.Table> tables) {
+        SqlSeedParser.Table pitcherTable = require(tables, "PITCHER");
+        SqlSeedParser.Table ballTypeTable = require(tables, "BALLTYPE");
+        SqlSeedParser.Table trajectoryTable = require(tables, "TRAJECTORY");
+        PitchCatalog.Builder builder = new PitchCatalog.Builder();
+
+        int pid = pitcherTable.columnIndex("PID"), tid = pitcherTable.columnIndex("TID");
+        int pname = pitcherTable.columnIndex("PNAME"), year = pitcherTable.columnIndex("YEAR");
+        int lr = pitcherTable.columnIndex("LR"), stuff = pitcherTable.columnIndex("STUFF");
+        int velocity = pitcherTable.columnIndex("VELOCITY"), ptype = pitcherTable.columnIndex("PTYPE");
+        for (String[] row : pitcherTable.getRows()) {
+            builder.addPitcher(new Pitcher(toInt(row[pid]), toInt(row[tid]), row[pname], toInt(row[year]),
+                    row[lr], toInt(row[stuff]), toInt(row[velocity]), toInt(row[ptype])));
+        }
+
+        int bid = ballTypeTable.columnIndex("BID"), bname = ballTypeTable.columnIndex("BNAME");
+        Map<Integer, String> ballTypes = new HashMap<>();
+        for (String[] row : ballTypeTable.getRows()) {
+            ballTypes.put(toInt(row[bid]), row[bname]);
+            builder.addBallType(toInt(row[bid]), row[bname]);
+        }
+
+        int tPid = trajectoryTable.columnIndex("PID"), tBid = trajectoryTable.columnIndex("BID");
+        int usep = trajectoryTable.columnIndex("USEP"), hmov = trajectoryTable.columnIndex("HMOV");
+        int vmov = trajectoryTable.columnIndex("VMOV"), rex = trajectoryTable.columnIndex("REX");
+        int rey = trajectoryTable.columnIndex("REY"), speed = trajectoryTable.columnIndex("SPEED");
+        // Dumps from before the spin columns were added have neither
+        int spinRate = trajectoryTable.columnIndex("SPINRATE"), spinAxis = trajectoryTable.columnIndex("SPINAXIS");
+        for (String[] row : trajectoryTable.getRows()) {
+            String name = ballTypes.get(toInt(row[tBid]));
+            if (name == null) {
+                System.err.println("Skipping trajectory with unknown ball type BID: " + row[tBid]);
+                continue;
+            }
+            builder.addTrajectory(name, new TrajectoryData(toInt(row[tPid]), toInt(row[tBid]), toDouble(row[usep]),
+                    toDouble(row[hmov]), toDouble(row[vmov]), toDouble(row[rex]), toDouble(row[rey]), toDouble(row[speed]),
+                    spinRate >= 0 ? toDoubleOrNaN(row[spinRate]) : Double.NaN,
+                    spinAxis >= 0 ? toDoubleOrNaN(row[spinAxis]) : Double.NaN));
+        }
+
+        // Optional: dumps from before the BATTER table have none
+        SqlSeedParser.Table batterTable = tables.get("BATTER");
+        if (batterTable != null) {
+            int batid = batterTable.columnIndex("BATID"), batname = batterTable.columnIndex("BATNAME");
+            int power = batterTable.columnIndex("POWER"), accuracy = batterTable.columnIndex("ACCURACY");
+            for (String[] row : batterTable.getRows()) {
+                builder.addBatter(new Batter(toInt(row[batid]), row[batname], toInt(row[power]), toInt(row[accuracy])));
+            }
+        }
+        return builder.build();
+    }
+
+    private static SqlSeedParser.Table require(Map<String, SqlSeedParser.Table> tables, String name) {
+        SqlSeedParser.Table table = tables.get(name);
+        if (table == null) {
+            throw new IllegalArgumentException("Script has no " + name + " table");
+        }
+        return table;
+    }
+
+    // NULL columns read as 0, as ResultSet.getInt/getDouble do
+    private static int toInt(String value) {
+        return value == null ? 0 : (int) Double.parseDouble(value);
+    }
+
+    private static double toDouble(String value) {
+        return value == null ? 0 : Double.parseDouble(value);
+    }
+
+    // Spin is NaN when unknown, as DatabaseManager loads it
+    private static double toDoubleOrNaN(String value) {
+        return value == null ? Double.NaN : Double.parseDouble(value);
+    }
+}
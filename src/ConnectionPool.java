@@ -0,0 +1,280 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded JDBC connection pool. Idle connections are validated before reuse once they have been idle for a while,
+ * evicted by a background thread after the idle timeout, and keep their prepared statements between borrows.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    private static final int STATEMENT_CACHE_SIZE = 32;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final ConnectionFactory factory;
+    private final int maxSize;
+    private final long maxWaitMillis;
+    private final long idleTimeoutMillis;
+    private final long validationIntervalMillis;
+
+    private final Semaphore permits;
+    private final ArrayDeque<PooledConnection> idle = new ArrayDeque<>();
+    private final ScheduledExecutorService evictor;
+    private volatile boolean closed;
+
+    // Metrics
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong statementReuses = new AtomicLong();
+    private final AtomicLong statementPrepares = new AtomicLong();
+
+    public ConnectionPool(ConnectionFactory factory, int maxSize, long maxWaitMillis, long idleTimeoutMillis, long validationIntervalMillis) {
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.maxWaitMillis = maxWaitMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.validationIntervalMillis = validationIntervalMillis;
+        this.permits = new Semaphore(maxSize, true);
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "connection-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public PooledConnection borrow() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed");
+        long waitStart = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + maxWaitMillis + " ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        recordWait(System.nanoTime() - waitStart);
+
+        try {
+            PooledConnection connection;
+            while ((connection = pollIdle()) != null) {
+                if (isUsable(connection)) {
+                    connection.borrowed = true;
+                    return connection;
+                }
+                validationFailures.incrementAndGet();
+                connection.closeQuietly();
+            }
+            connection = new PooledConnection(factory.open());
+            createdCount.incrementAndGet();
+            connection.borrowed = true;
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private synchronized PooledConnection pollIdle() {
+        // Most recently used first, so rarely used connections age out
+        return idle.pollFirst();
+    }
+
+    private boolean isUsable(PooledConnection connection) {
+        if (System.currentTimeMillis() - connection.lastUsedMillis < validationIntervalMillis) {
+            return true;
+        }
+        try {
+            return connection.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(PooledConnection connection) {
+        connection.borrowed = false;
+        connection.lastUsedMillis = System.currentTimeMillis();
+        boolean keep = !connection.broken && !closed;
+        if (keep) {
+            synchronized (this) {
+                idle.addFirst(connection);
+            }
+        } else {
+            connection.closeQuietly();
+        }
+        permits.release();
+    }
+
+    void evictIdle() {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            Iterator<PooledConnection> it = idle.iterator();
+            while (it.hasNext()) {
+                PooledConnection connection = it.next();
+                if (now - connection.lastUsedMillis >= idleTimeoutMillis) {
+                    it.remove();
+                    connection.closeQuietly();
+                    evictedCount.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private void recordWait(long waitNanos) {
+        borrowCount.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    public Stats getStats() {
+        int idleCount;
+        synchronized (this) {
+            idleCount = idle.size();
+        }
+        int active = maxSize - permits.availablePermits();
+        return new Stats(active, idleCount, maxSize, borrowCount.get(), totalWaitNanos.get(), maxWaitNanos.get(),
+                createdCount.get(), evictedCount.get(), validationFailures.get(), statementPrepares.get(), statementReuses.get());
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        evictor.shutdownNow();
+        synchronized (this) {
+            for (PooledConnection connection : idle) {
+                connection.closeQuietly();
+            }
+            idle.clear();
+        }
+    }
+
+    /**
+     * A borrowed connection. close() hands it back to the pool; statements from prepare() belong to the
+     * connection and must not be closed by the caller.
+     */
+    public class PooledConnection implements AutoCloseable {
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements =
+                new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                        if (size() > STATEMENT_CACHE_SIZE) {
+                            closeQuietly(eldest.getValue());
+                            return true;
+                        }
+                        return false;
+                    }
+                };
+        private long lastUsedMillis = System.currentTimeMillis();
+        private boolean borrowed;
+        private boolean broken;
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        public PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            if (statement != null) {
+                statement.clearParameters();
+                statementReuses.incrementAndGet();
+                return statement;
+            }
+            statement = connection.prepareStatement(sql);
+            statementPrepares.incrementAndGet();
+            statements.put(sql, statement);
+            return statement;
+        }
+
+        public Connection getConnection() { return connection; }
+
+        // The connection failed mid-use; it is closed instead of returned to the pool
+        public void markBroken() {
+            broken = true;
+        }
+
+        @Override
+        public void close() {
+            if (borrowed) {
+                release(this);
+            }
+        }
+
+        private void closeQuietly() {
+            for (PreparedStatement statement : statements.values()) {
+                closeQuietly(statement);
+            }
+            statements.clear();
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+            }
+        }
+
+        private void closeQuietly(PreparedStatement statement) {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+
+    public static class Stats {
+        private final int active, idle, maxSize;
+        private final long borrows, totalWaitNanos, maxWaitNanos, created, evicted, validationFailures, statementPrepares, statementReuses;
+
+        Stats(int active, int idle, int maxSize, long borrows, long totalWaitNanos, long maxWaitNanos, long created,
+              long evicted, long validationFailures, long statementPrepares, long statementReuses) {
+            this.active = active;
+            this.idle = idle;
+            this.maxSize = maxSize;
+            this.borrows = borrows;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+            this.created = created;
+            this.evicted = evicted;
+            this.validationFailures = validationFailures;
+            this.statementPrepares = statementPrepares;
+            this.statementReuses = statementReuses;
+        }
+
+        public int getActive() { return active; }
+        public int getIdle() { return idle; }
+        public int getMaxSize() { return maxSize; }
+        public long getBorrows() { return borrows; }
+        public double getAverageWaitMillis() { return borrows == 0 ? 0 : totalWaitNanos / 1_000_000.0 / borrows; }
+        public double getMaxWaitMillis() { return maxWaitNanos / 1_000_000.0; }
+        public long getCreated() { return created; }
+        public long getEvicted() { return evicted; }
+        public long getValidationFailures() { return validationFailures; }
+        public long getStatementPrepares() { return statementPrepares; }
+        public long getStatementReuses() { return statementReuses; }
+
+        @Override
+        public String toString() {
+            return String.format("active=%d idle=%d max=%d borrows=%d avgWait=%.3fms maxWait=%.3fms created=%d evicted=%d " +
+                            "validationFailures=%d statements prepared=%d reused=%d",
+                    active, idle, maxSize, borrows, getAverageWaitMillis(), getMaxWaitMillis(), created, evicted,
+                    validationFailures, statementPrepares, statementReuses);
+        }
+    }
+}
@@ -1,16 +1,46 @@
+import data.Batter;
 import data.Pitcher;
 import data.BallType;
+import data.PitchCatalog;
 import data.TrajectoryData;
+import perf.DatabaseQueryEvent;
+import sim.PitchRecord;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-public class DatabaseManager {
-    private static final String JDBC_URL = "jdbc:mysql://localhost:3306/BASEBALLJAVAGAME?useSSL=false&serverTimezone=UTC";
-    private static final String DB_USER = "root"; // Replace with your MySQL username
-    private static final String DB_PASSWORD = "0000"; // Replace with your MySQL password
+public class DatabaseManager implements PitchRepository {
+    private static final String DRIVER_OPTIONS = "cachePrepStmts=true&useServerPrepStmts=true&useCursorFetch=true" +
+            "&rewriteBatchedStatements=true"; // Sends a batch of INSERTs as multi-row statements
+    private static final String JDBC_URL = withDriverOptions(setting("db.url", "BASEBALL_DB_URL",
+            "jdbc:mysql://localhost:3306/BASEBALLJAVAGAME?useSSL=false&serverTimezone=UTC"));
+    // Override with -Ddb.user / -Ddb.password or BASEBALL_DB_USER / BASEBALL_DB_PASSWORD instead of editing these
+    private static final String DB_USER = setting("db.user", "BASEBALL_DB_USER", "root");
+    private static final String DB_PASSWORD = setting("db.password", "BASEBALL_DB_PASSWORD", "0000");
+
+    // Rows fetched per round trip when streaming the whole catalog
+    private static final int CATALOG_FETCH_SIZE = 1000;
+
+    // Connection pool settings
+    private static final int POOL_MAX_SIZE = 4;
+    private static final long POOL_MAX_WAIT_MS = 5_000;
+    private static final long POOL_IDLE_TIMEOUT_MS = 5 * 60_000;
+    private static final long POOL_VALIDATION_INTERVAL_MS = 30_000;
+    private static final int CONNECTION_CHECK_TIMEOUT_SECONDS = 2; // After a failed query
+
+    // PTYPE of an imported pitcher whose arm angle is not known; importArsenals leaves the stored one
+    public static final int UNKNOWN_PTYPE = Integer.MIN_VALUE;
+
+    private static DatabaseManager shared;
+
+    private ConnectionPool pool;
+    // Message of this thread's last failed query, cleared by its next success; per thread, so a load on one thread
+    // never reports another's error
+    private final ThreadLocal<String> lastError = new ThreadLocal<>();
+    private volatile Boolean spinColumns; // Whether TRAJECTORY has SPINRATE and SPINAXIS; looked up once
+    private volatile Boolean batterTable; // Whether there is a BATTER table; looked up once
 
     // Load JDBC Driver
     static {
@@ -22,31 +52,162 @@ public class DatabaseManager {
         }
     }
 
+    // System property first, then environment variable, then the built-in default
+    private static String setting(String property, String env, String fallback) {
+        String value = System.getProperty(property);
+        if (value == null) value = System.getenv(env);
+        return value != null && !value.isEmpty() ? value : fallback;
+    }
+
+    private static String withDriverOptions(String url) {
+        return url + (url.contains("?") ? "&" : "?") + DRIVER_OPTIONS;
+    }
+
+    // One manager, and so one connection pool, for the whole application
+    public static synchronized DatabaseManager getShared() {
+        if (shared == null) {
+            shared = new DatabaseManager();
+        }
+        return shared;
+    }
+
+    // Opens a new physical connection; queries go through the pool instead
     public Connection getConnection() throws SQLException {
         return DriverManager.getConnection(JDBC_URL, DB_USER, DB_PASSWORD);
     }
 
+    private synchronized ConnectionPool getPool() {
+        if (pool == null) {
+            pool = new ConnectionPool(this::getConnection, POOL_MAX_SIZE, POOL_MAX_WAIT_MS,
+                    POOL_IDLE_TIMEOUT_MS, POOL_VALIDATION_INTERVAL_MS);
+        }
+        return pool;
+    }
+
+    public ConnectionPool.Stats getPoolStats() {
+        return getPool().getStats();
+    }
+
+    public synchronized void close() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
+
+    private interface Query<T> {
+        T run(ConnectionPool.PooledConnection conn) throws SQLException;
+    }
+
+    // Runs the query on a pooled connection; the event times it, the wait for a connection included, and the
+    // query fills in its row count
+    private <T> T withConnection(DatabaseQueryEvent event, Query<T> query) throws SQLException {
+        event.begin();
+        try (ConnectionPool.PooledConnection conn = getPool().borrow()) {
+            try {
+                T result = query.run(conn);
+                lastError.remove();
+                return result;
+            } catch (SQLException e) {
+                if (isConnectionFailure(e, conn.getConnection())) {
+                    conn.markBroken();
+                }
+                throw e;
+            }
+        } catch (SQLException e) {
+            lastError.set(e.getMessage());
+            event.failed = true;
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    // A failed statement (bad SQL, a missing table, a constraint) leaves the connection usable; only a lost
+    // connection (SQLState class 08) or one that no longer validates is dropped from the pool
+    private static boolean isConnectionFailure(SQLException e, Connection connection) {
+        if (e instanceof SQLNonTransientConnectionException || e instanceof SQLTransientConnectionException) {
+            return true;
+        }
+        String state = e.getSQLState();
+        if (state != null && state.startsWith("08")) {
+            return true;
+        }
+        try {
+            return !connection.isValid(CONNECTION_CHECK_TIMEOUT_SECONDS);
+        } catch (SQLException invalid) {
+            return true;
+        }
+    }
+
+    // Databases created before the spin columns still load, with NaN (unknown) spin, until the ALTER TABLE in
+    // CREATETABLE.sql is run; the answer is kept for the life of the manager
+    private boolean hasSpinColumns(ConnectionPool.PooledConnection conn) throws SQLException {
+        Boolean present = spinColumns;
+        if (present == null) {
+            Connection connection = conn.getConnection();
+            present = hasColumn(connection, "TRAJECTORY", "SPINRATE") && hasColumn(connection, "TRAJECTORY", "SPINAXIS");
+            if (!present) {
+                System.err.println("TRAJECTORY has no SPINRATE/SPINAXIS columns; pitches load without spin");
+            }
+            spinColumns = present;
+        }
+        return present;
+    }
+
+    private boolean hasBatterTable(ConnectionPool.PooledConnection conn) throws SQLException {
+        Boolean present = batterTable;
+        if (present == null) {
+            Connection connection = conn.getConnection();
+            try (ResultSet rs = connection.getMetaData().getTables(connection.getCatalog(), null, "BATTER", null)) {
+                present = rs.next();
+            }
+            if (!present) {
+                System.err.println("No BATTER table; using the default batter ratings");
+            }
+            batterTable = present;
+        }
+        return present;
+    }
+
+    private static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), null, table, column)) {
+            return rs.next();
+        }
+    }
+
+    public String getLastError() {
+        return lastError.get();
+    }
+
     public List<Pitcher> getAllPitchers() {
         List<Pitcher> pitchers = new ArrayList<>();
         String sql = "SELECT PID, TID, PNAME, YEAR, LR, STUFF, VELOCITY, PTYPE FROM PITCHER";
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
-            while (rs.next()) {
-                pitchers.add(new Pitcher(
-                    rs.getInt("PID"),
-                    rs.getInt("TID"),
-                    rs.getString("PNAME"),
-                    rs.getInt("YEAR"),
-                    rs.getString("LR"),
-                    rs.getInt("STUFF"),
-                    rs.getInt("VELOCITY"),
-                    rs.getInt("PTYPE")
-                ));
-            }
+        DatabaseQueryEvent event = new DatabaseQueryEvent("pitchers");
+        try {
+            withConnection(event, conn -> {
+                PreparedStatement pstmt = conn.prepare(sql);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        event.rows++;
+                        pitchers.add(new Pitcher(
+                            rs.getInt("PID"),
+                            rs.getInt("TID"),
+                            rs.getString("PNAME"),
+                            rs.getInt("YEAR"),
+                            rs.getString("LR"),
+                            rs.getInt("STUFF"),
+                            rs.getInt("VELOCITY"),
+                            rs.getInt("PTYPE")
+                        ));
+                    }
+                }
+                return null;
+            });
         } catch (SQLException e) {
             System.err.println("Error fetching pitchers: " + e.getMessage());
             e.printStackTrace();
+            pitchers.clear(); // Part of a roster would be cached as if it were all of it
         }
         return pitchers;
     }
@@ -54,32 +215,348 @@ public class DatabaseManager {
     public Map<String, TrajectoryData> getPitchDataForPitcher(int pitcherId) {
         Map<String, TrajectoryData> pitcherPitchData = new HashMap<>();
         // Query TRAJECTORY and BALLTYPE tables
-        String sql = "SELECT T.PID, T.BID, T.USEP, T.HMOV, T.VMOV, T.REX, T.REY, T.SPEED, B.BNAME " +
-                     "FROM TRAJECTORY T JOIN BALLTYPE B ON T.BID = B.BID " +
-                     "WHERE T.PID = ?";
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, pitcherId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    String bname = rs.getString("BNAME");
-                    TrajectoryData data = new TrajectoryData(
-                        rs.getInt("PID"),
-                        rs.getInt("BID"),
-                        rs.getDouble("USEP"),
-                        rs.getDouble("HMOV"),
-                        rs.getDouble("VMOV"),
-                        rs.getDouble("REX"),
-                        rs.getDouble("REY"),
-                        rs.getDouble("SPEED")
-                    );
-                    pitcherPitchData.put(bname, data);
+        DatabaseQueryEvent event = new DatabaseQueryEvent("arsenal");
+        try {
+            withConnection(event, conn -> {
+                boolean spin = hasSpinColumns(conn);
+                String sql = "SELECT T.PID, T.BID, T.USEP, T.HMOV, T.VMOV, T.REX, T.REY, T.SPEED, " +
+                             (spin ? "T.SPINRATE, T.SPINAXIS, " : "") + "B.BNAME " +
+                             "FROM TRAJECTORY T JOIN BALLTYPE B ON T.BID = B.BID " +
+                             "WHERE T.PID = ?";
+                PreparedStatement pstmt = conn.prepare(sql);
+                pstmt.setInt(1, pitcherId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        event.rows++;
+                        String bname = rs.getString("BNAME");
+                        TrajectoryData data = new TrajectoryData(
+                            rs.getInt("PID"),
+                            rs.getInt("BID"),
+                            rs.getDouble("USEP"),
+                            rs.getDouble("HMOV"),
+                            rs.getDouble("VMOV"),
+                            rs.getDouble("REX"),
+                            rs.getDouble("REY"),
+                            rs.getDouble("SPEED"),
+                            spin ? doubleOrNaN(rs, "SPINRATE") : Double.NaN,
+                            spin ? doubleOrNaN(rs, "SPINAXIS") : Double.NaN
+                        );
+                        pitcherPitchData.put(bname, data);
+                    }
                 }
-            }
+                return null;
+            });
         } catch (SQLException e) {
             System.err.println("Error fetching pitch data for pitcher " + pitcherId + ": " + e.getMessage());
             e.printStackTrace();
+            pitcherPitchData.clear(); // Same for part of an arsenal
         }
         return pitcherPitchData;
     }
+
+    /**
+     * Load every pitcher with his arsenal in a single query, streamed in CATALOG_FETCH_SIZE batches.
+     * Rows arrive ordered by PID, so each pitcher is created once when his first row is seen.
+     */
+    public PitchCatalog loadCatalog() {
+        PitchCatalog.Builder builder = new PitchCatalog.Builder();
+        DatabaseQueryEvent event = new DatabaseQueryEvent("catalog");
+        try {
+            withConnection(event, conn -> {
+                boolean spin = hasSpinColumns(conn);
+                String sql = "SELECT P.PID, P.TID, P.PNAME, P.YEAR, P.LR, P.STUFF, P.VELOCITY, P.PTYPE, " +
+                             "T.BID, T.USEP, T.HMOV, T.VMOV, T.REX, T.REY, T.SPEED, " +
+                             (spin ? "T.SPINRATE, T.SPINAXIS, " : "") + "B.BNAME " +
+                             "FROM PITCHER P " +
+                             "LEFT JOIN TRAJECTORY T ON T.PID = P.PID " +
+                             "LEFT JOIN BALLTYPE B ON B.BID = T.BID " +
+                             "ORDER BY P.PID, T.BID";
+                PreparedStatement pstmt = conn.prepare(sql);
+                pstmt.setFetchSize(CATALOG_FETCH_SIZE);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    Pitcher current = null;
+                    while (rs.next()) {
+                        event.rows++;
+                        int pid = rs.getInt("PID");
+                        if (current == null || current.getPid() != pid) {
+                            current = new Pitcher(
+                                pid,
+                                rs.getInt("TID"),
+                                rs.getString("PNAME"),
+                                rs.getInt("YEAR"),
+                                rs.getString("LR"),
+                                rs.getInt("STUFF"),
+                                rs.getInt("VELOCITY"),
+                                rs.getInt("PTYPE")
+                            );
+                            builder.addPitcher(current);
+                        }
+                        int bid = rs.getInt("BID");
+                        String bname = rs.getString("BNAME");
+                        if (rs.wasNull() || bname == null) {
+                            continue; // Pitcher without pitches, or a pitch with an unknown ball type
+                        }
+                        builder.addTrajectory(bname, new TrajectoryData(
+                            pid,
+                            bid,
+                            rs.getDouble("USEP"),
+                            rs.getDouble("HMOV"),
+                            rs.getDouble("VMOV"),
+                            rs.getDouble("REX"),
+                            rs.getDouble("REY"),
+                            rs.getDouble("SPEED"),
+                            spin ? doubleOrNaN(rs, "SPINRATE") : Double.NaN,
+                            spin ? doubleOrNaN(rs, "SPINAXIS") : Double.NaN
+                        ));
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            System.err.println("Error loading pitch catalog: " + e.getMessage());
+            e.printStackTrace();
+            // Rows streamed before the failure are not the whole catalog; an empty one is not cached. Batters are
+            // not loaded either, so getLastError() still names the catalog query
+            return new PitchCatalog.Builder().build();
+        }
+        loadBatters(builder);
+        return builder.build();
+    }
+
+    // Databases created before the BATTER table have none; the game then uses the default batter ratings
+    private void loadBatters(PitchCatalog.Builder builder) {
+        String sql = "SELECT BATID, BATNAME, POWER, ACCURACY FROM BATTER ORDER BY BATID";
+        DatabaseQueryEvent event = new DatabaseQueryEvent("batters");
+        try {
+            withConnection(event, conn -> {
+                if (!hasBatterTable(conn)) {
+                    return null;
+                }
+                PreparedStatement pstmt = conn.prepare(sql);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        event.rows++;
+                        builder.addBatter(new Batter(
+                            rs.getInt("BATID"),
+                            rs.getString("BATNAME"),
+                            rs.getInt("POWER"),
+                            rs.getInt("ACCURACY")
+                        ));
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            System.err.println("Error loading batters: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Insert a batch of pitches, plus a PLATE_APPEARANCE row for each one that ends a plate appearance,
+     * in one transaction. Called from PitchEventWriter's thread; NaN aim and swing values are stored as NULL.
+     */
+    public void savePitchEvents(List<PitchEventWriter.Event> events) throws SQLException {
+        String pitchSql = "INSERT INTO PITCH_EVENT (SESSION_ID, PITCH_NO, PA_NO, SEED, PID, BID, MODE, BALLS, STRIKES, " +
+                          "AIMX, AIMY, AIMRADIUS, TARGETX, TARGETY, PLATEX, PLATEY, SWINGTIME, OUTCOME, THROWN_AT) " +
+                          "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String plateAppearanceSql = "INSERT INTO PLATE_APPEARANCE (SESSION_ID, PA_NO, PID, MODE, PITCHES, OUTCOME, ENDED_AT) " +
+                                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        DatabaseQueryEvent query = new DatabaseQueryEvent("pitchEvents");
+        query.rows = events.size();
+        withConnection(query, conn -> {
+            Connection connection = conn.getConnection();
+            connection.setAutoCommit(false);
+            boolean committed = false;
+            try {
+                PreparedStatement pitches = conn.prepare(pitchSql);
+                PreparedStatement plateAppearances = conn.prepare(plateAppearanceSql);
+                int endedPlateAppearances = 0;
+                for (PitchEventWriter.Event event : events) {
+                    PitchRecord record = event.record;
+                    Timestamp thrownAt = new Timestamp(record.getTimeMillis());
+                    pitches.setLong(1, event.sessionId);
+                    pitches.setInt(2, event.pitchNo);
+                    setIntOrNull(pitches, 3, event.plateAppearanceNo);
+                    pitches.setLong(4, record.getSeed());
+                    pitches.setInt(5, record.getPid());
+                    pitches.setInt(6, record.getBid());
+                    pitches.setInt(7, record.getMode());
+                    pitches.setInt(8, record.getBalls());
+                    pitches.setInt(9, record.getStrikes());
+                    setDoubleOrNull(pitches, 10, record.getAimX());
+                    setDoubleOrNull(pitches, 11, record.getAimY());
+                    setDoubleOrNull(pitches, 12, record.getAimRadius());
+                    pitches.setDouble(13, record.getTargetX());
+                    pitches.setDouble(14, record.getTargetY());
+                    pitches.setDouble(15, record.getPlateX());
+                    pitches.setDouble(16, record.getPlateY());
+                    setDoubleOrNull(pitches, 17, record.getSwingTime());
+                    pitches.setString(18, record.getOutcome().name());
+                    pitches.setTimestamp(19, thrownAt);
+                    pitches.addBatch();
+                    if (event.endsPlateAppearance()) {
+                        plateAppearances.setLong(1, event.sessionId);
+                        plateAppearances.setInt(2, event.plateAppearanceNo);
+                        plateAppearances.setInt(3, record.getPid());
+                        plateAppearances.setInt(4, record.getMode());
+                        plateAppearances.setInt(5, event.plateAppearancePitches);
+                        plateAppearances.setString(6, record.getOutcome().name());
+                        plateAppearances.setTimestamp(7, thrownAt);
+                        plateAppearances.addBatch();
+                        endedPlateAppearances++;
+                    }
+                }
+                pitches.executeBatch();
+                if (endedPlateAppearances > 0) {
+                    plateAppearances.executeBatch();
+                }
+                connection.commit();
+                committed = true;
+            } finally {
+                endTransaction(connection, committed);
+            }
+            return null;
+        });
+    }
+
+    // Rolls back what was not committed and puts the connection back in autocommit before it returns to the pool,
+    // whatever ended the transaction
+    private static void endTransaction(Connection connection, boolean committed) throws SQLException {
+        try {
+            if (!committed) {
+                connection.rollback();
+            }
+        } catch (SQLException ignored) {
+            // A lost connection is dropped by withConnection; the original error is the one to report
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    // BNAME to BID for every row of BALLTYPE
+    public Map<String, Integer> getBallTypeIds() throws SQLException {
+        String sql = "SELECT BID, BNAME FROM BALLTYPE";
+        DatabaseQueryEvent event = new DatabaseQueryEvent("ballTypes");
+        return withConnection(event, conn -> {
+            Map<String, Integer> ids = new HashMap<>();
+            try (ResultSet rs = conn.prepare(sql).executeQuery()) {
+                while (rs.next()) {
+                    event.rows++;
+                    ids.put(rs.getString("BNAME"), rs.getInt("BID"));
+                }
+            }
+            return ids;
+        });
+    }
+
+    public void upsertBallTypes(Map<Integer, String> ballTypes) throws SQLException {
+        String sql = "INSERT INTO BALLTYPE (BID, BNAME) VALUES (?, ?) ON DUPLICATE KEY UPDATE BNAME = VALUES(BNAME)";
+        DatabaseQueryEvent event = new DatabaseQueryEvent("importBallTypes");
+        event.rows = ballTypes.size();
+        withConnection(event, conn -> {
+            PreparedStatement pstmt = conn.prepare(sql);
+            for (Map.Entry<Integer, String> ballType : ballTypes.entrySet()) {
+                pstmt.setInt(1, ballType.getKey());
+                pstmt.setString(2, ballType.getValue());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            return null;
+        });
+    }
+
+    /**
+     * Write imported pitchers and their arsenals in one transaction. PITCHER rows are upserted: a pitcher already in
+     * the table keeps his TID, STUFF and VELOCITY, and PNAME or LR (null), YEAR (0) and PTYPE (UNKNOWN_PTYPE) only
+     * change when known. A new pitcher without a name is stored as "PITCHER <PID>".
+     * Each pitcher's TRAJECTORY rows are replaced by the given ones, so pitch types he no longer throws go away.
+     * Called by StatcastImporter; running a batch again leaves the same rows.
+     */
+    public void importArsenals(List<Pitcher> pitchers, List<TrajectoryData> trajectories) throws SQLException {
+        // The row alias needs MySQL 8.0.19 or later
+        String pitcherSql = "INSERT INTO PITCHER (PID, TID, PNAME, YEAR, LR, STUFF, VELOCITY, PTYPE) " +
+                            "VALUES (?, NULL, ?, ?, ?, ?, ?, ?) AS new ON DUPLICATE KEY UPDATE " +
+                            "PNAME = IF(new.PNAME = CONCAT('PITCHER ', new.PID), PITCHER.PNAME, new.PNAME), " +
+                            "YEAR = COALESCE(new.YEAR, PITCHER.YEAR), LR = COALESCE(new.LR, PITCHER.LR), " +
+                            "PTYPE = COALESCE(new.PTYPE, PITCHER.PTYPE)";
+        String deleteSql = "DELETE FROM TRAJECTORY WHERE PID = ?";
+        DatabaseQueryEvent query = new DatabaseQueryEvent("importArsenals");
+        query.rows = pitchers.size() + trajectories.size();
+        withConnection(query, conn -> {
+            boolean spin = hasSpinColumns(conn); // Without the columns the spin is dropped, as loading would
+            String trajectorySql = "INSERT INTO TRAJECTORY (PID, BID, USEP, HMOV, VMOV, REX, REY, SPEED" +
+                                   (spin ? ", SPINRATE, SPINAXIS) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+                                         : ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+            Connection connection = conn.getConnection();
+            connection.setAutoCommit(false);
+            boolean committed = false;
+            try {
+                PreparedStatement upsert = conn.prepare(pitcherSql);
+                PreparedStatement delete = conn.prepare(deleteSql);
+                for (Pitcher pitcher : pitchers) {
+                    String name = pitcher.getPname();
+                    upsert.setInt(1, pitcher.getPid());
+                    upsert.setString(2, name != null ? name : "PITCHER " + pitcher.getPid());
+                    setIntOrNull(upsert, 3, pitcher.getYear());
+                    upsert.setString(4, pitcher.getLr()); // setString(null) binds NULL
+                    upsert.setInt(5, pitcher.getStuff());
+                    upsert.setInt(6, pitcher.getVelocity());
+                    if (pitcher.getPtype() == UNKNOWN_PTYPE) {
+                        upsert.setNull(7, Types.INTEGER);
+                    } else {
+                        upsert.setInt(7, pitcher.getPtype());
+                    }
+                    upsert.addBatch();
+                    delete.setInt(1, pitcher.getPid());
+                    delete.addBatch();
+                }
+                upsert.executeBatch();
+                delete.executeBatch();
+                PreparedStatement insert = conn.prepare(trajectorySql);
+                for (TrajectoryData data : trajectories) {
+                    insert.setInt(1, data.getPid());
+                    insert.setInt(2, data.getBid());
+                    insert.setDouble(3, data.getUsep());
+                    insert.setDouble(4, data.getHmov());
+                    insert.setDouble(5, data.getVmov());
+                    insert.setDouble(6, data.getRex());
+                    insert.setDouble(7, data.getRey());
+                    insert.setDouble(8, data.getSpeed());
+                    if (spin) {
+                        setIntOrNull(insert, 9, (int) Math.round(data.getSpinRate())); // NaN rounds to 0, stored as NULL
+                        setDoubleOrNull(insert, 10, data.getSpinAxis());
+                    }
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                connection.commit();
+                committed = true;
+            } finally {
+                endTransaction(connection, committed);
+            }
+            return null;
+        });
+    }
+
+    // Unknown values stay NaN rather than reading as 0, which getDouble gives for NULL
+    private static double doubleOrNaN(ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? Double.NaN : value;
+    }
+
+    private static void setIntOrNull(PreparedStatement pstmt, int index, int value) throws SQLException {
+        if (value > 0) {
+            pstmt.setInt(index, value);
+        } else {
+            pstmt.setNull(index, Types.INTEGER);
+        }
+    }
+
+    private static void setDoubleOrNull(PreparedStatement pstmt, int index, double value) throws SQLException {
+        if (Double.isNaN(value)) {
+            pstmt.setNull(index, Types.DOUBLE);
+        } else {
+            pstmt.setDouble(index, value);
+        }
+    }
 }
\ No newline at end of file
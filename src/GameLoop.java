@@ -0,0 +1,170 @@
+import perf.FrameEvent;
+import perf.FrameStats;
+import sim.FixedStepClock;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a game with a fixed simulation step and interpolated rendering.
+ *
+ * Passive mode (default) ticks from a Swing Timer and lets the game repaint the regions that changed.
+ * Active mode (-Dgame.render=active) paces frames on a dedicated thread and redraws the whole frame straight into a
+ * BufferStrategy on a Canvas, so frame timing no longer depends on how busy the repaint manager is. In both modes
+ * update and render run on the event thread, so game state needs no locking.
+ * The target frame rate is -Dgame.hz (60 by default, 30-240). Every tick is recorded in getFrameStats() and, while a
+ * flight recording is running, as a baseball.Frame event.
+ */
+public class GameLoop {
+    public static final double SIMULATION_STEP_SECONDS = 1.0 / 120;
+    private static final int MAX_STEPS_PER_FRAME = 6; // Longer stalls are dropped, as the old 50 ms frame cap did
+    private static final int DEFAULT_HZ = 60;
+    private static final int MIN_HZ = 30;
+    private static final int MAX_HZ = 240;
+
+    public interface Game {
+        // One fixed simulation step
+        void update(double dt);
+
+        // alpha is the fraction of a step elapsed since the last update, for interpolating moving objects
+        void render(Graphics2D g2d, double alpha);
+
+        // Passive mode: schedule a repaint of whatever changed since the last frame
+        void requestRepaint();
+    }
+
+    private final Game game;
+    private final Canvas canvas; // Only in active mode
+    private final int hz;
+    private final FixedStepClock clock = new FixedStepClock(SIMULATION_STEP_SECONDS, MAX_STEPS_PER_FRAME);
+    private final FrameStats frameStats;
+
+    private Timer timer;
+    private Thread pacer;
+    private BufferStrategy strategy;
+    private volatile boolean running;
+    private double alpha;
+    private long lastTickNanos;
+
+    public GameLoop(Game game) {
+        this.game = game;
+        this.hz = Math.max(MIN_HZ, Math.min(MAX_HZ, Integer.getInteger("game.hz", DEFAULT_HZ)));
+        this.frameStats = new FrameStats(hz);
+        if ("active".equalsIgnoreCase(System.getProperty("game.render"))) {
+            canvas = new Canvas();
+            canvas.setIgnoreRepaint(true);
+            canvas.setFocusable(false); // Keys keep going to the game panel's bindings
+        } else {
+            canvas = null;
+        }
+    }
+
+    // The surface to add to the game panel in active mode, or null in passive mode
+    public Canvas getCanvas() { return canvas; }
+
+    public boolean isActive() { return canvas != null; }
+
+    public boolean isRunning() { return running; }
+
+    public int getHz() { return hz; }
+
+    public FrameStats getFrameStats() { return frameStats; }
+
+    // Interpolation factor for paintComponent in passive mode
+    public double getAlpha() { return alpha; }
+
+    // System.nanoTime() of the last tick; the game's state was then alpha of a step behind it. 0 before the first tick
+    public long getLastTickNanos() { return lastTickNanos; }
+
+    public void start() {
+        if (running) return;
+        running = true;
+        clock.reset();
+        frameStats.restart();
+        lastTickNanos = 0;
+        if (canvas == null) {
+            timer = new Timer(1000 / hz, e -> {
+                tick();
+                game.requestRepaint();
+            });
+            timer.start();
+        } else {
+            pacer = new Thread(this::pace, "game-loop");
+            pacer.setDaemon(true);
+            pacer.start();
+        }
+    }
+
+    public void stop() {
+        running = false;
+        if (timer != null) {
+            timer.stop();
+            timer = null;
+        }
+        if (pacer != null) {
+            pacer.interrupt();
+            pacer = null;
+        }
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        int steps = clock.advance(now);
+        int missed = frameStats.frame(now);
+        if (lastTickNanos != 0) {
+            FrameEvent.commit(now - lastTickNanos, steps, missed);
+        }
+        double dt = clock.getStepSeconds();
+        for (int i = 0; i < steps && running; i++) {
+            game.update(dt);
+        }
+        alpha = clock.getAlpha();
+        lastTickNanos = now;
+    }
+
+    // Active mode: sleep until each frame deadline, then tick and draw on the event thread
+    private void pace() {
+        long frameNanos = 1_000_000_000L / hz;
+        long deadline = System.nanoTime();
+        while (running) {
+            try {
+                SwingUtilities.invokeAndWait(this::activeFrame);
+            } catch (InterruptedException e) {
+                return;
+            } catch (InvocationTargetException e) {
+                e.getCause().printStackTrace();
+            }
+            deadline += frameNanos;
+            long sleep = deadline - System.nanoTime();
+            if (sleep > 0) {
+                LockSupport.parkNanos(sleep);
+            } else if (-sleep > frameNanos) {
+                deadline = System.nanoTime(); // More than a frame late; don't try to catch up
+            }
+        }
+    }
+
+    private void activeFrame() {
+        if (!running) return;
+        tick();
+        if (strategy == null) {
+            if (!canvas.isDisplayable() || canvas.getWidth() <= 0) return;
+            canvas.createBufferStrategy(2);
+            strategy = canvas.getBufferStrategy();
+        }
+        do {
+            do {
+                Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    game.render(g2d, alpha);
+                } finally {
+                    g2d.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+}
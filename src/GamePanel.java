@@ -2,43 +2,64 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.Ellipse2D;
+import java.awt.geom.Point2D;
 import java.awt.image.BufferedImage;
 import javax.imageio.ImageIO;
 import java.io.File;
 import java.io.IOException;
-import java.util.Random;
+import java.util.Locale;
+import java.util.SplittableRandom;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Collections;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
 
+import data.Batter;
+import data.PitchCatalog;
 import data.Pitcher;
 import data.TrajectoryData;
-import data.Point3D;
-
-public class GamePanel extends JPanel {
-    private Timer timer;
+import perf.FrameStats;
+import perf.PaintEvent;
+import perf.SwingInputEvent;
+import perf.TrajectoryEvent;
+import sim.Arsenal;
+import sim.AtBatCount;
+import sim.AtBatRules;
+import sim.MatchupMatrix;
+import sim.PitchOutcome;
+import sim.PitchRecord;
+import sim.SwingTiming;
+import sim.Trajectory;
+import sim.TrajectoryBuffer;
+import sim.TrajectoryBufferPool;
+
+public class GamePanel extends JPanel implements GameLoop.Game {
+    private GameLoop gameLoop;
     private JFrame mainFrame;
 
     // Physical constants
-    private static final double PITCHER_MOUND_DISTANCE_FT = 60.5;
-    private static final double HOME_PLATE_FRONT_FT = 1.417;
+    private static final double PITCHER_MOUND_DISTANCE_FT = AtBatRules.PITCHER_MOUND_DISTANCE_FT;
+    private static final double HOME_PLATE_FRONT_FT = AtBatRules.HOME_PLATE_FRONT_FT;
 
     // Ball state variables
     private double x_ft, y_ft, z_ft;
-    private double vx, vy, vz;
-    private double ax, ay;
 
     // Pre-calculated trajectory
-    private List<Point3D> ballTrajectoryPoints;
-    private int currentTrajectoryIndex;
+    private final Trajectory trajectory = Trajectory.Model.selected().create(); // -Dpitch.physics=spin for drag/Magnus
+    private double pitchTime; // Seconds since release, stopped at the plate
+    private double flightTime; // Seconds since release, not stopped at the plate
+    // How long a batter's pitch stays live past the plate, for swing events stamped in time but delivered late
+    private static final double SWING_INPUT_GRACE_SECONDS = 0.1;
+
+    // Sampled path for the pitch trail, reused between pitches
+    private static final double TRAIL_SAMPLE_INTERVAL = 0.005;
+    private final TrajectoryBufferPool trajectoryBufferPool = new TrajectoryBufferPool(1);
+    private TrajectoryBuffer ballTrajectoryBuffer;
     private String preCalculatedPitchResult;
 
-    // Time management
-    private long lastFrameTime;
-
     // Game state
     private String currentHitresult = " ";
     private String pitchType = "none";
@@ -46,15 +67,13 @@ public class GamePanel extends JPanel {
     private boolean ballReachedCatcher = false;
     private boolean isPaused = false;
     private boolean isHittingMode = false;
-    private int countdown = 0;
+    private double countdown = 0; // Seconds until the next pitch
+    private static final double PITCH_COUNTDOWN_SECONDS = 3.0;
     private String hitResult = null;
     private boolean swingAttempted = false;
 
     // Ball/strike count
-    private int currentStrikes;
-    private int currentBalls;
-    private final int MAX_STRIKES = 3;
-    private final int MAX_BALLS = 4;
+    private final AtBatCount count = new AtBatCount();
 
     // Play Mode variables
     private boolean isPlayMode;
@@ -62,8 +81,8 @@ public class GamePanel extends JPanel {
     private int currentPlayModePitcherIndex;
     private int outs;
     private int hits;
-    private final int MAX_OUTS = 5;
-    private final int TARGET_HITS = 3;
+    private final int MAX_OUTS = AtBatRules.PLAY_MODE_MAX_OUTS;
+    private final int TARGET_HITS = AtBatRules.PLAY_MODE_TARGET_HITS;
 
     // Manual aiming variables
     private double aimX_ft = 0;
@@ -84,87 +103,236 @@ public class GamePanel extends JPanel {
 
     // Pre-pitch tell feature variables
     private boolean isPrePitchTell = false;
-    private int prePitchTellCounter = 0;
-    private Point prePitchBallPos;
+    private double prePitchTellTime = 0; // Seconds since the tell started
+    private double prePitchX_ft, prePitchY_ft; // Release point the tell blinks at; projected each frame so a view change moves it
     // --- MODIFIED: New tell rhythm constants ---
-    private static final int PRE_PITCH_TELL_ON_DURATION = 15;  // "On" duration in frames
-    private static final int PRE_PITCH_TELL_OFF_DURATION = 15; // "Off" duration in frames
-    private static final int PRE_PITCH_TELL_DURATION = PRE_PITCH_TELL_ON_DURATION + PRE_PITCH_TELL_OFF_DURATION; // Total tell time
+    private static final double PRE_PITCH_TELL_ON_DURATION = 0.25;  // "On" duration in seconds
+    private static final double PRE_PITCH_TELL_OFF_DURATION = 0.25; // "Off" duration in seconds
+    private static final double PRE_PITCH_TELL_DURATION = PRE_PITCH_TELL_ON_DURATION + PRE_PITCH_TELL_OFF_DURATION; // Total tell time
 
-    // Trajectory start and end points
-    private double startX_ft, startY_ft, startZ_ft;
+    // Trajectory end point
     private double endZ_ft = HOME_PLATE_FRONT_FT;
 
     // Display and camera parameters
     private final int windowWidth = 1000;
     private final int windowHeight = 700;
-    private final int vanishingPointX = windowWidth / 2;
-    private final int vanishingPointY = windowHeight / 2;
-    private final double cameraY_ft = 2.5;
-    private final double cameraZ_ft = -4.0;
-    private final double focalLength = 700;
+    private final Camera camera = new Camera(windowWidth, windowHeight);
+
+    // Dirt strip in world coordinates; in the catcher view it spans 400 px at the mound and the full width at the plate
+    private static final double FIELD_HALF_WIDTH_AT_MOUND_FT = 18.4;
+    private static final double FIELD_HALF_WIDTH_AT_PLATE_FT = 2.9;
+    private static final double MOUND_DIAMETER_FT = 7.4; // 80 px in the catcher view
 
     // Other utilities
-    private final Random random = new Random();
+    // Session randomness: pitch type choice and per-pitch seeds; -Dpitch.seed makes a session repeatable
+    private final SplittableRandom random = Long.getLong("pitch.seed") != null
+            ? new SplittableRandom(Long.getLong("pitch.seed")) : new SplittableRandom();
+
+    // Every random draw of the current pitch comes from pitchRandom, seeded per pitch, so the pitch log can replay it
+    private final PitchLog pitchLog = PitchLog.getShared();
+    private final PitchEventWriter.Session pitchEvents = PitchEventWriter.getShared().openSession(false);
+    private final InputLatency swingLatency = new InputLatency(); // Key press to swing judgment
+    private SplittableRandom pitchRandom = new SplittableRandom(0);
+    private long pitchSeed;
+    private double pitchAimX_ft = Double.NaN, pitchAimY_ft = Double.NaN, pitchAimRadius_ft = Double.NaN;
+    private double pitchTargetX_ft, pitchTargetY_ft;
+    private int pitchBalls, pitchStrikes; // Count when the pitch was thrown
+    private TrajectoryData pitchData;
+    private int pitchesStarted;
+    private final double[] scatteredTarget = new double[2];
 
     // Strike zone definition
-    private final double strikeZoneLeft_ft = -0.78;
-    private final double strikeZoneRight_ft = 0.78;
-    private final double strikeZoneTop_ft = 3.1;
-    private final double strikeZoneBottom_ft = 1.3;
+    private final double strikeZoneLeft_ft = AtBatRules.STRIKE_ZONE_LEFT_FT;
+    private final double strikeZoneRight_ft = AtBatRules.STRIKE_ZONE_RIGHT_FT;
+    private final double strikeZoneTop_ft = AtBatRules.STRIKE_ZONE_TOP_FT;
+    private final double strikeZoneBottom_ft = AtBatRules.STRIKE_ZONE_BOTTOM_FT;
 
     // Database
     private final Map<String, TrajectoryData> pitchDatabase = new HashMap<>();
-    private DatabaseManager dbManager;
+    private AsyncPitchData asyncData;
     private Pitcher currentPitcher;
+    private boolean isLoading = false; // Waiting on the catalog or an arsenal; the countdown is held
+    private String loadError = null;
+
+    // Hit probabilities of the batter (-Dgame.batter, read from the BATTER table in the background) against the
+    // current pitcher's arsenal; swingCell is the thrown pitch's cell, -1 when the formula has to be used instead
+    private Batter batter = AtBatRules.DEFAULT_BATTER;
+    private MatchupMatrix matchups = new MatchupMatrix(List.of(batter), List.of());
+    private int swingCell = -1;
+    // Current pitcher's arsenal; its PitchSelector picks the computer's pitches by usage and count
+    private Arsenal arsenal = new Arsenal(null, Map.of());
+
+    // Play Mode arsenal fetched in the background while the current at-bat is played
+    private CompletableFuture<Map<String, TrajectoryData>> nextArsenal;
+    private int nextArsenalPid = -1;
 
     // Renderer
     private BallRenderer ballRenderer;
+    private final CachedLayer sceneLayer = new CachedLayer(this::paintStaticScene, Transparency.OPAQUE);
+    private final CachedLayer hudLayer = new CachedLayer(this::paintHud, Transparency.TRANSLUCENT);
+
+    // Performance overlay, toggled with F3 (-Dgame.perfHud=true shows it from the start); its text is rebuilt
+    // PERF_REFRESH_NANOS apart, so between refreshes it costs one blit
+    private static final long PERF_REFRESH_NANOS = 250_000_000L;
+    private static final int PERF_OVERLAY_WIDTH = 460, PERF_OVERLAY_HEIGHT = 66;
+    private final CachedLayer perfLayer = new CachedLayer(this::paintPerfOverlay, Transparency.TRANSLUCENT);
+    private boolean showPerfOverlay = Boolean.getBoolean("game.perfHud");
+    private long perfRefreshNanos;
+    private String perfFrameText, perfPaintText, perfInputText;
+
+    // Passive-mode repaint tracking: the HUD band is repainted when its contents change, moving objects where they were and are
+    private static final int HUD_BAND_HEIGHT = 175;
+    private final Rectangle dynamicBounds = new Rectangle();
+    private final Rectangle lastDynamicBounds = new Rectangle();
+    private final Rectangle repaintBounds = new Rectangle();
+    private long lastHudState;
+
+    // Drawing resources shared by every frame, so the render path allocates nothing in steady state
+    private static final Font FONT_TITLE = new Font("Arial", Font.BOLD, 16);
+    private static final Font FONT_SMALL = new Font("Arial", Font.PLAIN, 12);
+    private static final Font FONT_TINY = new Font("Arial", Font.PLAIN, 11);
+    private static final Font FONT_COUNT = new Font("Arial", Font.BOLD, 20);
+    private static final Font FONT_STATUS = new Font("Arial", Font.BOLD, 18);
+    private static final Font FONT_BANNER = new Font("Arial", Font.BOLD, 24);
+    private static final Font FONT_RESULT = new Font("Arial", Font.BOLD, 36);
+    private static final Font FONT_PAUSED = new Font("Arial", Font.BOLD, 48);
+    private static final Color SKY_COLOR = new Color(135, 206, 235);
+    private static final Color DIRT_COLOR = new Color(188, 143, 143);
+    private static final Color MOUND_COLOR = new Color(160, 82, 45);
+    private static final Color STRIKE_ZONE_COLOR = new Color(255, 255, 255, 100);
+    private static final Color HUD_BACKGROUND = new Color(0, 0, 0, 150);
+    private static final Color TRAIL_COLOR = new Color(255, 255, 255, 90);
+    private static final Color RETICLE_COLOR = new Color(255, 0, 0, 180);
+    private static final Color AIM_OUTER_COLOR = new Color(255, 255, 255, 180);
+    private static final Color AIM_INNER_COLOR = new Color(0, 255, 255, 200);
+    private static final BasicStroke STROKE_2 = new BasicStroke(2);
+    private static final BasicStroke STROKE_3 = new BasicStroke(3);
+    private static final String HITTING_CONTROLS = "Space=Swing | N=Next Pitch | V=View | M=Menu | ESC=Pause";
+    private static final String PITCHING_CONTROLS = "M=Menu | C=Change Pitcher | R=Reset | V=View | ESC=Pause";
+    private final Point screenPoint = new Point();
+    private final Point edgePoint = new Point();
+    private final Point2D.Double aimPoint = new Point2D.Double();
+    private int[] trailX = new int[0], trailY = new int[0]; // Projected trail samples, grown to the buffer's capacity
+    private final Ellipse2D.Double aimEllipse = new Ellipse2D.Double();
+
+    // HUD text laid out by layoutHud whenever hudState() changes
+    private long hudTextState;
+    private String hudTitle, hudScore, hudCount, hudBanner, hudResult, hudStatus, hudPitchList, hudSpeed;
+    private Color hudResultColor, hudStatusColor;
+    private int hudBannerX, hudResultX;
+    private int pausedTextX = -1;
+
+    // Small antialiased dots drawn as images; fillOval would allocate a shape per call
+    private static final BufferedImage TRAIL_DOT = dotSprite(4, TRAIL_COLOR);
+    private static final BufferedImage TELL_DOT = dotSprite(8, Color.WHITE);
 
     public GamePanel(boolean hittingMode, JFrame frame, Pitcher selectedPitcher, boolean isPlayMode) {
         this.isHittingMode = hittingMode;
         this.mainFrame = frame;
         this.currentPitcher = selectedPitcher;
         this.isPlayMode = isPlayMode;
-        this.dbManager = new DatabaseManager();
-        this.ballRenderer = new BallRenderer(windowWidth, windowHeight);
-
-        if (this.isPlayMode) {
-            initializePlayMode();
-        } else if (currentPitcher != null) {
-            loadPitcherPitchData(currentPitcher.getPid());
-        } else {
-            System.err.println("Warning: Game mode started without selected pitcher. Loading default pitches.");
-            // initialize_AllPitchesDefault();
-        }
+        this.asyncData = AsyncPitchData.getShared();
+        this.ballRenderer = new BallRenderer(camera);
 
         setupKeyBindings();
 
-        addMouseMotionListener(new MouseAdapter() {
+        MouseAdapter aimTracker = new MouseAdapter() {
             @Override
             public void mouseMoved(MouseEvent e) {
                 if (!isHittingMode && !isPitching && !isAimingSequenceActive) {
                     mousePos = e.getPoint();
-                    updateAimPosition();
-                    repaint();
+                    updateAimPosition(); // The reticle region is repainted with the next frame
                 }
             }
-        });
+        };
+        addMouseMotionListener(aimTracker);
 
         setFocusable(true);
-        timer = new Timer(16, this::actionPerformed);
-        timer.start();
+        gameLoop = new GameLoop(this);
+        if (gameLoop.isActive()) {
+            // The canvas covers the panel and receives the mouse; keys still go through the panel's bindings
+            setLayout(new BorderLayout());
+            add(gameLoop.getCanvas(), BorderLayout.CENTER);
+            gameLoop.getCanvas().addMouseMotionListener(aimTracker);
+        }
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                sceneLayer.invalidate();
+                repaint();
+            }
+        });
+        gameLoop.start();
 
         if (isHittingMode || isPlayMode) {
-            countdown = 180;
+            countdown = PITCH_COUNTDOWN_SECONDS;
         }
         resetAtBat();
         resetPitch();
+        if (isHittingMode || isPlayMode) {
+            loadBatter();
+        }
+
+        // Pitch data arrives on the event thread once the background load finishes
+        if (this.isPlayMode) {
+            isLoading = true;
+            asyncData.loadCatalog()
+                    .whenCompleteAsync((catalog, error) -> {
+                        if (!gameLoop.isRunning()) return; // Panel already left
+                        if (error != null) {
+                            loadError = AsyncPitchData.describe(error);
+                        } else {
+                            isLoading = false;
+                            initializePlayMode(catalog);
+                        }
+                        repaint();
+                    }, AsyncPitchData.EDT);
+        } else if (currentPitcher != null) {
+            switchToPitcher(currentPitcher, asyncData.loadArsenal(currentPitcher.getPid()));
+        } else {
+            System.err.println("Warning: Game mode started without selected pitcher. Loading default pitches.");
+            // initialize_AllPitchesDefault();
+        }
     }
 
-    private void loadPitcherPitchData(int pitcherId) {
+    // Applies the arsenal right away if it is already loaded, otherwise holds the game in a loading state until it is
+    private void switchToPitcher(Pitcher pitcher, CompletableFuture<Map<String, TrajectoryData>> arsenal) {
+        currentPitcher = pitcher;
+        loadError = null;
+        if (arsenal.isDone() && !arsenal.isCompletedExceptionally()) {
+            isLoading = false;
+            loadPitcherPitchData(pitcher.getPid(), arsenal.join());
+            return;
+        }
+        isLoading = true;
         pitchDatabase.clear();
-        pitchDatabase.putAll(dbManager.getPitchDataForPitcher(pitcherId));
+        arsenal.whenCompleteAsync((pitchData, error) -> {
+            if (!gameLoop.isRunning() || currentPitcher != pitcher) return; // Panel left or pitcher changed again
+            if (error != null) {
+                loadError = AsyncPitchData.describe(error);
+            } else {
+                isLoading = false;
+                loadPitcherPitchData(pitcher.getPid(), pitchData);
+                resetPitch();
+            }
+            repaint();
+        }, AsyncPitchData.EDT);
+    }
+
+    // Without a catalog or a BATTER row the default ratings stay in use
+    private void loadBatter() {
+        asyncData.loadCatalog().thenAcceptAsync(catalog -> {
+            batter = AtBatRules.selectedBatter(catalog);
+            matchups.setBatterRatings(0, batter.getPower(), batter.getAccuracy());
+        }, AsyncPitchData.EDT);
+    }
+
+    private void loadPitcherPitchData(int pitcherId, Map<String, TrajectoryData> pitchData) {
+        pitchDatabase.clear();
+        pitchDatabase.putAll(pitchData);
+        arsenal = new Arsenal(currentPitcher, pitchData);
+        matchups = new MatchupMatrix(List.of(batter), List.of(arsenal));
+        trajectoryBufferPool.ensureCapacity(TrajectoryBufferPool.capacityFor(pitchDatabase.values(), TRAIL_SAMPLE_INTERVAL));
         if (pitchDatabase.isEmpty()) {
             System.err.println("No pitch data found for pitcher PID: " + pitcherId + ". Loading default pitches.");
 
@@ -172,11 +340,11 @@ public class GamePanel extends JPanel {
     }
 
 
-    private void initializePlayMode() {
+    private void initializePlayMode(PitchCatalog catalog) {
         this.outs = 0;
         this.hits = 0;
         this.currentPlayModePitcherIndex = 0;
-        List<Pitcher> allPitchers = dbManager.getAllPitchers();
+        List<Pitcher> allPitchers = new ArrayList<>(catalog.getPitchers());
         if (allPitchers.size() < TARGET_HITS) {
             JOptionPane.showMessageDialog(this, "Not enough pitchers in database for Play Mode! Need at least " + TARGET_HITS + " pitchers.", "Error", JOptionPane.ERROR_MESSAGE);
             Main.showStartScreen(mainFrame);
@@ -184,20 +352,19 @@ public class GamePanel extends JPanel {
         }
         Collections.shuffle(allPitchers);
         this.playModePitchers = allPitchers.subList(0, TARGET_HITS);
-        this.currentPitcher = playModePitchers.get(currentPlayModePitcherIndex);
-        loadPitcherPitchData(currentPitcher.getPid());
+        Pitcher firstPitcher = playModePitchers.get(currentPlayModePitcherIndex);
+        switchToPitcher(firstPitcher, asyncData.loadArsenal(firstPitcher.getPid()));
+        prefetchNextPitcher();
+        resetPitch();
     }
 
     private Point project3D(double objX_ft, double objY_ft, double objZ_ft) {
-        double deltaX = objX_ft - 0;
-        double deltaY = objY_ft - cameraY_ft;
-        double deltaZ = objZ_ft - cameraZ_ft;
-        if (deltaZ <= 0.1) return null;
-        double projectedX = (deltaX * focalLength) / deltaZ;
-        double projectedY = (deltaY * focalLength) / deltaZ;
-        int screenX = vanishingPointX + (int) projectedX;
-        int screenY = vanishingPointY - (int) projectedY;
-        return new Point(screenX, screenY);
+        return camera.project(objX_ft, objY_ft, objZ_ft);
+    }
+
+    // Per-frame variant: writes into a reused Point and returns false when the point is behind the camera
+    private boolean project3D(double objX_ft, double objY_ft, double objZ_ft, Point screen) {
+        return camera.project(objX_ft, objY_ft, objZ_ft, screen);
     }
     
     private void calculateRealisticTrajectory(String type, double finalTargetX, double finalTargetY) {
@@ -206,74 +373,42 @@ public class GamePanel extends JPanel {
             data = pitchDatabase.values().stream().findFirst().orElse(new TrajectoryData(0, 1, 33.0, -2.7, -13.5, -2.2, 5.8, 96.8));
         }
         this.pitchType = type;
-
-        startX_ft = data.getRex();
-        startY_ft = data.getRey();
-        startZ_ft = PITCHER_MOUND_DISTANCE_FT;
-
-        double releaseSpeed_fts = data.getSpeed() * 1.467;
-        double pfx_x_ft = data.getHmov() / 12.0;
-        double pfx_z_ft = data.getVmov() / 12.0;
-
-        double flightTime = (startZ_ft - endZ_ft) / releaseSpeed_fts;
-
-        ax = (2 * pfx_x_ft) / (flightTime * flightTime);
-        ay = (2 * pfx_z_ft) / (flightTime * flightTime);
+        this.pitchData = data;
+        pitchesStarted++;
+        swingCell = pitchDatabase.containsKey(type) ? matchups.cell(0, 0, data.getBid()) : -1;
+        pitchBalls = count.getBalls();
+        pitchStrikes = count.getStrikes();
 
         double targetX, targetY;
         if (isHittingMode || isPlayMode) { // Chance of being a strike
-            if (random.nextDouble() < 0.6) {
-                targetX = strikeZoneLeft_ft + random.nextDouble() * (strikeZoneRight_ft - strikeZoneLeft_ft);
-                targetY = strikeZoneBottom_ft + random.nextDouble() * (strikeZoneTop_ft - strikeZoneBottom_ft);
-            } else {
-                double margin = 0.5;
-                targetX = (random.nextBoolean() ? 1 : -1) * (strikeZoneRight_ft + random.nextDouble() * margin);
-                targetY = (strikeZoneBottom_ft - margin) + random.nextDouble() * (strikeZoneTop_ft - strikeZoneBottom_ft + 2 * margin);
-            }
+            boolean inZone = AtBatRules.aimsInZone(pitchRandom);
+            targetX = AtBatRules.targetX(pitchRandom, inZone);
+            targetY = AtBatRules.targetY(pitchRandom, inZone);
         } else {
             targetX = finalTargetX;
             targetY = finalTargetY;
         }
 
-        vx = ((targetX - startX_ft) / flightTime) - (0.5 * ax * flightTime);
-        vy = ((targetY - startY_ft) / flightTime) - (0.5 * ay * flightTime);
-        vz = releaseSpeed_fts;
-
-        ballTrajectoryPoints = new ArrayList<>();
-        currentTrajectoryIndex = 0;
-
-        double current_x = startX_ft, current_y = startY_ft, current_z = startZ_ft;
-        double current_vx = vx, current_vy = vy;
-
-        double simTimeStep = 0.005;
-        while (current_z > endZ_ft - 0.1) {
-            ballTrajectoryPoints.add(new Point3D(current_x, current_y, current_z));
-            current_vx += ax * simTimeStep;
-            current_vy += ay * simTimeStep;
-            current_x += current_vx * simTimeStep;
-            current_y += current_vy * simTimeStep;
-            current_z -= vz * simTimeStep;
-            if (ballTrajectoryPoints.size() > 2000) break;
+        pitchTargetX_ft = targetX;
+        pitchTargetY_ft = targetY;
+        TrajectoryEvent event = new TrajectoryEvent();
+        event.begin();
+        trajectory.aim(data, targetX, targetY);
+        pitchTime = flightTime = 0;
+        trajectoryBufferPool.release(ballTrajectoryBuffer);
+        ballTrajectoryBuffer = trajectoryBufferPool.acquire();
+        ballTrajectoryBuffer.fill(trajectory, TRAIL_SAMPLE_INTERVAL);
+        event.end();
+        if (event.shouldCommit()) {
+            event.physics = trajectory.getModel().getLabel();
+            event.pitchType = type;
+            event.samples = ballTrajectoryBuffer.size();
+            event.commit();
         }
 
-        Point3D finalSimulatedPoint;
-        if (ballTrajectoryPoints.size() > 1) {
-            Point3D prev = ballTrajectoryPoints.get(ballTrajectoryPoints.size() - 2);
-            Point3D last = ballTrajectoryPoints.get(ballTrajectoryPoints.size() - 1);
-            double frac = (prev.z - endZ_ft) / (prev.z - last.z);
-            finalSimulatedPoint = new Point3D(prev.x + (last.x - prev.x) * frac, prev.y + (last.y - prev.y) * frac, endZ_ft);
-        } else {
-            finalSimulatedPoint = new Point3D(targetX, targetY, endZ_ft);
-        }
-        
-        ballTrajectoryPoints.removeIf(p -> p.z < endZ_ft);
-        ballTrajectoryPoints.add(finalSimulatedPoint);
-
-        boolean isStrike = finalSimulatedPoint.x >= strikeZoneLeft_ft && finalSimulatedPoint.x <= strikeZoneRight_ft &&
-                           finalSimulatedPoint.y >= strikeZoneBottom_ft && finalSimulatedPoint.y <= strikeZoneTop_ft;
-        preCalculatedPitchResult = isStrike ? "Strike" : "Ball";
+        preCalculatedPitchResult = trajectory.isStrike() ? "Strike" : "Ball";
 
-        x_ft = startX_ft; y_ft = startY_ft; z_ft = startZ_ft;
+        x_ft = trajectory.getStartX(); y_ft = trajectory.getStartY(); z_ft = trajectory.getStartZ();
     }
     
     private void updateAimingSequence() {
@@ -288,91 +423,89 @@ public class GamePanel extends JPanel {
         }
     }
 
-    private void actionPerformed(ActionEvent e) {
-        if (isPaused) { lastFrameTime = System.nanoTime(); return; }
-        long currentTime = System.nanoTime();
-        double frameTime = (currentTime - lastFrameTime) / 1_000_000_000.0;
-        lastFrameTime = currentTime;
-        frameTime = Math.min(frameTime, 0.05);
+    // One fixed simulation step from the game loop
+    @Override
+    public void update(double dt) {
+        if (isPaused) return;
 
         if (isAimingSequenceActive) {
             updateAimingSequence();
         }
 
         if (isPrePitchTell) {
-            prePitchTellCounter++;
-            if (prePitchTellCounter > PRE_PITCH_TELL_DURATION) {
+            prePitchTellTime += dt;
+            if (prePitchTellTime > PRE_PITCH_TELL_DURATION) {
                 isPrePitchTell = false;
-                prePitchTellCounter = 0;
+                prePitchTellTime = 0;
+                newPitchSeed(Double.NaN, Double.NaN, Double.NaN);
                 startPitch(randomPitchType(), 0, 0);
             }
-        } else if ((isHittingMode || isPlayMode) && !isPitching && hitResult == null) {
+        } else if ((isHittingMode || isPlayMode) && !isPitching && hitResult == null && !isLoading) {
             if (countdown > 0) {
-                countdown--;
+                countdown -= dt;
             } else {
                 isPrePitchTell = true;
                 TrajectoryData data = pitchDatabase.values().stream().findFirst().orElse(new TrajectoryData(0,0,0,0,0, -2.0, 6.0, 90.0));
-                prePitchBallPos = project3D(data.getRex(), data.getRey(), PITCHER_MOUND_DISTANCE_FT);
+                prePitchX_ft = data.getRex();
+                prePitchY_ft = data.getRey();
             }
         }
 
         if (isPitching && !ballReachedCatcher) {
-            int stepsToAdvance = (int) (frameTime / 0.005);
-            currentTrajectoryIndex = Math.min(currentTrajectoryIndex + stepsToAdvance, ballTrajectoryPoints.size() - 1);
-            Point3D currentPoint = ballTrajectoryPoints.get(currentTrajectoryIndex);
-            x_ft = currentPoint.x;
-            y_ft = currentPoint.y;
-            z_ft = currentPoint.z;
-
-            if (currentTrajectoryIndex >= ballTrajectoryPoints.size() - 1) {
+            flightTime += dt;
+            if (pitchTime < trajectory.getPlateTime()) {
+                pitchTime = Math.min(flightTime, trajectory.getPlateTime());
+                x_ft = trajectory.xAt(pitchTime);
+                y_ft = trajectory.yAt(pitchTime);
+                z_ft = trajectory.zAt(pitchTime);
+            }
+
+            // A pitch the batter has not swung at is only called once a swing pressed in time can no longer arrive
+            boolean awaitingSwing = (isHittingMode || isPlayMode) && !swingAttempted;
+            if (flightTime >= trajectory.getPlateTime() + (awaitingSwing ? SWING_INPUT_GRACE_SECONDS : 0)) {
                 isPitching = false;
                 ballReachedCatcher = true;
-                if ((isHittingMode || isPlayMode) && !swingAttempted) {
+                if (!isHittingMode && !isPlayMode) {
+                    logPitch(trajectory.isStrike() ? PitchOutcome.CALLED_STRIKE : PitchOutcome.BALL, Double.NaN);
+                } else if (!swingAttempted) {
                     hitResult = preCalculatedPitchResult;
-                    if (hitResult.equals("Strike")) {
-                        currentStrikes++;
-                        if (currentStrikes >= MAX_STRIKES) {
-                            hitResult = "Strikeout!";
-                            outs++;
-                            checkPlayModeGameEnd();
-                            resetAtBat();
-                        }
-                    } else {
-                        currentBalls++;
-                        if (currentBalls >= MAX_BALLS) {
-                            hitResult = "Walk! (Hit)";
-                            hits++;
-                            resetAtBat();
-                            changePlayModePitcher();
-                        }
+                    PitchOutcome outcome = count.recordTakenPitch(hitResult.equals("Strike"));
+                    logPitch(outcome, Double.NaN);
+                    if (outcome == PitchOutcome.STRIKEOUT) {
+                        hitResult = "Strikeout!";
+                        outs++;
+                        checkPlayModeGameEnd();
+                        resetAtBat();
+                    } else if (outcome == PitchOutcome.WALK) {
+                        hitResult = "Walk! (Hit)";
+                        hits++;
+                        resetAtBat();
+                        changePlayModePitcher();
                     }
                 }
             }
         }
-        repaint();
     }
 
     private void resetPitch() {
         isPitching = ballReachedCatcher = swingAttempted = false;
         pitchType = "none";
         hitResult = null;
-        if (isHittingMode || isPlayMode) { countdown = 180; }
+        if (isHittingMode || isPlayMode) { countdown = PITCH_COUNTDOWN_SECONDS; }
         
         isAimingSequenceActive = false;
         selectedPitchType = "none";
         isPrePitchTell = false;
-        prePitchTellCounter = 0;
+        prePitchTellTime = 0;
 
         TrajectoryData data = pitchDatabase.isEmpty() ? new TrajectoryData(0,0,0,0,0, -2.0, 6.0, 90.0) : pitchDatabase.values().iterator().next();
         x_ft = data.getRex();
         y_ft = data.getRey();
         z_ft = PITCHER_MOUND_DISTANCE_FT;
-        lastFrameTime = System.nanoTime();
 
-        if (ballTrajectoryPoints != null) {
-            ballTrajectoryPoints.clear();
-        }
-        currentTrajectoryIndex = 0;
+        pitchTime = flightTime = 0;
+        trajectoryBufferPool.release(ballTrajectoryBuffer);
+        ballTrajectoryBuffer = null;
         preCalculatedPitchResult = null;
         repaint();
     }
@@ -380,13 +513,25 @@ public class GamePanel extends JPanel {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g;
+        if (!gameLoop.isActive()) {
+            render((Graphics2D) g, gameLoop.getAlpha());
+        }
+    }
+
+    // Draws one frame and records how long it took
+    @Override
+    public void render(Graphics2D g2d, double alpha) {
+        long paintStart = System.nanoTime();
+        drawFrame(g2d, alpha);
+        long paintTime = System.nanoTime() - paintStart;
+        gameLoop.getFrameStats().paint(paintTime);
+        PaintEvent.commit(paintTime, gameLoop.isActive());
+    }
+
+    // The ball is placed alpha of a simulation step past the last update
+    private void drawFrame(Graphics2D g2d, double alpha) {
+        sceneLayer.draw(g2d, getGraphicsConfiguration(), windowWidth, windowHeight);
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2d.setColor(new Color(135, 206, 235));
-        g2d.fillRect(0, 0, windowWidth, windowHeight);
-        drawField(g2d);
-        drawStrikeZone(g2d);
-        drawPitcherMound(g2d);
 
         if (!isHittingMode && !isPitching) {
             if (isAimingSequenceActive) {
@@ -401,42 +546,276 @@ public class GamePanel extends JPanel {
         }
         
         drawUI(g2d);
-        if (isPitching || ballReachedCatcher) {
+        if (!isHittingMode && ballTrajectoryBuffer != null) {
+            drawPitchTrail(g2d);
+        }
+        if (isPitching && !isPaused) {
+            double t = interpolatedPitchTime(alpha);
+            ballRenderer.drawBall(g2d, trajectory.xAt(t), trajectory.yAt(t), trajectory.zAt(t));
+        } else if (isPitching || ballReachedCatcher) {
             ballRenderer.drawBall(g2d, x_ft, y_ft, z_ft);
         }
         if (isPaused) {
-            g2d.setColor(new Color(0, 0, 0, 150));
+            g2d.setColor(HUD_BACKGROUND);
             g2d.fillRect(0, 0, windowWidth, windowHeight);
             g2d.setColor(Color.WHITE);
-            g2d.setFont(new Font("Arial", Font.BOLD, 48));
-            g2d.drawString("Paused", (windowWidth - g2d.getFontMetrics().stringWidth("Paused")) / 2, windowHeight / 2);
+            g2d.setFont(FONT_PAUSED);
+            if (pausedTextX < 0) {
+                pausedTextX = (windowWidth - g2d.getFontMetrics().stringWidth("Paused")) / 2;
+            }
+            g2d.drawString("Paused", pausedTextX, windowHeight / 2);
+        }
+        if (gameLoop.isActive()) {
+            refreshPerfOverlay();
+        }
+        if (showPerfOverlay && perfFrameText != null) {
+            int x = perfOverlayX();
+            int y = perfOverlayY();
+            g2d.translate(x, y);
+            perfLayer.draw(g2d, getGraphicsConfiguration(), PERF_OVERLAY_WIDTH, PERF_OVERLAY_HEIGHT);
+            g2d.translate(-x, -y);
         }
     }
+
+    // Bottom right, clear of the HUD band and its banners
+    private int perfOverlayX() {
+        return windowWidth - PERF_OVERLAY_WIDTH - 10;
+    }
+
+    private int perfOverlayY() {
+        return windowHeight - PERF_OVERLAY_HEIGHT - 10;
+    }
+
+    // Summarizes the frame stats into the overlay text once PERF_REFRESH_NANOS have passed; true when it changed
+    private boolean refreshPerfOverlay() {
+        long now = System.nanoTime();
+        if (!showPerfOverlay || (perfFrameText != null && now - perfRefreshNanos < PERF_REFRESH_NANOS)) return false;
+        perfRefreshNanos = now;
+        FrameStats stats = gameLoop.getFrameStats();
+        stats.summarize();
+        perfFrameText = String.format(Locale.ROOT, "%s %d Hz  %.0f fps  frame p50 %.1f  p95 %.1f  p99 %.1f  max %.1f ms",
+                gameLoop.isActive() ? "Active" : "Passive", gameLoop.getHz(), stats.getFps(),
+                stats.getIntervalP50(), stats.getIntervalP95(), stats.getIntervalP99(), stats.getIntervalMax());
+        perfPaintText = String.format(Locale.ROOT, "Missed %d of %d frames  paint p50 %.2f  p95 %.2f  max %.2f ms",
+                stats.getMissedFrames(), stats.getFrames() + stats.getMissedFrames(),
+                stats.getPaintP50(), stats.getPaintP95(), stats.getPaintMax());
+        perfInputText = swingLatency.getCount() == 0 ? "Swing input: no swings yet"
+                : String.format(Locale.ROOT, "Swing input  last %.0f ms  p95 <%d ms  max %.0f ms  (%d swings)",
+                        swingLatency.getLastMillis(), swingLatency.percentileMillis(95), swingLatency.getMaxMillis(),
+                        swingLatency.getCount());
+        perfLayer.invalidate();
+        return true;
+    }
+
+    // Paints the overlay into perfLayer; runs only when refreshPerfOverlay() rebuilt the text
+    private void paintPerfOverlay(Graphics2D g2d) {
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setColor(HUD_BACKGROUND);
+        g2d.fillRoundRect(0, 0, PERF_OVERLAY_WIDTH, PERF_OVERLAY_HEIGHT, 10, 10);
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(FONT_TINY);
+        g2d.drawString(perfFrameText, 10, 18);
+        g2d.drawString(perfPaintText, 10, 36);
+        g2d.drawString(perfInputText, 10, 54);
+    }
     
+    // For AllocationCheck, which waits for the arsenal before measuring frames
+    boolean isLoadingPitchData() {
+        return isLoading;
+    }
+
+    // For AllocationCheck, which budgets the frames that start a pitch on their own
+    int getPitchesStarted() {
+        return pitchesStarted;
+    }
+
+    private double interpolatedPitchTime(double alpha) {
+        return Math.min(pitchTime + alpha * GameLoop.SIMULATION_STEP_SECONDS, trajectory.getPlateTime());
+    }
+
+    // Flight time at System.nanoTime() eventNanos: the state at the last tick, interpolated as it was drawn, plus the
+    // wall time since. The ball stands still while paused, and without ticks there is only the simulated time
+    private double flightTimeAt(long eventNanos) {
+        long tickNanos = gameLoop.getLastTickNanos();
+        if (isPaused || tickNanos == 0) return flightTime;
+        return flightTime + gameLoop.getAlpha() * GameLoop.SIMULATION_STEP_SECONDS + (eventNanos - tickNanos) / 1e9;
+    }
+
+    // Everything that does not move; cached by sceneLayer and only repainted when the view changes
+    private void paintStaticScene(Graphics2D g2d) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setColor(SKY_COLOR);
+        g2d.fillRect(0, 0, windowWidth, windowHeight);
+        drawField(g2d);
+        drawStrikeZone(g2d);
+        drawPitcherMound(g2d);
+    }
+
+    @Override
+    public void requestRepaint() {
+        if (refreshPerfOverlay()) {
+            paintImmediately(perfOverlayX(), perfOverlayY(), PERF_OVERLAY_WIDTH, PERF_OVERLAY_HEIGHT);
+        }
+        long hudState = hudState();
+        if (hudState != lastHudState) {
+            lastHudState = hudState;
+            paintImmediately(0, 0, windowWidth, HUD_BAND_HEIGHT);
+        }
+        collectDynamicBounds(dynamicBounds, gameLoop.getAlpha());
+        // Old and new positions together, so whatever moved is erased where it was and drawn where it is
+        repaintBounds.setBounds(dynamicBounds);
+        if (!lastDynamicBounds.isEmpty()) {
+            addBounds(repaintBounds, lastDynamicBounds.x, lastDynamicBounds.y, lastDynamicBounds.width, lastDynamicBounds.height);
+        }
+        if (!repaintBounds.isEmpty()) {
+            paintImmediately(repaintBounds);
+        }
+        lastDynamicBounds.setBounds(dynamicBounds);
+    }
+
+    // Screen area covered by the ball, the pre-pitch tell and the aiming reticle this frame
+    private void collectDynamicBounds(Rectangle bounds, double alpha) {
+        bounds.setBounds(0, 0, 0, 0);
+        if (isPaused) return;
+        if (isPitching || ballReachedCatcher) {
+            double t = isPitching ? interpolatedPitchTime(alpha) : pitchTime;
+            double x = isPitching ? trajectory.xAt(t) : x_ft;
+            double y = isPitching ? trajectory.yAt(t) : y_ft;
+            double z = isPitching ? trajectory.zAt(t) : z_ft;
+            if (project3D(x, y, z, screenPoint)) {
+                int size = ballRenderer.calculateBallSize(x, y, z) + 4;
+                addBounds(bounds, screenPoint.x - size / 2, screenPoint.y - size / 2, size, size);
+            }
+        }
+        if (isPrePitchTell && project3D(prePitchX_ft, prePitchY_ft, PITCHER_MOUND_DISTANCE_FT, edgePoint)) {
+            addBounds(bounds, edgePoint.x - 6, edgePoint.y - 6, 12, 12);
+        }
+        if (!isHittingMode && !isPitching) {
+            double aimX = isAimingSequenceActive ? lockedAimX_ft : aimX_ft;
+            double aimY = isAimingSequenceActive ? lockedAimY_ft : aimY_ft;
+            double radius_ft = isAimingSequenceActive ? MAX_AIM_RADIUS_FT : MIN_AIM_RADIUS_FT;
+            if (project3D(aimX, aimY, endZ_ft, screenPoint) && project3D(aimX + radius_ft, aimY, endZ_ft, edgePoint)) {
+                int r = (int) Math.ceil(screenPoint.distance(edgePoint)) + 3;
+                addBounds(bounds, screenPoint.x - r, screenPoint.y - r, 2 * r, 2 * r);
+            }
+        }
+    }
+
+    private static void addBounds(Rectangle bounds, int x, int y, int width, int height) {
+        if (bounds.isEmpty()) {
+            bounds.setBounds(x, y, width, height);
+        } else {
+            bounds.add(x, y);
+            bounds.add(x + width, y + height);
+        }
+    }
+
+    // Cheap fingerprint of everything drawUI shows; the HUD band is only repainted when it changes. AllocationCheck
+    // reads it to tell frames that lay the HUD out again from those that change nothing
+    long hudState() {
+        long h = isLoading ? 1 : 0;
+        h = 31 * h + (loadError != null ? loadError.hashCode() : 0);
+        h = 31 * h + (countdown > 0 ? (int) Math.ceil(countdown) : 0);
+        h = 31 * h + (isPrePitchTell ? 1 : 0);
+        h = 31 * h + (hitResult != null ? hitResult.hashCode() : 0);
+        h = 31 * h + (isPitching ? 1 : 0);
+        h = 31 * h + (ballReachedCatcher ? 1 : 0);
+        h = 31 * h + (isAimingSequenceActive ? 1 : 0);
+        h = 31 * h + pitchType.hashCode();
+        h = 31 * h + selectedPitchType.hashCode();
+        h = 31 * h + count.getStrikes() * 8 + count.getBalls();
+        h = 31 * h + hits * 64 + outs;
+        h = 31 * h + System.identityHashCode(currentPitcher);
+        h = 31 * h + pitchDatabase.size();
+        return h;
+    }
+
     // --- MODIFIED: Update flicker logic ---
     private void drawPrePitchTell(Graphics2D g2d) {
-        if (prePitchBallPos == null) return;
+        if (!project3D(prePitchX_ft, prePitchY_ft, PITCHER_MOUND_DISTANCE_FT, screenPoint)) return;
 
         // Only draw the white ball during the "on" phase
-        if (prePitchTellCounter < PRE_PITCH_TELL_ON_DURATION) {
-            g2d.setColor(Color.WHITE);
-            int ballSize = 8;
-            g2d.fillOval(prePitchBallPos.x - ballSize / 2, prePitchBallPos.y - ballSize / 2, ballSize, ballSize);
+        if (prePitchTellTime < PRE_PITCH_TELL_ON_DURATION) {
+            int ballSize = TELL_DOT.getWidth();
+            g2d.drawImage(TELL_DOT, screenPoint.x - ballSize / 2, screenPoint.y - ballSize / 2, null);
         }
         // When the counter exceeds ON_DURATION, enter the "off" phase, no drawing needed here
     }
 
+    // Pitching mode only: dots along the path flown so far
+    private void drawPitchTrail(Graphics2D g2d) {
+        int count = ballTrajectoryBuffer.indexAt(pitchTime) + 1;
+        if (trailX.length < ballTrajectoryBuffer.capacity()) {
+            trailX = new int[ballTrajectoryBuffer.capacity()];
+            trailY = new int[ballTrajectoryBuffer.capacity()];
+        }
+        camera.projectAll(ballTrajectoryBuffer.xs(), ballTrajectoryBuffer.ys(), ballTrajectoryBuffer.zs(), count, trailX, trailY);
+        for (int i = 0; i < count; i += 4) {
+            if (trailX[i] != Camera.OFFSCREEN) {
+                g2d.drawImage(TRAIL_DOT, trailX[i] - 2, trailY[i] - 2, null);
+            }
+        }
+    }
+
+    private static BufferedImage dotSprite(int size, Color color) {
+        BufferedImage sprite = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2d = sprite.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setColor(color);
+        g2d.fillOval(0, 0, size, size);
+        g2d.dispose();
+        return sprite;
+    }
+
     private void resetAtBat() {
-        currentStrikes = 0;
-        currentBalls = 0;
+        count.reset();
+        pitchLog.flush();
+        prefetchNextPitcher();
+    }
+
+    // Starts a pitch's random stream from a fresh seed; the aim is NaN when the computer picks the target
+    private void newPitchSeed(double aimX_ft, double aimY_ft, double aimRadius_ft) {
+        pitchSeed = random.nextLong();
+        pitchRandom = new SplittableRandom(pitchSeed);
+        pitchAimX_ft = aimX_ft;
+        pitchAimY_ft = aimY_ft;
+        pitchAimRadius_ft = aimRadius_ft;
+    }
+
+    private void reportSwingLatency() {
+        if (swingLatency.getCount() > 0) {
+            System.out.println("Swing input latency: " + swingLatency);
+            swingLatency.reset();
+        }
+    }
+
+    // swingTime is seconds after release, NaN for a taken pitch
+    private void logPitch(PitchOutcome outcome, double swingTime) {
+        int mode = isPlayMode ? PitchRecord.MODE_PLAY : isHittingMode ? PitchRecord.MODE_HITTING : PitchRecord.MODE_PITCHING;
+        PitchRecord record = new PitchRecord(pitchSeed, System.currentTimeMillis(), pitchData.getPid(), pitchData.getBid(), mode,
+                pitchBalls, pitchStrikes, pitchAimX_ft, pitchAimY_ft, pitchAimRadius_ft, pitchTargetX_ft, pitchTargetY_ft,
+                trajectory.getPlateX(), trajectory.getPlateY(), swingTime, outcome, trajectory.getModel());
+        pitchLog.append(record);
+        pitchEvents.record(record);
+    }
+
+    // Starts loading the arsenal of the pitcher who follows the current one, so the change never waits on the database
+    private void prefetchNextPitcher() {
+        if (!isPlayMode || playModePitchers == null) return;
+        int nextIndex = currentPlayModePitcherIndex + 1;
+        if (nextIndex >= playModePitchers.size()) return;
+        int pid = playModePitchers.get(nextIndex).getPid();
+        if (pid != nextArsenalPid || nextArsenal == null || nextArsenal.isCompletedExceptionally()) {
+            nextArsenalPid = pid;
+            nextArsenal = asyncData.loadArsenal(pid);
+        }
     }
 
     private String randomPitchType() {
-        if (pitchDatabase.isEmpty()) {
+        if (arsenal.getPitchCount() == 0) {
             return "4SEAMFAST";
         }
-        Object[] types = pitchDatabase.keySet().toArray();
-        return (String) types[random.nextInt(types.length)];
+        return arsenal.getPitchName(arsenal.nextPitch(random, count));
     }
 
     private void startPitch(String type, double targetX, double targetY) {
@@ -455,33 +834,31 @@ public class GamePanel extends JPanel {
     
     private void finalizeAndThrowPitch() {
         isAimingSequenceActive = false;
-        double angle = random.nextDouble() * 2 * Math.PI;
-        double radius = Math.sqrt(random.nextDouble()) * aimingCircleRadius_ft; 
-        double offsetX = Math.cos(angle) * radius;
-        double offsetY = Math.sin(angle) * radius;
-        double finalTargetX = lockedAimX_ft + offsetX;
-        double finalTargetY = lockedAimY_ft + offsetY;
-        startPitch(selectedPitchType, finalTargetX, finalTargetY);
+        newPitchSeed(lockedAimX_ft, lockedAimY_ft, aimingCircleRadius_ft);
+        AtBatRules.scatterTarget(pitchRandom, lockedAimX_ft, lockedAimY_ft, aimingCircleRadius_ft, scatteredTarget);
+        startPitch(selectedPitchType, scatteredTarget[0], scatteredTarget[1]);
         selectedPitchType = "none";
     }
 
     private void drawField(Graphics2D g2d) {
-        Point groundStart = project3D(0, 0, PITCHER_MOUND_DISTANCE_FT);
-        Point groundEnd = project3D(0, 0, 0);
-        if(groundStart != null && groundEnd != null) {
-            g2d.setColor(new Color(188, 143, 143));
+        Point moundLeft = project3D(-FIELD_HALF_WIDTH_AT_MOUND_FT, 0, PITCHER_MOUND_DISTANCE_FT);
+        Point moundRight = project3D(FIELD_HALF_WIDTH_AT_MOUND_FT, 0, PITCHER_MOUND_DISTANCE_FT);
+        Point plateRight = project3D(FIELD_HALF_WIDTH_AT_PLATE_FT, 0, 0);
+        Point plateLeft = project3D(-FIELD_HALF_WIDTH_AT_PLATE_FT, 0, 0);
+        if (moundLeft != null && moundRight != null && plateRight != null && plateLeft != null) {
+            g2d.setColor(DIRT_COLOR);
             Polygon dirtArea = new Polygon();
-            dirtArea.addPoint(groundStart.x - 200, groundStart.y);
-            dirtArea.addPoint(groundStart.x + 200, groundStart.y);
-            dirtArea.addPoint(windowWidth, groundEnd.y);
-            dirtArea.addPoint(0, groundEnd.y);
+            dirtArea.addPoint(moundLeft.x, moundLeft.y);
+            dirtArea.addPoint(moundRight.x, moundRight.y);
+            dirtArea.addPoint(plateRight.x, plateRight.y);
+            dirtArea.addPoint(plateLeft.x, plateLeft.y);
             g2d.fillPolygon(dirtArea);
         }
     }
 
     private void drawStrikeZone(Graphics2D g2d) {
-        g2d.setStroke(new BasicStroke(3));
-        g2d.setColor(new Color(255, 255, 255, 100));
+        g2d.setStroke(STROKE_3);
+        g2d.setColor(STRIKE_ZONE_COLOR);
         Point tl = project3D(strikeZoneLeft_ft, strikeZoneTop_ft, endZ_ft);
         Point tr = project3D(strikeZoneRight_ft, strikeZoneTop_ft, endZ_ft);
         Point bl = project3D(strikeZoneLeft_ft, strikeZoneBottom_ft, endZ_ft);
@@ -497,8 +874,8 @@ public class GamePanel extends JPanel {
     private void drawPitcherMound(Graphics2D g2d) {
         Point moundCenter = project3D(0, 0, PITCHER_MOUND_DISTANCE_FT);
         if (moundCenter != null) {
-            int moundSize = 80;
-            g2d.setColor(new Color(160, 82, 45));
+            int moundSize = (int) Math.round(camera.scaleAt(MOUND_DIAMETER_FT, 0, 0, PITCHER_MOUND_DISTANCE_FT));
+            g2d.setColor(MOUND_COLOR);
             g2d.fillOval(moundCenter.x - moundSize/2, moundCenter.y - moundSize/4, moundSize, moundSize/2);
         }
     }
@@ -520,52 +897,40 @@ public class GamePanel extends JPanel {
         }
     }
 
-    private void drawUI(Graphics2D g2d) {
-        g2d.setColor(new Color(0, 0, 0, 150));
-        g2d.fillRoundRect(10, 10, 500, 160, 10, 10);
-        g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.BOLD, 16));
+    // Rebuilds the HUD strings; only called when hudState() changes
+    private void layoutHud(Graphics2D g2d) {
         String modeText = isPlayMode ? "Play Mode" : (isHittingMode ? "Hitting Mode" : "Pitching Mode");
-        g2d.drawString(modeText + " - " + (currentPitcher != null ? currentPitcher.getPname() : "N/A"), 20, 30);
+        hudTitle = modeText + " - " + (currentPitcher != null ? currentPitcher.getPname() : "N/A");
+        hudBanner = null;
+        hudResult = null;
+        hudStatus = null;
 
         if (isHittingMode || isPlayMode) {
-            g2d.setFont(new Font("Arial", Font.PLAIN, 12));
-            g2d.drawString("Space=Swing | N=Next Pitch | M=Menu | ESC=Pause", 20, 50);
-            if (isPlayMode) {
-                g2d.drawString("Hits: " + hits + "/" + TARGET_HITS + " | Outs: " + outs + "/" + MAX_OUTS, 20, 70);
-            }
-            g2d.setFont(new Font("Arial", Font.BOLD, 20));
-            g2d.drawString("S: " + currentStrikes + " B: " + currentBalls, 20, 90);
-            
-            if (countdown > 0 && !isPrePitchTell) {
-                g2d.setFont(new Font("Arial", Font.BOLD, 24));
-                g2d.setColor(Color.YELLOW);
-                g2d.drawString("Pitch in: " + ((countdown / 60) + 1), windowWidth / 2 - 60, 60);
+            hudScore = isPlayMode ? "Hits: " + hits + "/" + TARGET_HITS + " | Outs: " + outs + "/" + MAX_OUTS : null;
+            hudCount = "S: " + count.getStrikes() + " B: " + count.getBalls();
+            if (loadError != null) {
+                hudStatus = "Could not load pitch data: " + loadError;
+                hudStatusColor = Color.RED;
+            } else if (isLoading) {
+                hudBanner = "Loading pitch data...";
+                hudBannerX = windowWidth / 2 - 110;
+            } else if (countdown > 0 && !isPrePitchTell) {
+                hudBanner = "Pitch in: " + (int) Math.ceil(countdown);
+                hudBannerX = windowWidth / 2 - 60;
             } else if (isPrePitchTell) {
                 // You can add a text cue here if you want, e.g., an exclamation mark
-                // g2d.setFont(new Font("Arial", Font.BOLD, 36));
-                // g2d.setColor(Color.RED);
-                // g2d.drawString("!", windowWidth / 2 - 8, 60);
             } else if (hitResult != null) {
-                g2d.setFont(new Font("Arial", Font.BOLD, 36));
-                g2d.setColor(getHitResultColor(hitResult));
-                g2d.drawString(hitResult, windowWidth / 2 - g2d.getFontMetrics().stringWidth(hitResult)/2, 80);
-            }
-            if (isPitching && !pitchType.equals("none")) {
-                g2d.setFont(new Font("Arial", Font.BOLD, 24));
-                g2d.setColor(Color.WHITE);
-                g2d.drawString(pitchType, 20, 140);
+                hudResult = hitResult;
+                hudResultColor = getHitResultColor(hitResult);
+                hudResultX = windowWidth / 2 - g2d.getFontMetrics(FONT_RESULT).stringWidth(hitResult) / 2;
             }
         } else {
-            g2d.setFont(new Font("Arial", Font.PLAIN, 11));
-            String pitchList = "Pitches: ";
-            Object[] availablePitches = pitchDatabase.keySet().toArray();
-            for(int i = 0; i < availablePitches.length; i++) {
-                pitchList += (i + 1) + "=" + availablePitches[i] + " ";
+            StringBuilder pitchList = new StringBuilder("Pitches: ");
+            int number = 1;
+            for (String type : pitchDatabase.keySet()) {
+                pitchList.append(number++).append('=').append(type).append(' ');
             }
-            g2d.drawString(pitchList, 20, 50);
-            g2d.setFont(new Font("Arial", Font.PLAIN, 12));
-            g2d.drawString("M=Menu | C=Change Pitcher | R=Reset | ESC=Pause", 20, 70);
+            hudPitchList = pitchList.toString();
 
             String currentPitchSpeed = "---";
             if (!selectedPitchType.equals("none")) {
@@ -573,34 +938,99 @@ public class GamePanel extends JPanel {
             } else if (!pitchType.equals("none")) {
                 currentPitchSpeed = String.format("%.1f mph", pitchDatabase.get(pitchType).getSpeed());
             }
-            g2d.drawString("Speed: " + currentPitchSpeed, 20, 90);
-
-            g2d.setFont(new Font("Arial", Font.BOLD, 18));
-            if(isPitching) {
-                g2d.setColor(Color.GREEN);
-                g2d.drawString("Pitching: " + pitchType, 20, 110);
-            } else if(ballReachedCatcher) {
-                g2d.setColor(Color.ORANGE);
-                g2d.drawString("Ball reached catcher. Select a pitch.", 20, 110);
+            hudSpeed = "Speed: " + currentPitchSpeed;
+
+            if (loadError != null) {
+                hudStatusColor = Color.RED;
+                hudStatus = "Could not load pitch data: " + loadError;
+            } else if (isLoading) {
+                hudStatusColor = Color.YELLOW;
+                hudStatus = "Loading pitch data...";
+            } else if (isPitching) {
+                hudStatusColor = Color.GREEN;
+                hudStatus = "Pitching: " + pitchType;
+            } else if (ballReachedCatcher) {
+                hudStatusColor = Color.ORANGE;
+                hudStatus = "Ball reached catcher. Select a pitch.";
             } else if (isAimingSequenceActive) {
-                g2d.setColor(Color.CYAN);
-                g2d.drawString("Press SPACE to throw!", 20, 110);
+                hudStatusColor = Color.CYAN;
+                hudStatus = "Press SPACE to throw!";
             } else if (!selectedPitchType.equals("none")) {
-                g2d.setColor(Color.YELLOW);
-                g2d.drawString("Selected: " + selectedPitchType + ". Press SPACE to aim.", 20, 110);
+                hudStatusColor = Color.YELLOW;
+                hudStatus = "Selected: " + selectedPitchType + ". Press SPACE to aim.";
             } else {
-                 g2d.setColor(Color.WHITE);
-                g2d.drawString("Select Pitch (1-" + availablePitches.length + "), then Aim.", 20, 110);
+                hudStatusColor = Color.WHITE;
+                hudStatus = "Select Pitch (1-" + pitchDatabase.size() + "), then Aim.";
+            }
+        }
+    }
+
+    private void drawUI(Graphics2D g2d) {
+        long state = hudState();
+        if (state != hudTextState || hudTitle == null) {
+            hudTextState = state;
+            hudLayer.invalidate();
+        }
+        hudLayer.draw(g2d, getGraphicsConfiguration(), windowWidth, HUD_BAND_HEIGHT);
+    }
+
+    // Paints the HUD into hudLayer; runs only when hudState() changes
+    private void paintHud(Graphics2D g2d) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        layoutHud(g2d);
+        g2d.setColor(HUD_BACKGROUND);
+        g2d.fillRoundRect(10, 10, 500, 160, 10, 10);
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(FONT_TITLE);
+        g2d.drawString(hudTitle, 20, 30);
+
+        if (isHittingMode || isPlayMode) {
+            g2d.setFont(FONT_SMALL);
+            g2d.drawString(HITTING_CONTROLS, 20, 50);
+            if (hudScore != null) {
+                g2d.drawString(hudScore, 20, 70);
+            }
+            g2d.setFont(FONT_COUNT);
+            g2d.drawString(hudCount, 20, 90);
+
+            if (hudStatus != null) {
+                g2d.setFont(FONT_STATUS);
+                g2d.setColor(hudStatusColor);
+                g2d.drawString(hudStatus, 20, 140);
+            } else if (hudBanner != null) {
+                g2d.setFont(FONT_BANNER);
+                g2d.setColor(Color.YELLOW);
+                g2d.drawString(hudBanner, hudBannerX, 60);
+            } else if (hudResult != null) {
+                g2d.setFont(FONT_RESULT);
+                g2d.setColor(hudResultColor);
+                g2d.drawString(hudResult, hudResultX, 80);
+            }
+            if (isPitching && !pitchType.equals("none")) {
+                g2d.setFont(FONT_BANNER);
+                g2d.setColor(Color.WHITE);
+                g2d.drawString(pitchType, 20, 140);
             }
+        } else {
+            g2d.setFont(FONT_TINY);
+            g2d.drawString(hudPitchList, 20, 50);
+            g2d.setFont(FONT_SMALL);
+            g2d.drawString(PITCHING_CONTROLS, 20, 70);
+            g2d.drawString(hudSpeed, 20, 90);
+
+            g2d.setFont(FONT_STATUS);
+            g2d.setColor(hudStatusColor);
+            g2d.drawString(hudStatus, 20, 110);
         }
     }
     
     private void updateAimPosition() {
         if (mousePos == null) return;
-        double deltaZ = endZ_ft - cameraZ_ft;
-        aimX_ft = (mousePos.x - vanishingPointX) * deltaZ / focalLength;
-        aimY_ft = cameraY_ft - (mousePos.y - vanishingPointY) * deltaZ / focalLength;
-        
+        // Where the mouse ray meets the front of the plate
+        if (!camera.unprojectToPlane(mousePos.x, mousePos.y, endZ_ft, aimPoint)) return;
+        aimX_ft = aimPoint.x;
+        aimY_ft = aimPoint.y;
+
         double worldTargetMinX = -2.5, worldTargetMaxX = 2.5;
         double worldTargetMinY = 0.0, worldTargetMaxY = 5.0;
 
@@ -609,31 +1039,31 @@ public class GamePanel extends JPanel {
     }
 
     private void drawAimingReticle(Graphics2D g2d) {
-        Point center = project3D(aimX_ft, aimY_ft, endZ_ft);
-        if (center == null) return;
-        Point edge = project3D(aimX_ft + MIN_AIM_RADIUS_FT, aimY_ft, endZ_ft);
-        if (edge == null) return;
-        double screenRadius = center.distance(edge);
-        g2d.setColor(new Color(255, 0, 0, 180));
-        g2d.setStroke(new BasicStroke(2));
-        g2d.draw(new Ellipse2D.Double(center.x - screenRadius, center.y - screenRadius, screenRadius * 2, screenRadius * 2));
+        Point center = screenPoint;
+        if (!project3D(aimX_ft, aimY_ft, endZ_ft, center)) return;
+        if (!project3D(aimX_ft + MIN_AIM_RADIUS_FT, aimY_ft, endZ_ft, edgePoint)) return;
+        double screenRadius = center.distance(edgePoint);
+        g2d.setColor(RETICLE_COLOR);
+        g2d.setStroke(STROKE_2);
+        aimEllipse.setFrame(center.x - screenRadius, center.y - screenRadius, screenRadius * 2, screenRadius * 2);
+        g2d.draw(aimEllipse);
     }
     
     private void drawAimingCircle(Graphics2D g2d) {
-        Point center = project3D(lockedAimX_ft, lockedAimY_ft, endZ_ft);
-        if (center == null) return;
-        Point outerEdge = project3D(lockedAimX_ft + aimingCircleRadius_ft, lockedAimY_ft, endZ_ft);
-        if (outerEdge == null) return;
-        double outerScreenRadius = center.distance(outerEdge);
-        g2d.setColor(new Color(255, 255, 255, 180));
-        g2d.setStroke(new BasicStroke(3));
-        g2d.draw(new Ellipse2D.Double(center.x - outerScreenRadius, center.y - outerScreenRadius, outerScreenRadius * 2, outerScreenRadius * 2));
-        Point innerEdge = project3D(lockedAimX_ft + MIN_AIM_RADIUS_FT, lockedAimY_ft, endZ_ft);
-        if (innerEdge == null) return;
-        double innerScreenRadius = center.distance(innerEdge);
-        g2d.setColor(new Color(0, 255, 255, 200));
-        g2d.setStroke(new BasicStroke(2));
-        g2d.draw(new Ellipse2D.Double(center.x - innerScreenRadius, center.y - innerScreenRadius, innerScreenRadius * 2, innerScreenRadius * 2));
+        Point center = screenPoint;
+        if (!project3D(lockedAimX_ft, lockedAimY_ft, endZ_ft, center)) return;
+        if (!project3D(lockedAimX_ft + aimingCircleRadius_ft, lockedAimY_ft, endZ_ft, edgePoint)) return;
+        double outerScreenRadius = center.distance(edgePoint);
+        g2d.setColor(AIM_OUTER_COLOR);
+        g2d.setStroke(STROKE_3);
+        aimEllipse.setFrame(center.x - outerScreenRadius, center.y - outerScreenRadius, outerScreenRadius * 2, outerScreenRadius * 2);
+        g2d.draw(aimEllipse);
+        if (!project3D(lockedAimX_ft + MIN_AIM_RADIUS_FT, lockedAimY_ft, endZ_ft, edgePoint)) return;
+        double innerScreenRadius = center.distance(edgePoint);
+        g2d.setColor(AIM_INNER_COLOR);
+        g2d.setStroke(STROKE_2);
+        aimEllipse.setFrame(center.x - innerScreenRadius, center.y - innerScreenRadius, innerScreenRadius * 2, innerScreenRadius * 2);
+        g2d.draw(aimEllipse);
     }
 
     private void setupKeyBindings() {
@@ -662,6 +1092,12 @@ public class GamePanel extends JPanel {
 
         inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_N, 0, false), "nextPitchAction");
         actionMap.put("nextPitchAction", new NextPitchAction());
+
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_V, 0), "cameraAction");
+        actionMap.put("cameraAction", new CameraAction());
+
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "perfOverlayAction");
+        actionMap.put("perfOverlayAction", new PerfOverlayAction());
     }
 
     private void togglePause() {
@@ -676,55 +1112,36 @@ public class GamePanel extends JPanel {
         public void actionPerformed(ActionEvent e) {
             if (isHittingMode || isPlayMode) {
                 if (isPitching && !swingAttempted) {
+                    // Judge the swing where the ball was when the key went down, not when the event thread got to it.
+                    // Events carry a millisecond wall-clock stamp; scripted calls have none and use the current step
+                    boolean stamped = e != null && e.getWhen() > 0;
+                    long eventNanos = System.nanoTime();
+                    double swingTime = flightTime;
+                    if (stamped) {
+                        eventNanos -= Math.max(0, System.currentTimeMillis() - e.getWhen()) * 1_000_000L;
+                        swingTime = flightTimeAt(eventNanos);
+                    }
+                    // Pressed before the release (left over from the last pitch) or after the ball went by
+                    if (swingTime < 0 || swingTime > trajectory.getPlateTime()) return;
                     swingAttempted = true;
-                    double swingTimeRatio = (startZ_ft - z_ft) / (startZ_ft - endZ_ft);
-                    final double PERFECT_START = 0.91, PERFECT_END = 0.97;
-                    final double GOOD_START = 0.86, GOOD_END = 1.0;
-                    final double OK_START = 0.82, OK_END = 1.04;
-                    boolean isHit = false;
-
-                    if (swingTimeRatio >= PERFECT_START && swingTimeRatio <= PERFECT_END) {
-                        hitResult = "Perfect";
-                        // Strike/Ball judgment
-                        if ("Strike".equals(preCalculatedPitchResult)) { // If it's a strike
-                            isHit = calculateHitProbability(0.6);
-                        } else { // If it's a ball
-                            isHit = calculateHitProbability(0.1); // Judge based on TimeProbability
-                        }
-                    } else if (swingTimeRatio > PERFECT_END && swingTimeRatio <= GOOD_END) {
-                        hitResult = "A bit late";
-                        if ("Strike".equals(preCalculatedPitchResult)) { // If it's a strike
-                            isHit = calculateHitProbability(0.2);
-                        } else { // If it's a ball
-                            isHit = calculateHitProbability(0.05); // Judge based on TimeProbability
+                    double swingTimeRatio = trajectory.progressAt(swingTime);
+                    SwingTiming timing = SwingTiming.of(swingTimeRatio);
+                    hitResult = timing.getLabel();
+                    PitchOutcome outcome = resolveSwing(timing, "Strike".equals(preCalculatedPitchResult));
+                    if (stamped) {
+                        long latency = System.nanoTime() - eventNanos;
+                        swingLatency.record(latency);
+                        SwingInputEvent event = new SwingInputEvent();
+                        if (event.shouldCommit()) {
+                            event.latency = latency;
+                            event.swingTime = swingTime;
+                            event.timing = timing.getLabel();
+                            event.commit();
                         }
-                    } else if (swingTimeRatio < PERFECT_START && swingTimeRatio >= GOOD_START) {
-                        hitResult = "A bit early";
-                        if ("Strike".equals(preCalculatedPitchResult)) { // If it's a strike
-                            isHit = calculateHitProbability(0.2);
-                        } else { // If it's a ball
-                            isHit = calculateHitProbability(0.05); // Judge based on TimeProbability
-                        }
-                    } else if (swingTimeRatio > GOOD_END && swingTimeRatio <= OK_END) {
-                        hitResult = "Late";
-                        if ("Strike".equals(preCalculatedPitchResult)) { // If it's a strike
-                            isHit = calculateHitProbability(0.1);
-                        } else { // If it's a ball
-                            isHit = calculateHitProbability(0); // Judge based on TimeProbability
-                        }
-                    } else if (swingTimeRatio < GOOD_START && swingTimeRatio >= OK_START) {
-                        hitResult = "Early";
-                        if ("Strike".equals(preCalculatedPitchResult)) { // If it's a strike
-                            isHit = calculateHitProbability(0.1);
-                        } else { // If it's a ball
-                            isHit = calculateHitProbability(0); // Judge based on TimeProbability
-                        }
-                    } else {
-                        hitResult = "Too Early";
-                        isHit = false;
                     }
+                    logPitch(outcome, swingTime);
 
-                    if (isHit) {
+                    if (outcome == PitchOutcome.HIT) {
                         hitResult = "Hit! " + hitResult;
                         hits++;
                         resetAtBat();
@@ -732,31 +1149,24 @@ public class GamePanel extends JPanel {
                             changePlayModePitcher();
                         }
                     } else {
-                        currentStrikes++;
                         currentHitresult = hitResult ;
                         hitResult = currentHitresult +", Swing Strike!";
 
-                        // Using isHit to calculate if it's an out
-                        isHit = calculateHitProbability(0.1);
-                        if(isHit){ // isOut
-                        currentStrikes = 3;
-                        {
+                        if (outcome == PitchOutcome.IN_PLAY_OUT) {
                             hitResult = currentHitresult  +", In Play OUT !";
                             if (isPlayMode) {
                                 outs++;
                                 checkPlayModeGameEnd();
                             }
                             resetAtBat();
-                        } 
-                        }
-                        else if (currentStrikes >= MAX_STRIKES) {
+                        } else if (outcome == PitchOutcome.STRIKEOUT) {
                             hitResult = currentHitresult +", Strikeout!";
                             if (isPlayMode) {
                                 outs++;
                                 checkPlayModeGameEnd();
                             }
                             resetAtBat();
-                        } 
+                        }
                     }
                 }
             } else {
@@ -773,27 +1183,29 @@ public class GamePanel extends JPanel {
         }
     }
 
-    private boolean calculateHitProbability(double TimeProbability) {
-        final int BATTER_POWER = 90;
-        final int BATTER_ACCURACY = 90;
+    private PitchOutcome resolveSwing(SwingTiming timing, boolean isStrike) {
+        if (swingCell >= 0) {
+            return matchups.resolveSwing(pitchRandom, count, swingCell, timing, isStrike);
+        }
         int pitcherStuff = (currentPitcher != null) ? currentPitcher.getStuff() : 50;
         int pitcherVelocity = (currentPitcher != null) ? currentPitcher.getVelocity() : 90;
 
         double currentPitchSpeed = pitchDatabase.containsKey(pitchType) ? 
                                    pitchDatabase.get(pitchType).getSpeed() : pitcherVelocity;
 
-        double hitProbability = TimeProbability + ((BATTER_POWER - pitcherStuff) + (BATTER_ACCURACY - currentPitchSpeed)) * 0.005;
-        hitProbability = Math.max(0.05, Math.min(0.95, hitProbability));
-        
-        return random.nextDouble() < hitProbability;
+        return AtBatRules.resolveSwing(pitchRandom, count, timing, isStrike,
+                batter.getPower(), batter.getAccuracy(), pitcherStuff, currentPitchSpeed);
     }
 
     private void changePlayModePitcher() {
         if (!isPlayMode) return;
         currentPlayModePitcherIndex++;
         if (currentPlayModePitcherIndex < playModePitchers.size()) {
-            currentPitcher = playModePitchers.get(currentPlayModePitcherIndex);
-            loadPitcherPitchData(currentPitcher.getPid());
+            Pitcher nextPitcher = playModePitchers.get(currentPlayModePitcherIndex);
+            CompletableFuture<Map<String, TrajectoryData>> arsenal =
+                    nextArsenalPid == nextPitcher.getPid() && nextArsenal != null && !nextArsenal.isCompletedExceptionally()
+                            ? nextArsenal : asyncData.loadArsenal(nextPitcher.getPid());
+            switchToPitcher(nextPitcher, arsenal);
             resetAtBat();
         } else {
             showGameResult("Victory!");
@@ -807,7 +1219,10 @@ public class GamePanel extends JPanel {
     }
 
     private void showGameResult(String message) {
-        timer.stop();
+        gameLoop.stop();
+        pitchLog.flush();
+        pitchEvents.close();
+        reportSwingLatency();
         JOptionPane.showMessageDialog(this, message + "\nOuts: " + outs + "/" + MAX_OUTS + "\nHits: " + hits + "/" + TARGET_HITS, "Game Over", JOptionPane.INFORMATION_MESSAGE);
         Main.showStartScreen(mainFrame);
     }
@@ -843,7 +1258,10 @@ public class GamePanel extends JPanel {
     private class MenuAction extends GameAction {
         @Override
         public void actionPerformed(ActionEvent e) {
-            timer.stop();
+            gameLoop.stop();
+            pitchLog.flush();
+            pitchEvents.close();
+            reportSwingLatency();
             Main.showStartScreen(mainFrame);
         }
     }
@@ -859,7 +1277,10 @@ public class GamePanel extends JPanel {
         @Override
         public void actionPerformed(ActionEvent e) {
             if (!isHittingMode && !isPlayMode) {
-                timer.stop();
+                gameLoop.stop();
+                pitchLog.flush();
+                pitchEvents.close();
+                reportSwingLatency();
                 Main.showPitchSelectionScreen(mainFrame, false);
             }
         }
@@ -870,8 +1291,28 @@ public class GamePanel extends JPanel {
         public void actionPerformed(ActionEvent e) {
              if ((isHittingMode || isPlayMode) && hitResult != null ) {
                 resetPitch();
-                if (isHittingMode || isPlayMode) { countdown = 180; }
+                if (isHittingMode || isPlayMode) { countdown = PITCH_COUNTDOWN_SECONDS; }
             }
         }
     }
-}
\ No newline at end of file
+
+    // Cycles catcher, batter and side views; the cached scene is redrawn from the new viewpoint
+    private class CameraAction extends GameAction {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            camera.setView(camera.getView().next());
+            sceneLayer.invalidate();
+            updateAimPosition();
+            repaint();
+        }
+    }
+
+    private class PerfOverlayAction extends GameAction {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            showPerfOverlay = !showPerfOverlay;
+            perfFrameText = null; // Rebuilt with the next frame
+            repaint(perfOverlayX(), perfOverlayY(), PERF_OVERLAY_WIDTH, PERF_OVERLAY_HEIGHT);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,470 @@
+import data.PitchCatalog;
+import perf.FrameStats;
+import sim.Arsenal;
+import sim.AtBatRules;
+import sim.BattingSession;
+import sim.FixedStepClock;
+import sim.MatchupMatrix;
+import sim.PitchOutcome;
+import sim.SwingTiming;
+import sim.Trajectory;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hosts batting sessions for many clients from one JVM over a line-based TCP protocol. One selector thread accepts
+ * connections and reads commands; each session belongs to one of a few tick shards, which run at TICK_HZ on a
+ * scheduled pool, apply the commands that arrived, advance their sessions and write the replies without blocking.
+ * Every session has its own pitchers, count, Play Mode score and random stream; the arsenals, and the MatchupMatrix
+ * of the selected batter (-Dgame.batter) against them, are built once and shared.
+ *
+ * Client to server, one command per line:
+ *   START PLAY [seed]           Play Mode against PLAY_MODE_TARGET_HITS random pitchers
+ *   START PRACTICE [pid] [seed] Batting practice against one pitcher (random when pid is 0 or missing)
+ *   SWING [t]                   Swing; t is seconds after release as the client saw it, now when left out
+ *   NEXT                        Start the countdown to the next pitch after a result
+ *   QUIT
+ * Server to client:
+ *   SESSION <PLAY|PRACTICE> <seed>
+ *   PITCHER <pid> <name>
+ *   TELL
+ *   PITCH <n> <type> <mph> <plate time s>
+ *   RESULT <outcome> <timing or TAKEN> <balls> <strikes> <hits> <outs>
+ *   GAMEOVER <VICTORY|DEFEAT> <hits> <outs>
+ *   ERROR <message>
+ *
+ * Usage: GameServer [port] [tick threads]; -Dpitch.physics=spin uses the drag/Magnus model
+ */
+public class GameServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 7070;
+    public static final int TICK_HZ = 60;
+    private static final int MAX_STEPS_PER_TICK = 6; // Longer stalls are dropped, as in the game loop
+    private static final int MAX_LINE_BYTES = 128;
+    private static final int OUTPUT_BUFFER_BYTES = 8 * 1024; // A client this far behind on reading is disconnected
+    private static final long STATS_INTERVAL_S = 10;
+
+    private final List<Arsenal> arsenals;
+    private final MatchupMatrix matchups; // Row 0 is the batter; pitcher rows follow arsenals
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final Thread ioThread;
+    private final ScheduledExecutorService scheduler;
+    private final Shard[] shards;
+    private final AtomicInteger nextShard = new AtomicInteger();
+    private final AtomicInteger clients = new AtomicInteger();
+    private volatile boolean running = true;
+    private String lastIoError; // Selector thread only
+
+    // Ticks across all shards, as last published by each shard about once a second
+    public static final class Stats {
+        public final int clients;
+        public final long ticks, missedTicks;
+        public final double tickP99Millis, workP99Millis, workMaxMillis;
+
+        Stats(int clients, long ticks, long missedTicks, double tickP99Millis, double workP99Millis, double workMaxMillis) {
+            this.clients = clients;
+            this.ticks = ticks;
+            this.missedTicks = missedTicks;
+            this.tickP99Millis = tickP99Millis;
+            this.workP99Millis = workP99Millis;
+            this.workMaxMillis = workMaxMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d clients, %d ticks, %d missed, tick interval p99 %.1f ms, work p99 %.2f ms, max %.2f ms",
+                    clients, ticks, missedTicks, tickP99Millis, workP99Millis, workMaxMillis);
+        }
+    }
+
+    public GameServer(PitchCatalog catalog, int port, int tickThreads) throws IOException {
+        List<Arsenal> loaded = Arsenal.fromCatalog(catalog);
+        if (loaded.isEmpty()) {
+            throw new IllegalArgumentException("No pitchers with pitch data in the catalog");
+        }
+        this.arsenals = Collections.unmodifiableList(loaded);
+        this.matchups = new MatchupMatrix(List.of(AtBatRules.selectedBatter(catalog)), arsenals);
+
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress("localhost", port));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        shards = new Shard[Math.max(1, tickThreads)];
+        AtomicInteger threadNo = new AtomicInteger();
+        scheduler = Executors.newScheduledThreadPool(shards.length, r -> {
+            Thread thread = new Thread(r, "game-server-tick-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodNanos = 1_000_000_000L / TICK_HZ;
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+            scheduler.scheduleAtFixedRate(shards[i]::tick, 0, periodNanos, TimeUnit.NANOSECONDS);
+        }
+
+        ioThread = new Thread(this::serve, "game-server-io");
+        ioThread.setDaemon(true);
+        ioThread.start();
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    public int getClientCount() { return clients.get(); }
+
+    public Stats getStats() {
+        long ticks = 0, missed = 0;
+        double tickP99 = 0, workP99 = 0, workMax = 0;
+        for (Shard shard : shards) {
+            ticks += shard.ticks;
+            missed += shard.missedTicks;
+            tickP99 = Math.max(tickP99, shard.tickP99Millis);
+            workP99 = Math.max(workP99, shard.workP99Millis);
+            workMax = Math.max(workMax, shard.workMaxMillis);
+        }
+        return new Stats(clients.get(), ticks, missed, tickP99, workP99, workMax);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        scheduler.shutdownNow();
+        selector.wakeup();
+        try {
+            ioThread.join(1_000);
+            serverChannel.close();
+            selector.close();
+        } catch (IOException e) {
+            System.err.println("Error closing game server: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Shard shard : shards) {
+            for (Client client : shard.clients) client.close();
+            for (Client client : shard.added) client.close();
+        }
+    }
+
+    // Selector thread: accepts clients, hands each to a shard and queues the lines they send
+    private void serve() {
+        while (running) {
+            try {
+                selector.select();
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.isReadable() && !((Client) key.attachment()).read()) {
+                        key.cancel(); // The shard closes the channel on its next tick
+                    }
+                }
+                selector.selectedKeys().clear();
+            } catch (IOException e) {
+                // Accept keeps failing while out of file descriptors; say so once rather than every select
+                if (running && !String.valueOf(e.getMessage()).equals(lastIoError)) {
+                    System.err.println("Game server I/O error: " + e.getMessage());
+                }
+                lastIoError = e.getMessage();
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Shard shard = shards[Math.floorMod(nextShard.getAndIncrement(), shards.length)];
+            Client client = new Client(channel);
+            channel.register(selector, SelectionKey.OP_READ, client);
+            clients.incrementAndGet();
+            shard.added.add(client);
+        }
+    }
+
+    // A group of clients ticked together by one scheduled task, so each client is only ever touched by one thread at a time
+    private final class Shard {
+        final ConcurrentLinkedQueue<Client> added = new ConcurrentLinkedQueue<>();
+        final List<Client> clients = new ArrayList<>();
+        final FixedStepClock clock = new FixedStepClock(1.0 / TICK_HZ, MAX_STEPS_PER_TICK);
+        final FrameStats stats = new FrameStats(TICK_HZ); // Its paint times are the shard's work per tick
+
+        volatile long ticks, missedTicks;
+        volatile double tickP99Millis, workP99Millis, workMaxMillis;
+
+        void tick() {
+            try {
+                long now = System.nanoTime();
+                int missed = stats.frame(now);
+                int steps = clock.advance(now);
+                Client joined;
+                while ((joined = added.poll()) != null) {
+                    clients.add(joined);
+                }
+                for (int i = clients.size() - 1; i >= 0; i--) {
+                    Client client = clients.get(i);
+                    if (!client.update(steps, clock.getStepSeconds())) {
+                        client.close();
+                        clients.set(i, clients.get(clients.size() - 1));
+                        clients.remove(clients.size() - 1);
+                    }
+                }
+                stats.paint(System.nanoTime() - now);
+                ticks++;
+                missedTicks += missed;
+                if (ticks % TICK_HZ == 0) {
+                    stats.summarize();
+                    tickP99Millis = stats.getIntervalP99();
+                    workP99Millis = stats.getPaintP99();
+                    workMaxMillis = stats.getPaintMax();
+                }
+            } catch (RuntimeException e) {
+                // An exception would cancel the scheduled task and freeze every session of the shard
+                System.err.println("Game server tick failed: " + e);
+            }
+        }
+    }
+
+    // One connection and its session; read() runs on the selector thread, everything else on the owning shard's
+    private final class Client implements BattingSession.Listener {
+        private final SocketChannel channel;
+        // The session's own: it reads the pitch's plate time and path until the swing is judged
+        private final Trajectory trajectory = Trajectory.Model.selected().create();
+        private final ByteBuffer in = ByteBuffer.allocate(MAX_LINE_BYTES);
+        private final ConcurrentLinkedQueue<String> commands = new ConcurrentLinkedQueue<>();
+        private final ByteBuffer out = ByteBuffer.allocate(OUTPUT_BUFFER_BYTES);
+        private final StringBuilder line = new StringBuilder(64);
+        private volatile boolean closed;
+        private BattingSession session;
+        private boolean overflowed;
+
+        Client(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        // Queues every complete line that arrived; false once the client has hung up
+        boolean read() {
+            try {
+                if (channel.read(in) < 0) {
+                    closed = true;
+                    return false;
+                }
+            } catch (IOException e) {
+                closed = true;
+                return false;
+            }
+            in.flip();
+            int start = 0;
+            for (int i = 0; i < in.limit(); i++) {
+                if (in.get(i) == '\n') {
+                    commands.add(ascii(in, start, i));
+                    start = i + 1;
+                }
+            }
+            in.position(start);
+            in.compact();
+            if (!in.hasRemaining()) {
+                commands.add("QUIT"); // A line longer than MAX_LINE_BYTES is not a client speaking this protocol
+                in.clear();
+            }
+            return true;
+        }
+
+        // Applies queued commands, advances the session and sends what it said; false once the client is gone
+        boolean update(int steps, double dt) {
+            String command;
+            while (!closed && (command = commands.poll()) != null) {
+                handle(command.trim());
+            }
+            if (session != null) {
+                for (int i = 0; i < steps && session.getPhase() != BattingSession.Phase.GAME_OVER; i++) {
+                    session.tick(dt);
+                }
+            }
+            flush();
+            return !closed && !overflowed;
+        }
+
+        private void handle(String command) {
+            String[] words = command.split("\\s+");
+            try {
+                switch (words[0].toUpperCase(Locale.ROOT)) {
+                    case "START":
+                        start(words);
+                        break;
+                    case "SWING":
+                        double t = words.length > 1 ? Double.parseDouble(words[1]) : Double.NaN;
+                        if (session == null || !session.swing(t)) send("ERROR nothing to swing at");
+                        break;
+                    case "NEXT":
+                        if (session == null || !session.next()) send("ERROR no result yet");
+                        break;
+                    case "QUIT":
+                        closed = true;
+                        break;
+                    case "":
+                        break;
+                    default:
+                        send("ERROR unknown command " + words[0]);
+                }
+            } catch (NumberFormatException e) {
+                send("ERROR bad number in: " + command);
+            }
+        }
+
+        private void start(String[] words) {
+            boolean play = words.length > 1 && words[1].equalsIgnoreCase("PLAY");
+            if (!play && !(words.length > 1 && words[1].equalsIgnoreCase("PRACTICE"))) {
+                send("ERROR usage: START PLAY [seed] | START PRACTICE [pid] [seed]");
+                return;
+            }
+            int seedIndex = play ? 2 : 3;
+            long seed = words.length > seedIndex ? Long.parseLong(words[seedIndex]) : ThreadLocalRandom.current().nextLong();
+            SplittableRandom random = new SplittableRandom(seed);
+            int[] pitchers;
+            if (play) {
+                if (arsenals.size() < AtBatRules.PLAY_MODE_TARGET_HITS) {
+                    send("ERROR not enough pitchers for Play Mode");
+                    return;
+                }
+                List<Integer> shuffled = new ArrayList<>(arsenals.size());
+                for (int i = 0; i < arsenals.size(); i++) shuffled.add(i);
+                Collections.shuffle(shuffled, new Random(random.nextLong()));
+                pitchers = new int[AtBatRules.PLAY_MODE_TARGET_HITS];
+                for (int i = 0; i < pitchers.length; i++) pitchers[i] = shuffled.get(i);
+            } else {
+                int pid = words.length > 2 ? Integer.parseInt(words[2]) : 0;
+                int row = pid == 0 ? random.nextInt(arsenals.size()) : find(pid);
+                if (row < 0) {
+                    send("ERROR no pitch data for pitcher " + pid);
+                    return;
+                }
+                pitchers = new int[] { row };
+            }
+            send((play ? "SESSION PLAY " : "SESSION PRACTICE ") + seed);
+            session = new BattingSession(arsenals, matchups, pitchers, play, random, trajectory, this);
+        }
+
+        @Override
+        public void pitcher(Arsenal arsenal) {
+            line.append("PITCHER ").append(arsenal.getPitcher().getPid()).append(' ').append(arsenal.getPitcher().getPname());
+            endLine();
+        }
+
+        @Override
+        public void tell() {
+            line.append("TELL");
+            endLine();
+        }
+
+        @Override
+        public void pitch(int pitchNo, String pitchType, double speedMph, double plateTime) {
+            line.append("PITCH ").append(pitchNo).append(' ').append(pitchType).append(' ').append(speedMph)
+                    .append(' ').append(Math.round(plateTime * 1e4) / 1e4);
+            endLine();
+        }
+
+        @Override
+        public void result(PitchOutcome outcome, SwingTiming timing, int balls, int strikes, int hits, int outs) {
+            line.append("RESULT ").append(outcome.name()).append(' ').append(timing != null ? timing.name() : "TAKEN")
+                    .append(' ').append(balls).append(' ').append(strikes).append(' ').append(hits).append(' ').append(outs);
+            endLine();
+        }
+
+        @Override
+        public void gameOver(boolean victory, int hits, int outs) {
+            line.append("GAMEOVER ").append(victory ? "VICTORY " : "DEFEAT ").append(hits).append(' ').append(outs);
+            endLine();
+        }
+
+        private void send(String text) {
+            line.append(text);
+            endLine();
+        }
+
+        // Moves the line into the output buffer; a client that lets it fill up is dropped rather than waited for
+        private void endLine() {
+            line.append('\n');
+            if (out.remaining() < line.length()) {
+                overflowed = true;
+            } else {
+                for (int i = 0; i < line.length(); i++) {
+                    char c = line.charAt(i);
+                    out.put((byte) (c < 128 ? c : '?'));
+                }
+            }
+            line.setLength(0);
+        }
+
+        private void flush() {
+            if (out.position() == 0 || closed) return;
+            out.flip();
+            try {
+                channel.write(out);
+            } catch (IOException e) {
+                closed = true;
+            }
+            out.compact();
+        }
+
+        void close() {
+            if (!channel.isOpen()) return;
+            closed = true;
+            clients.decrementAndGet();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Nothing left to tell the client
+            }
+        }
+    }
+
+    // Row of the pitcher in arsenals, or -1
+    private int find(int pid) {
+        for (int i = 0; i < arsenals.size(); i++) {
+            if (arsenals.get(i).getPitcher().getPid() == pid) return i;
+        }
+        return -1;
+    }
+
+    private static String ascii(ByteBuffer buffer, int from, int to) {
+        char[] chars = new char[to - from];
+        for (int i = from; i < to; i++) {
+            chars[i - from] = (char) (buffer.get(i) & 0x7f);
+        }
+        return new String(chars);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        PitchCatalog catalog = PitchRepository.getShared().loadCatalog();
+        try (GameServer server = new GameServer(catalog, port, threads)) {
+            System.out.println("Game server on localhost:" + server.getPort() + " with " + threads + " tick threads at " + TICK_HZ + " Hz");
+            while (true) {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(STATS_INTERVAL_S));
+                System.out.println(server.getStats());
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+import data.PitchCatalog;
+import sim.Arsenal;
+import sim.BatterModel;
+import sim.MonteCarloEngine;
+import sim.SimulationReport;
+import sim.Trajectory;
+import java.util.List;
+
+// Usage: HeadlessSimulator [plate appearances per pitcher] [seed] [threads]; -Dpitch.physics=spin uses the drag/Magnus model
+public class HeadlessSimulator {
+    public static void main(String[] args) {
+        long plateAppearances = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        PitchCatalog catalog = PitchRepository.getShared().loadCatalog();
+        List<Arsenal> arsenals = Arsenal.fromCatalog(catalog);
+        if (arsenals.isEmpty()) {
+            System.err.println("No pitchers to simulate.");
+            return;
+        }
+
+        MonteCarloEngine engine = new MonteCarloEngine(threads, BatterModel.defaultModel(), Trajectory.Model.selected());
+        try {
+            SimulationReport report = engine.run(arsenals, plateAppearances, seed);
+            report.print(System.out);
+        } finally {
+            engine.shutdown();
+        }
+    }
+}
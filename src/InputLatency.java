@@ -0,0 +1,55 @@
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Time from an input event's timestamp to the moment the game judged it, kept as a 1 ms histogram so recording
+ * never allocates. AWT stamps events in whole milliseconds, so values are good to about a millisecond.
+ */
+public class InputLatency {
+    private static final int BUCKETS = 1_000; // 1 ms each; slower judgments land in the last one
+
+    private final long[] histogram = new long[BUCKETS];
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+    private long lastNanos;
+
+    public void record(long nanos) {
+        nanos = Math.max(0, nanos);
+        histogram[(int) Math.min(BUCKETS - 1, nanos / 1_000_000)]++;
+        count++;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+        lastNanos = nanos;
+    }
+
+    public long getCount() { return count; }
+
+    public double getLastMillis() { return lastNanos / 1e6; }
+
+    public double getMeanMillis() { return count == 0 ? 0 : totalNanos / 1e6 / count; }
+
+    public double getMaxMillis() { return maxNanos / 1e6; }
+
+    // Upper edge of the bucket holding the given percentile (0-100), in whole milliseconds
+    public int percentileMillis(double percentile) {
+        long rank = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += histogram[i];
+            if (seen >= rank && seen > 0) return i + 1;
+        }
+        return BUCKETS;
+    }
+
+    public void reset() {
+        Arrays.fill(histogram, 0);
+        count = totalNanos = maxNanos = lastNanos = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d events, mean %.1f ms, p50 <%d ms, p95 <%d ms, max %.1f ms",
+                count, getMeanMillis(), percentileMillis(50), percentileMillis(95), getMaxMillis());
+    }
+}
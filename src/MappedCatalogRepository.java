@@ -0,0 +1,305 @@
+import data.Batter;
+import data.PitchCatalog;
+import data.Pitcher;
+import data.TrajectoryData;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only pitch catalog served from a memory-mapped file, so the game and the simulator run without a MySQL server.
+ * The file is written by CatalogImporter. Layout (big-endian):
+ *
+ *   header      magic "PCAT", version, pitcher count, ball type count, trajectory count, batter count
+ *   pitchers    sorted by PID: pid, tid, name, year, lr, stuff, velocity, ptype, first trajectory, trajectory count
+ *   ball types  sorted by BID: bid, name
+ *   trajectories grouped by PID, in BID order: pid, bid, then usep, hmov, vmov, rex, rey, speed, spin rate,
+ *               spin axis as doubles
+ *   batters     sorted by BATID: batid, name, power, accuracy
+ *   strings     u16 length + UTF-8 bytes; records hold their offset into this section
+ *
+ * Lookups binary-search the fixed-width pitcher records and read fields in place; nothing is parsed up front.
+ */
+public class MappedCatalogRepository implements PitchRepository {
+    private static final int MAGIC = 0x50434154; // "PCAT"
+    private static final int VERSION = 3; // 2 added spin rate and axis, 3 batters
+    private static final int HEADER_BYTES = 6 * Integer.BYTES;
+    private static final int PITCHER_BYTES = 10 * Integer.BYTES;
+    private static final int BALL_TYPE_BYTES = 2 * Integer.BYTES;
+    private static final int TRAJECTORY_BYTES = 2 * Integer.BYTES + 8 * Double.BYTES;
+    private static final int BATTER_BYTES = 4 * Integer.BYTES;
+
+    private final Path file;
+    private volatile Mapped mapped;
+    private volatile String lastError;
+
+    // Section offsets of one mapping; the buffer is only read with absolute gets, so it is safe to share
+    private static final class Mapped {
+        final ByteBuffer buffer;
+        final int pitcherCount, ballTypeCount, trajectoryCount, batterCount;
+        final int pitchersAt, ballTypesAt, trajectoriesAt, battersAt, stringsAt;
+
+        Mapped(ByteBuffer buffer) throws IOException {
+            this.buffer = buffer;
+            if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+                throw new IOException("not a pitch catalog file");
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("unsupported catalog version " + buffer.getInt(4) + ", rebuild it with CatalogImporter");
+            }
+            pitcherCount = buffer.getInt(8);
+            ballTypeCount = buffer.getInt(12);
+            trajectoryCount = buffer.getInt(16);
+            batterCount = buffer.getInt(20);
+            pitchersAt = HEADER_BYTES;
+            ballTypesAt = pitchersAt + pitcherCount * PITCHER_BYTES;
+            trajectoriesAt = ballTypesAt + ballTypeCount * BALL_TYPE_BYTES;
+            battersAt = trajectoriesAt + trajectoryCount * TRAJECTORY_BYTES;
+            stringsAt = battersAt + batterCount * BATTER_BYTES;
+            if (stringsAt > buffer.limit()) {
+                throw new IOException("catalog file is truncated");
+            }
+        }
+    }
+
+    public MappedCatalogRepository(Path file) {
+        this.file = file;
+    }
+
+    // Maps the file on first use; a missing or corrupt file is retried on the next call
+    private Mapped map() {
+        Mapped current = mapped;
+        if (current != null) return current;
+        synchronized (this) {
+            if (mapped == null) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    buffer.order(ByteOrder.BIG_ENDIAN);
+                    mapped = new Mapped(buffer);
+                    lastError = null;
+                } catch (IOException e) {
+                    lastError = "Cannot read pitch catalog " + file + ": " + e.getMessage();
+                    System.err.println(lastError);
+                    return null;
+                }
+            }
+            return mapped;
+        }
+    }
+
+    @Override
+    public List<Pitcher> getAllPitchers() {
+        Mapped m = map();
+        if (m == null) return new ArrayList<>();
+        List<Pitcher> pitchers = new ArrayList<>(m.pitcherCount);
+        for (int i = 0; i < m.pitcherCount; i++) {
+            pitchers.add(readPitcher(m, m.pitchersAt + i * PITCHER_BYTES));
+        }
+        return pitchers;
+    }
+
+    @Override
+    public Map<String, TrajectoryData> getPitchDataForPitcher(int pitcherId) {
+        Map<String, TrajectoryData> pitchData = new LinkedHashMap<>();
+        Mapped m = map();
+        if (m == null) return pitchData;
+        int record = findPitcher(m, pitcherId);
+        if (record < 0) return pitchData;
+        int first = m.buffer.getInt(record + 32);
+        int count = m.buffer.getInt(record + 36);
+        for (int i = first; i < first + count; i++) {
+            int at = m.trajectoriesAt + i * TRAJECTORY_BYTES;
+            String bname = ballTypeName(m, m.buffer.getInt(at + 4));
+            if (bname != null) {
+                pitchData.put(bname, readTrajectory(m, at));
+            }
+        }
+        return pitchData;
+    }
+
+    @Override
+    public PitchCatalog loadCatalog() {
+        PitchCatalog.Builder builder = new PitchCatalog.Builder();
+        Mapped m = map();
+        if (m == null) return builder.build();
+        Map<Integer, String> ballTypes = new HashMap<>();
+        for (int i = 0; i < m.ballTypeCount; i++) {
+            int at = m.ballTypesAt + i * BALL_TYPE_BYTES;
+            int bid = m.buffer.getInt(at);
+            String bname = readString(m, m.buffer.getInt(at + 4));
+            ballTypes.put(bid, bname);
+            builder.addBallType(bid, bname);
+        }
+        for (int i = 0; i < m.pitcherCount; i++) {
+            int record = m.pitchersAt + i * PITCHER_BYTES;
+            builder.addPitcher(readPitcher(m, record));
+            int first = m.buffer.getInt(record + 32);
+            int count = m.buffer.getInt(record + 36);
+            for (int t = first; t < first + count; t++) {
+                int at = m.trajectoriesAt + t * TRAJECTORY_BYTES;
+                String bname = ballTypes.get(m.buffer.getInt(at + 4));
+                if (bname != null) {
+                    builder.addTrajectory(bname, readTrajectory(m, at));
+                }
+            }
+        }
+        for (int i = 0; i < m.batterCount; i++) {
+            int at = m.battersAt + i * BATTER_BYTES;
+            builder.addBatter(new Batter(m.buffer.getInt(at), readString(m, m.buffer.getInt(at + 4)),
+                    m.buffer.getInt(at + 8), m.buffer.getInt(at + 12)));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String getLastError() {
+        return lastError;
+    }
+
+    public Path getFile() { return file; }
+
+    private static int findPitcher(Mapped m, int pid) {
+        int low = 0, high = m.pitcherCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int at = m.pitchersAt + mid * PITCHER_BYTES;
+            int midPid = m.buffer.getInt(at);
+            if (midPid < pid) low = mid + 1;
+            else if (midPid > pid) high = mid - 1;
+            else return at;
+        }
+        return -1;
+    }
+
+    private static String ballTypeName(Mapped m, int bid) {
+        int low = 0, high = m.ballTypeCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int at = m.ballTypesAt + mid * BALL_TYPE_BYTES;
+            int midBid = m.buffer.getInt(at);
+            if (midBid < bid) low = mid + 1;
+            else if (midBid > bid) high = mid - 1;
+            else return readString(m, m.buffer.getInt(at + 4));
+        }
+        return null;
+    }
+
+    private static Pitcher readPitcher(Mapped m, int at) {
+        ByteBuffer b = m.buffer;
+        return new Pitcher(b.getInt(at), b.getInt(at + 4), readString(m, b.getInt(at + 8)), b.getInt(at + 12),
+                readString(m, b.getInt(at + 16)), b.getInt(at + 20), b.getInt(at + 24), b.getInt(at + 28));
+    }
+
+    private static TrajectoryData readTrajectory(Mapped m, int at) {
+        ByteBuffer b = m.buffer;
+        return new TrajectoryData(b.getInt(at), b.getInt(at + 4), b.getDouble(at + 8), b.getDouble(at + 16),
+                b.getDouble(at + 24), b.getDouble(at + 32), b.getDouble(at + 40), b.getDouble(at + 48),
+                b.getDouble(at + 56), b.getDouble(at + 64));
+    }
+
+    private static String readString(Mapped m, int offset) {
+        if (offset < 0) return null;
+        int at = m.stringsAt + offset;
+        byte[] bytes = new byte[m.buffer.getShort(at) & 0xFFFF];
+        m.buffer.get(at + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a catalog in the format above. The file is built next to the target and moved into place,
+     * so a running reader never sees a half-written catalog.
+     */
+    public static void write(PitchCatalog catalog, Path target) throws IOException {
+        List<Pitcher> pitchers = new ArrayList<>(catalog.getPitchers());
+        pitchers.sort((a, b) -> Integer.compare(a.getPid(), b.getPid()));
+        List<Integer> ballTypeIds = new ArrayList<>(catalog.getBallTypeNames().keySet());
+        Collections.sort(ballTypeIds);
+        List<Batter> batters = new ArrayList<>(catalog.getBatters());
+        batters.sort((a, b) -> Integer.compare(a.getBatid(), b.getBatid()));
+
+        StringTable strings = new StringTable();
+        int size = HEADER_BYTES + pitchers.size() * PITCHER_BYTES + ballTypeIds.size() * BALL_TYPE_BYTES
+                + catalog.getTrajectoryCount() * TRAJECTORY_BYTES + batters.size() * BATTER_BYTES;
+        ByteBuffer records = ByteBuffer.allocate(size);
+        records.putInt(MAGIC).putInt(VERSION).putInt(pitchers.size()).putInt(ballTypeIds.size())
+                .putInt(catalog.getTrajectoryCount()).putInt(batters.size());
+
+        List<TrajectoryData> trajectories = new ArrayList<>(catalog.getTrajectoryCount());
+        for (Pitcher pitcher : pitchers) {
+            List<TrajectoryData> arsenal = new ArrayList<>(catalog.getArsenal(pitcher.getPid()).values());
+            arsenal.sort((a, b) -> Integer.compare(a.getBid(), b.getBid()));
+            records.putInt(pitcher.getPid()).putInt(pitcher.getTid()).putInt(strings.offsetOf(pitcher.getPname()))
+                    .putInt(pitcher.getYear()).putInt(strings.offsetOf(pitcher.getLr())).putInt(pitcher.getStuff())
+                    .putInt(pitcher.getVelocity()).putInt(pitcher.getPtype())
+                    .putInt(trajectories.size()).putInt(arsenal.size());
+            trajectories.addAll(arsenal);
+        }
+        for (int bid : ballTypeIds) {
+            records.putInt(bid).putInt(strings.offsetOf(catalog.getBallTypeName(bid)));
+        }
+        for (TrajectoryData data : trajectories) {
+            records.putInt(data.getPid()).putInt(data.getBid()).putDouble(data.getUsep()).putDouble(data.getHmov())
+                    .putDouble(data.getVmov()).putDouble(data.getRex()).putDouble(data.getRey()).putDouble(data.getSpeed())
+                    .putDouble(data.getSpinRate()).putDouble(data.getSpinAxis());
+        }
+        for (Batter batter : batters) {
+            records.putInt(batter.getBatid()).putInt(strings.offsetOf(batter.getBatname())).putInt(batter.getPower())
+                    .putInt(batter.getAccuracy());
+        }
+        records.flip();
+
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer stringBytes = strings.toBuffer();
+            while (records.hasRemaining()) channel.write(records);
+            while (stringBytes.hasRemaining()) channel.write(stringBytes);
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Deduplicated string section; null is stored as offset -1
+    private static final class StringTable {
+        private final Map<String, Integer> offsets = new HashMap<>();
+        private final List<byte[]> entries = new ArrayList<>();
+        private int size;
+
+        int offsetOf(String value) {
+            if (value == null) return -1;
+            Integer offset = offsets.get(value);
+            if (offset != null) return offset;
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xFFFF) {
+                throw new IllegalArgumentException("string too long for catalog: " + value.substring(0, 32) + "...");
+            }
+            offsets.put(value, size);
+            entries.add(bytes);
+            int start = size;
+            size += 2 + bytes.length;
+            return start;
+        }
+
+        ByteBuffer toBuffer() {
+            ByteBuffer buffer = ByteBuffer.allocate(size);
+            for (byte[] bytes : entries) {
+                buffer.putShort((short) bytes.length).put(bytes);
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+import data.PitchCatalog;
+import data.Pitcher;
+import data.TrajectoryData;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache in front of a PitchRepository (MySQL or a catalog file) for the bulk-loaded catalog, the pitcher roster and per-PID arsenals.
+ * While a catalog is cached, roster and arsenal lookups are answered from it.
+ * Entries expire after a TTL, arsenals are evicted least-recently-used beyond a size bound,
+ * and anything can be invalidated explicitly after the tables change. Empty results are never
+ * cached, since repositories also return them when a query fails. A catalog load runs outside the lock, so roster
+ * and arsenal lookups go on meanwhile; callers that want the catalog while it loads wait for that one load.
+ * getCatalog and getPitchDataForPitcher throw instead of returning nothing, with the repository's error as read
+ * by the thread that queried it, so every caller of a shared load gets its cause.
+ */
+public class PitchDataCache {
+    private static final int DEFAULT_MAX_ARSENALS = 256;
+    private static final long DEFAULT_TTL_MS = 10 * 60_000;
+
+    private static PitchDataCache shared;
+
+    private final PitchRepository repository;
+    private final int maxArsenals;
+    private final long ttlMillis;
+
+    private PitchCatalog catalog;
+    private long catalogLoadedAt;
+    private CompletableFuture<PitchCatalog> catalogLoad; // The load in flight, if any
+    private long invalidations; // A load started before an invalidation is not cached
+    private List<Pitcher> roster;
+    private long rosterLoadedAt;
+    private final Map<Integer, Entry> arsenals;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private static class Entry {
+        final Map<String, TrajectoryData> pitchData;
+        final long loadedAt;
+
+        Entry(Map<String, TrajectoryData> pitchData, long loadedAt) {
+            this.pitchData = pitchData;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    public PitchDataCache(PitchRepository repository, int maxArsenals, long ttlMillis) {
+        this.repository = repository;
+        this.maxArsenals = maxArsenals;
+        this.ttlMillis = ttlMillis;
+        this.arsenals = new LinkedHashMap<Integer, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                if (size() > PitchDataCache.this.maxArsenals) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static synchronized PitchDataCache getShared() {
+        if (shared == null) {
+            shared = new PitchDataCache(PitchRepository.getShared(), DEFAULT_MAX_ARSENALS, DEFAULT_TTL_MS);
+        }
+        return shared;
+    }
+
+    public PitchCatalog getCatalog() {
+        CompletableFuture<PitchCatalog> load;
+        boolean waiting;
+        long now, generation;
+        synchronized (this) {
+            now = System.currentTimeMillis();
+            if (isCatalogFresh(now)) {
+                hits.incrementAndGet();
+                return catalog;
+            }
+            misses.incrementAndGet();
+            waiting = catalogLoad != null;
+            if (!waiting) catalogLoad = new CompletableFuture<>();
+            load = catalogLoad;
+            generation = invalidations;
+        }
+        if (waiting) {
+            try {
+                return load.join(); // Another thread is loading it
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        PitchCatalog loaded;
+        try {
+            loaded = repository.loadCatalog();
+            if (loaded.isEmpty()) {
+                throw new IllegalStateException(failureMessage("No pitchers found"));
+            }
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                if (catalogLoad == load) catalogLoad = null;
+            }
+            load.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (this) {
+            if (generation == invalidations) {
+                catalog = loaded;
+                catalogLoadedAt = now;
+            }
+            if (catalogLoad == load) catalogLoad = null;
+        }
+        load.complete(loaded);
+        return loaded;
+    }
+
+    private boolean isCatalogFresh(long now) {
+        return catalog != null && now - catalogLoadedAt < ttlMillis;
+    }
+
+    // Returns a fresh list each call, so callers may shuffle or trim it
+    public synchronized List<Pitcher> getAllPitchers() {
+        long now = System.currentTimeMillis();
+        if (isCatalogFresh(now)) {
+            hits.incrementAndGet();
+            return new ArrayList<>(catalog.getPitchers());
+        }
+        if (roster != null && now - rosterLoadedAt < ttlMillis) {
+            hits.incrementAndGet();
+            return new ArrayList<>(roster);
+        }
+        misses.incrementAndGet();
+        List<Pitcher> pitchers = repository.getAllPitchers();
+        if (!pitchers.isEmpty()) {
+            roster = new ArrayList<>(pitchers);
+            rosterLoadedAt = now;
+        }
+        return pitchers;
+    }
+
+    // The returned map is read-only and never empty
+    public synchronized Map<String, TrajectoryData> getPitchDataForPitcher(int pitcherId) {
+        long now = System.currentTimeMillis();
+        if (isCatalogFresh(now)) {
+            hits.incrementAndGet();
+            return catalog.getArsenal(pitcherId);
+        }
+        Entry entry = arsenals.get(pitcherId);
+        if (entry != null) {
+            if (now - entry.loadedAt < ttlMillis) {
+                hits.incrementAndGet();
+                return entry.pitchData;
+            }
+            arsenals.remove(pitcherId);
+            evictions.incrementAndGet();
+        }
+        misses.incrementAndGet();
+        Map<String, TrajectoryData> pitchData = Collections.unmodifiableMap(repository.getPitchDataForPitcher(pitcherId));
+        if (pitchData.isEmpty()) {
+            throw new IllegalStateException(failureMessage("No pitch data found for pitcher PID: " + pitcherId));
+        }
+        arsenals.put(pitcherId, new Entry(pitchData, now));
+        return pitchData;
+    }
+
+    // Called right after the repository query, on the same thread, so the error is that query's
+    private String failureMessage(String fallback) {
+        String lastError = repository.getLastError();
+        return lastError != null ? lastError : fallback;
+    }
+
+    public synchronized void invalidateRoster() {
+        catalog = null;
+        catalogLoad = null;
+        invalidations++;
+        roster = null;
+    }
+
+    public synchronized void invalidateArsenal(int pitcherId) {
+        catalog = null;
+        catalogLoad = null;
+        invalidations++;
+        arsenals.remove(pitcherId);
+    }
+
+    public synchronized void invalidateAll() {
+        catalog = null;
+        catalogLoad = null;
+        invalidations++;
+        roster = null;
+        arsenals.clear();
+    }
+
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getEvictions() { return evictions.get(); }
+
+    public synchronized String getStats() {
+        return String.format("hits=%d misses=%d evictions=%d catalog=%s arsenals=%d/%d roster=%s",
+                hits.get(), misses.get(), evictions.get(), catalog != null ? catalog.getPitcherCount() + " pitchers" : "empty",
+                arsenals.size(), maxArsenals, roster != null ? "cached" : "empty");
+    }
+}
@@ -0,0 +1,212 @@
+import sim.PitchRecord;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stores pitches and the plate appearances they end in PITCH_EVENT / PLATE_APPEARANCE without making the game wait
+ * on MySQL. Sessions put events on a bounded queue; one background thread takes them off in batches of up to
+ * BATCH_SIZE, or whatever arrived within FLUSH_INTERVAL_MS, and writes each batch in one transaction.
+ *
+ * When the queue is full, interactive sessions drop the event (the pitch log still has it) and bulk sessions wait
+ * for room, so a headless producer is held to the database's pace instead of piling up memory. Closing a session
+ * flushes what it queued without waiting for the write; whatever is still queued at exit is drained by a shutdown hook.
+ * Nothing is written when pitch data comes from a catalog file, or with -Dpitch.events=off.
+ */
+public class PitchEventWriter {
+    public static final String EVENTS_PROPERTY = "pitch.events";
+    private static final int QUEUE_CAPACITY = 16_384;
+    private static final int BATCH_SIZE = 500;
+    private static final long FLUSH_INTERVAL_MS = 1_000;
+    private static final long SHUTDOWN_DRAIN_MS = 5_000;
+
+    // Put on the queue to write the current batch without waiting for it to fill or time out
+    private static final Event FLUSH = new Event(0, 0, 0, 0, null);
+
+    private static PitchEventWriter shared;
+
+    // One queued pitch, numbered within its session
+    static final class Event {
+        final long sessionId;
+        final int pitchNo;
+        final int plateAppearanceNo; // 0 in pitching mode, which has no batter
+        final int plateAppearancePitches; // Pitches so far in the plate appearance, this one included
+        final PitchRecord record;
+
+        Event(long sessionId, int pitchNo, int plateAppearanceNo, int plateAppearancePitches, PitchRecord record) {
+            this.sessionId = sessionId;
+            this.pitchNo = pitchNo;
+            this.plateAppearanceNo = plateAppearanceNo;
+            this.plateAppearancePitches = plateAppearancePitches;
+            this.record = record;
+        }
+
+        boolean endsPlateAppearance() {
+            return plateAppearanceNo > 0 && record.getOutcome().endsPlateAppearance();
+        }
+    }
+
+    // The pitches of one game screen; used from a single thread
+    public final class Session implements AutoCloseable {
+        private final long id = ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE;
+        private final boolean waitWhenFull;
+        private int pitches;
+        private int plateAppearances;
+        private int plateAppearancePitches;
+
+        private Session(boolean waitWhenFull) {
+            this.waitWhenFull = waitWhenFull;
+        }
+
+        public void record(PitchRecord record) {
+            if (database == null) return;
+            pitches++;
+            int plateAppearanceNo = 0;
+            if (record.getMode() != PitchRecord.MODE_PITCHING) {
+                plateAppearanceNo = plateAppearances + 1;
+                plateAppearancePitches++;
+            }
+            Event event = new Event(id, pitches, plateAppearanceNo, plateAppearancePitches, record);
+            if (event.endsPlateAppearance()) {
+                plateAppearances++;
+                plateAppearancePitches = 0;
+            }
+            if (record.getPid() <= 0) {
+                return; // Fallback pitch thrown without pitch data: no PITCHER row for PITCH_EVENT.PID to reference
+            }
+            enqueue(event, waitWhenFull);
+        }
+
+        // Ends the session: what it queued is written now rather than at the next size or time flush
+        @Override
+        public void close() {
+            if (database != null) {
+                queue.offer(FLUSH); // A full queue is being written at full speed anyway
+            }
+        }
+
+        public long getId() { return id; }
+    }
+
+    private final DatabaseManager database; // null when persistence is off
+    private final ArrayBlockingQueue<Event> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile String lastError;
+
+    public static synchronized PitchEventWriter getShared() {
+        if (shared == null) {
+            PitchRepository repository = PitchRepository.getShared();
+            boolean enabled = !"off".equalsIgnoreCase(System.getProperty(EVENTS_PROPERTY))
+                    && repository instanceof DatabaseManager;
+            shared = new PitchEventWriter(enabled ? (DatabaseManager) repository : null);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> shared.shutdown(SHUTDOWN_DRAIN_MS), "pitch-event-drain"));
+        }
+        return shared;
+    }
+
+    // A null database gives a writer whose sessions discard everything
+    public PitchEventWriter(DatabaseManager database) {
+        this.database = database;
+        if (database == null) {
+            thread = null;
+            return;
+        }
+        thread = new Thread(this::run, "pitch-event-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Interactive callers never block; bulk producers pass true to wait for room instead of dropping
+    public Session openSession(boolean waitWhenFull) {
+        return new Session(waitWhenFull);
+    }
+
+    private void enqueue(Event event, boolean waitWhenFull) {
+        if (!waitWhenFull) {
+            if (!queue.offer(event)) dropped.incrementAndGet();
+            return;
+        }
+        try {
+            queue.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.incrementAndGet();
+        }
+    }
+
+    // Stops taking new batches once the queue is empty, waiting up to timeoutMillis for the remaining writes
+    public void shutdown(long timeoutMillis) {
+        if (thread == null) return;
+        running = false;
+        queue.offer(FLUSH);
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            System.err.println("Pitch events not written before exit: " + queue.size());
+        }
+    }
+
+    private void run() {
+        List<Event> batch = new ArrayList<>(BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                Event first = queue.poll(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MS);
+                Event next = first;
+                while (next != FLUSH) {
+                    batch.add(next);
+                    if (batch.size() >= BATCH_SIZE) break;
+                    next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Event> batch) {
+        try {
+            database.savePitchEvents(batch);
+            written.addAndGet(batch.size());
+            lastError = null;
+        } catch (SQLException | RuntimeException e) {
+            // The pitch log keeps every pitch, so a failed batch is dropped rather than retried without bound
+            failed.addAndGet(batch.size());
+            if (!Objects.equals(e.getMessage(), lastError)) {
+                System.err.println("Error saving " + batch.size() + " pitch events: " + e.getMessage());
+            }
+            lastError = e.getMessage();
+        }
+    }
+
+    public boolean isEnabled() { return database != null; }
+
+    public long getWrittenCount() { return written.get(); }
+
+    public long getDroppedCount() { return dropped.get(); }
+
+    public long getFailedCount() { return failed.get(); }
+
+    public int getQueuedCount() { return queue.size(); }
+
+    public String getLastError() { return lastError; }
+}
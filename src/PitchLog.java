@@ -0,0 +1,193 @@
+import sim.PitchOutcome;
+import sim.PitchRecord;
+import sim.Trajectory;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only binary log of every pitch the game resolves, read back by PitchReplay. Layout (big-endian):
+ *
+ *   header   magic "PLOG", version, record size
+ *   records  seed, wall-clock millis, pid, bid, mode, balls, strikes, outcome, then aim x/y/radius,
+ *            target x/y, plate x/y and swing time as doubles, then the trajectory model (0 = the default)
+ *
+ * Records are fixed-width, so a log can be indexed or tailed without parsing. They are collected in a direct buffer
+ * and written through a FileChannel when it fills, at the end of each plate appearance and on exit.
+ * The file is -Dpitch.log (pitch-log.bin by default); -Dpitch.log=off turns logging off.
+ */
+public class PitchLog {
+    public static final String LOG_FILE_PROPERTY = "pitch.log";
+    private static final String DEFAULT_FILE = "pitch-log.bin";
+    private static final int MAGIC = 0x504C4F47; // "PLOG"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 3 * Integer.BYTES;
+    static final int RECORD_BYTES = 2 * Long.BYTES + 2 * Integer.BYTES + 4 + 8 * Double.BYTES + Integer.BYTES; // 96
+    private static final int BUFFERED_RECORDS = 64;
+
+    private static PitchLog shared;
+
+    private final Path file;
+    private FileChannel channel; // null when logging is off or the file could not be opened
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFERED_RECORDS * RECORD_BYTES);
+    private long written;
+
+    public static synchronized PitchLog getShared() {
+        if (shared == null) {
+            String name = System.getProperty(LOG_FILE_PROPERTY, DEFAULT_FILE);
+            shared = new PitchLog("off".equalsIgnoreCase(name) ? null : Paths.get(name));
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::close, "pitch-log-flush"));
+        }
+        return shared;
+    }
+
+    // A null file gives a log that drops everything
+    public PitchLog(Path file) {
+        this.file = file;
+        if (file == null) return;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = channel.size();
+            if (size == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_BYTES).flip();
+                writeFully(header, 0);
+                size = HEADER_BYTES;
+            } else {
+                checkHeader(channel);
+                long whole = size - (size - HEADER_BYTES) % RECORD_BYTES;
+                if (whole != size) {
+                    channel.truncate(whole); // Drop a record cut short by a crash
+                    size = whole;
+                }
+            }
+            channel.position(size);
+        } catch (IOException e) {
+            System.err.println("Pitch log disabled, cannot open " + file + ": " + e.getMessage());
+            closeQuietly();
+        }
+    }
+
+    public synchronized void append(PitchRecord record) {
+        if (channel == null) return;
+        if (buffer.remaining() < RECORD_BYTES) {
+            flush();
+        }
+        buffer.putLong(record.getSeed())
+                .putLong(record.getTimeMillis())
+                .putInt(record.getPid())
+                .putInt(record.getBid())
+                .put((byte) record.getMode())
+                .put((byte) record.getBalls())
+                .put((byte) record.getStrikes())
+                .put((byte) record.getOutcome().ordinal())
+                .putDouble(record.getAimX())
+                .putDouble(record.getAimY())
+                .putDouble(record.getAimRadius())
+                .putDouble(record.getTargetX())
+                .putDouble(record.getTargetY())
+                .putDouble(record.getPlateX())
+                .putDouble(record.getPlateY())
+                .putDouble(record.getSwingTime())
+                .putInt(record.getPhysics().ordinal());
+    }
+
+    public synchronized void flush() {
+        if (channel == null || buffer.position() == 0) return;
+        buffer.flip();
+        try {
+            int bytes = buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            written += bytes / RECORD_BYTES;
+        } catch (IOException e) {
+            System.err.println("Pitch log disabled, write to " + file + " failed: " + e.getMessage());
+            closeQuietly();
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    public synchronized void close() {
+        flush();
+        closeQuietly();
+    }
+
+    // Records written to the file by this process
+    public synchronized long getWrittenCount() { return written; }
+
+    public Path getFile() { return file; }
+
+    public static List<PitchRecord> read(Path file) throws IOException {
+        List<PitchRecord> records = new ArrayList<>();
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            checkHeader(in);
+            PitchOutcome[] outcomes = PitchOutcome.values();
+            Trajectory.Model[] models = Trajectory.Model.values();
+            ByteBuffer chunk = ByteBuffer.allocateDirect(BUFFERED_RECORDS * RECORD_BYTES);
+            in.position(HEADER_BYTES);
+            while (in.read(chunk) > 0 || chunk.position() > 0) {
+                chunk.flip();
+                if (chunk.remaining() < RECORD_BYTES) break; // Trailing partial record
+                while (chunk.remaining() >= RECORD_BYTES) {
+                    long seed = chunk.getLong();
+                    long timeMillis = chunk.getLong();
+                    int pid = chunk.getInt();
+                    int bid = chunk.getInt();
+                    int mode = chunk.get();
+                    int balls = chunk.get();
+                    int strikes = chunk.get();
+                    int outcome = chunk.get();
+                    double aimX = chunk.getDouble(), aimY = chunk.getDouble(), aimRadius = chunk.getDouble();
+                    double targetX = chunk.getDouble(), targetY = chunk.getDouble();
+                    double plateX = chunk.getDouble(), plateY = chunk.getDouble();
+                    double swingTime = chunk.getDouble();
+                    int physics = chunk.getInt();
+                    if (outcome < 0 || outcome >= outcomes.length) {
+                        throw new IOException("corrupt record " + records.size() + ": outcome " + outcome);
+                    }
+                    if (physics < 0 || physics >= models.length) {
+                        throw new IOException("corrupt record " + records.size() + ": trajectory model " + physics);
+                    }
+                    records.add(new PitchRecord(seed, timeMillis, pid, bid, mode, balls, strikes, aimX, aimY, aimRadius,
+                            targetX, targetY, plateX, plateY, swingTime, outcomes[outcome], models[physics]));
+                }
+                chunk.compact();
+            }
+        }
+        return records;
+    }
+
+    private static void checkHeader(FileChannel in) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (header.hasRemaining() && in.read(header, header.position()) > 0) { }
+        header.flip();
+        if (header.remaining() < HEADER_BYTES || header.getInt(0) != MAGIC) {
+            throw new IOException("not a pitch log file");
+        }
+        if (header.getInt(4) != VERSION || header.getInt(8) != RECORD_BYTES) {
+            throw new IOException("unsupported pitch log version " + header.getInt(4));
+        }
+    }
+
+    private void writeFully(ByteBuffer bytes, long position) throws IOException {
+        while (bytes.hasRemaining()) {
+            position += channel.write(bytes, position);
+        }
+    }
+
+    private void closeQuietly() {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+        channel = null;
+    }
+}
@@ -0,0 +1,147 @@
+import data.Batter;
+import data.Pitcher;
+import data.TrajectoryData;
+import sim.AtBatCount;
+import sim.AtBatRules;
+import sim.PitchOutcome;
+import sim.PitchRecord;
+import sim.SwingTiming;
+import sim.Trajectory;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Re-runs every pitch in a pitch log from its seed and checks target, plate location and outcome against the record,
+ * bit for bit, each with the trajectory model it was thrown with. A log from a play session doubles as a regression
+ * test for the outcome logic.
+ *
+ * Usage: PitchReplay [--list] [log file]
+ * Pitch data comes from the same repository as the game (MySQL, or -Dpitch.catalog); pitches whose pitcher or
+ * ball type is no longer there are skipped. Swings are judged for the same batter as the game (-Dgame.batter).
+ * Exits with status 1 if any pitch replays differently.
+ */
+public class PitchReplay {
+    private static final String DEFAULT_LOG = "pitch-log.bin";
+    private static final int DEFAULT_PITCHER_STUFF = 50; // GamePanel's value when no pitcher is selected
+
+    public static void main(String[] args) throws IOException {
+        boolean list = args.length > 0 && args[0].equals("--list");
+        String logFile = args.length > (list ? 1 : 0) ? args[list ? 1 : 0] : DEFAULT_LOG;
+        List<PitchRecord> records = PitchLog.read(Paths.get(logFile));
+
+        PitchRepository repository = PitchRepository.getShared();
+        Map<Integer, Pitcher> pitchers = new HashMap<>();
+        for (Pitcher pitcher : repository.getAllPitchers()) {
+            pitchers.put(pitcher.getPid(), pitcher);
+        }
+        Map<Integer, Map<Integer, TrajectoryData>> arsenals = new HashMap<>();
+        Batter batter = AtBatRules.selectedBatter(repository.loadCatalog());
+
+        Trajectory.Model[] models = Trajectory.Model.values();
+        Trajectory[] trajectories = new Trajectory[models.length];
+        for (Trajectory.Model model : models) {
+            trajectories[model.ordinal()] = model.create();
+        }
+        int matched = 0, mismatched = 0, skipped = 0;
+        for (int i = 0; i < records.size(); i++) {
+            PitchRecord record = records.get(i);
+            if (list) {
+                System.out.println("#" + i + " " + record);
+            }
+            TrajectoryData data = arsenals.computeIfAbsent(record.getPid(), pid -> byBid(repository.getPitchDataForPitcher(pid)))
+                    .get(record.getBid());
+            if (data == null) {
+                skipped++;
+                continue;
+            }
+            Pitcher pitcher = pitchers.get(record.getPid());
+            PitchRecord replayed = replay(record, data, batter, pitcher != null ? pitcher.getStuff() : DEFAULT_PITCHER_STUFF,
+                    trajectories[record.getPhysics().ordinal()]);
+            String difference = difference(record, replayed);
+            if (difference == null) {
+                matched++;
+            } else {
+                mismatched++;
+                System.out.println("#" + i + " differs: " + difference);
+                System.out.println("    logged   " + record);
+                System.out.println("    replayed " + replayed);
+            }
+        }
+
+        System.out.printf("Replayed %d pitches from %s: %d matched, %d differed, %d skipped%n",
+                records.size(), logFile, matched, mismatched, skipped);
+        if (skipped > 0 && repository.getLastError() != null) {
+            System.out.println("Pitch data unavailable: " + repository.getLastError());
+        }
+        if (mismatched > 0) {
+            System.exit(1);
+        }
+    }
+
+    // GamePanel's pitch logic, driven by the logged seed, aim, count and swing time instead of the keyboard
+    static PitchRecord replay(PitchRecord record, TrajectoryData data, Batter batter, int pitcherStuff, Trajectory trajectory) {
+        SplittableRandom random = new SplittableRandom(record.getSeed());
+        double targetX, targetY;
+        if (record.getMode() == PitchRecord.MODE_PITCHING) {
+            double[] target = new double[2];
+            AtBatRules.scatterTarget(random, record.getAimX(), record.getAimY(), record.getAimRadius(), target);
+            targetX = target[0];
+            targetY = target[1];
+        } else {
+            boolean inZone = AtBatRules.aimsInZone(random);
+            targetX = AtBatRules.targetX(random, inZone);
+            targetY = AtBatRules.targetY(random, inZone);
+        }
+        trajectory.aim(data, targetX, targetY);
+        boolean isStrike = trajectory.isStrike();
+
+        PitchOutcome outcome;
+        if (record.getMode() == PitchRecord.MODE_PITCHING) {
+            outcome = isStrike ? PitchOutcome.CALLED_STRIKE : PitchOutcome.BALL;
+        } else {
+            AtBatCount count = new AtBatCount();
+            count.restore(record.getBalls(), record.getStrikes());
+            if (record.isSwing()) {
+                SwingTiming timing = SwingTiming.of(trajectory.progressAt(record.getSwingTime()));
+                outcome = AtBatRules.resolveSwing(random, count, timing, isStrike, batter.getPower(),
+                        batter.getAccuracy(), pitcherStuff, data.getSpeed());
+            } else {
+                outcome = count.recordTakenPitch(isStrike);
+            }
+        }
+        return new PitchRecord(record.getSeed(), record.getTimeMillis(), record.getPid(), record.getBid(), record.getMode(),
+                record.getBalls(), record.getStrikes(), record.getAimX(), record.getAimY(), record.getAimRadius(),
+                targetX, targetY, trajectory.getPlateX(), trajectory.getPlateY(), record.getSwingTime(), outcome,
+                trajectory.getModel());
+    }
+
+    // null when the replay matches the log exactly
+    private static String difference(PitchRecord logged, PitchRecord replayed) {
+        if (!same(logged.getTargetX(), replayed.getTargetX()) || !same(logged.getTargetY(), replayed.getTargetY())) {
+            return "target";
+        }
+        if (!same(logged.getPlateX(), replayed.getPlateX()) || !same(logged.getPlateY(), replayed.getPlateY())) {
+            return "plate location";
+        }
+        if (logged.getOutcome() != replayed.getOutcome()) {
+            return "outcome";
+        }
+        return null;
+    }
+
+    private static boolean same(double a, double b) {
+        return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+    }
+
+    private static Map<Integer, TrajectoryData> byBid(Map<String, TrajectoryData> pitchData) {
+        Map<Integer, TrajectoryData> byBid = new HashMap<>();
+        for (TrajectoryData data : pitchData.values()) {
+            byBid.put(data.getBid(), data);
+        }
+        return byBid;
+    }
+}
@@ -0,0 +1,46 @@
+import data.PitchCatalog;
+import data.Pitcher;
+import data.TrajectoryData;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Source of pitchers and their arsenals. DatabaseManager reads them from MySQL, MappedCatalogRepository from a
+ * catalog file written by CatalogImporter. Like DatabaseManager, implementations return empty results on failure
+ * and report the reason through getLastError(), read on the thread that made the call.
+ */
+public interface PitchRepository {
+    // System property (or PITCH_CATALOG environment variable) naming a catalog file; unset means MySQL
+    String CATALOG_FILE_PROPERTY = "pitch.catalog";
+    String CATALOG_FILE_ENV = "PITCH_CATALOG";
+
+    List<Pitcher> getAllPitchers();
+
+    Map<String, TrajectoryData> getPitchDataForPitcher(int pitcherId);
+
+    PitchCatalog loadCatalog();
+
+    String getLastError();
+
+    // The backend chosen at startup, shared by the cache and the headless tools
+    static PitchRepository getShared() {
+        return Shared.get();
+    }
+
+    final class Shared {
+        private static PitchRepository repository;
+
+        private Shared() { }
+
+        private static synchronized PitchRepository get() {
+            if (repository == null) {
+                String catalogFile = System.getProperty(CATALOG_FILE_PROPERTY, System.getenv(CATALOG_FILE_ENV));
+                repository = catalogFile != null && !catalogFile.isEmpty()
+                        ? new MappedCatalogRepository(Paths.get(catalogFile))
+                        : DatabaseManager.getShared();
+            }
+            return repository;
+        }
+    }
+}
@@ -5,16 +5,17 @@ import java.util.List;
 
 public class PitchSelectionPanel extends JPanel {
     private JFrame mainFrame;
-    private DatabaseManager dbManager;
     private JList<Pitcher> pitcherList;
     private DefaultListModel<Pitcher> listModel;
+    private JLabel statusLabel; // Loading / error message shown over the list
+    private JButton selectButton;
+    private JButton retryButton;
     private boolean isHittingModeSelection; // New variable to determine if it's pitcher selection for hitting mode
 
     // Modified constructor to receive isHittingModeSelection parameter
     public PitchSelectionPanel(JFrame frame, boolean isHittingModeSelection) {
         this.mainFrame = frame;
         this.isHittingModeSelection = isHittingModeSelection; // Initialize
-        this.dbManager = new DatabaseManager(); // Initialize database manager
         setLayout(new BorderLayout());
         setBackground(new Color(135, 206, 235));
 
@@ -43,10 +44,18 @@ public class PitchSelectionPanel extends JPanel {
 
         JScrollPane scrollPane = new JScrollPane(pitcherList);
         scrollPane.setPreferredSize(new Dimension(400, 300));
-        add(scrollPane, BorderLayout.CENTER);
+
+        statusLabel = new JLabel(" ");
+        statusLabel.setFont(new Font("Arial", Font.PLAIN, 18));
+        statusLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        JPanel centerPanel = new JPanel(new BorderLayout());
+        centerPanel.setOpaque(false);
+        centerPanel.add(statusLabel, BorderLayout.NORTH);
+        centerPanel.add(scrollPane, BorderLayout.CENTER);
+        add(centerPanel, BorderLayout.CENTER);
 
         // Select button
-        JButton selectButton = new JButton("choose this pitcher");
+        selectButton = new JButton("choose this pitcher");
         selectButton.setFont(new Font("Arial", Font.BOLD, 20));
         selectButton.addActionListener(e -> {
             Pitcher selectedPitcher = pitcherList.getSelectedValue();
@@ -66,6 +75,13 @@ public class PitchSelectionPanel extends JPanel {
         JPanel buttonPanel = new JPanel();
         buttonPanel.add(selectButton);
 
+        // Retry button, only shown after a failed load
+        retryButton = new JButton("retry");
+        retryButton.setFont(new Font("Arial", Font.BOLD, 20));
+        retryButton.addActionListener(e -> loadPitchers());
+        retryButton.setVisible(false);
+        buttonPanel.add(retryButton);
+
         // Back to menu button
         JButton backButton = new JButton("back to menu (M)");
         backButton.setFont(new Font("Arial", Font.BOLD, 20));
@@ -77,14 +93,32 @@ public class PitchSelectionPanel extends JPanel {
         loadPitchers(); // Load pitcher list
     }
 
+    // Loads the roster off the event thread; the list fills in when the query returns
     private void loadPitchers() {
         listModel.clear(); // Clear old data
-        List<Pitcher> pitchers = dbManager.getAllPitchers();
-        for (Pitcher p : pitchers) {
-            listModel.addElement(p);
-        }
+        statusLabel.setText("Loading pitchers...");
+        selectButton.setEnabled(false);
+        retryButton.setVisible(false);
+        AsyncPitchData.getShared().loadCatalog()
+                .thenAcceptAsync(catalog -> showPitchers(catalog.getPitchers()), AsyncPitchData.EDT)
+                .exceptionally(error -> {
+                    SwingUtilities.invokeLater(() -> showLoadError(AsyncPitchData.describe(error)));
+                    return null;
+                });
+    }
+
+    private void showPitchers(List<Pitcher> pitchers) {
+        listModel.addAll(pitchers); // One list event even for a large roster
         if (!pitchers.isEmpty()) {
             pitcherList.setSelectedIndex(0); // Select the first one by default
         }
+        statusLabel.setText(" ");
+        selectButton.setEnabled(true);
+    }
+
+    private void showLoadError(String message) {
+        statusLabel.setText("Could not load pitchers: " + message);
+        selectButton.setEnabled(false);
+        retryButton.setVisible(true);
     }
 }
\ No newline at end of file
@@ -1,4 +1,5 @@
 USE BASEBALLJAVAGAME; -- 確保你正在使用正確的資料庫
 SELECT * FROM BALLTYPE;
 SELECT * FROM PITCHER;
-SELECT * FROM TRAJECTORY;
\ No newline at end of file
+SELECT * FROM TRAJECTORY;
+SELECT * FROM BATTER;
\ No newline at end of file
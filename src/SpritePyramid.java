@@ -0,0 +1,64 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * One image pre-scaled to every integer size in [minSize, maxSize], so drawing it at a given size is a plain blit
+ * instead of a per-frame rescale of the full-size source. Sizes are built from a chain of halvings of the source,
+ * which keeps small sprites smooth where a single bilinear step from a large image would alias.
+ */
+public class SpritePyramid {
+    private final BufferedImage[] sprites;
+    private final int minSize;
+
+    SpritePyramid(BufferedImage source, int minSize, int maxSize, GraphicsConfiguration gc) {
+        this.minSize = minSize;
+        this.sprites = new BufferedImage[maxSize - minSize + 1];
+
+        BufferedImage level = source;
+        int index = sprites.length - 1;
+        while (index >= 0) {
+            int size = minSize + index;
+            int half = Math.max(level.getWidth(), level.getHeight()) / 2;
+            if (half >= size) {
+                level = scale(level, Math.max(1, level.getWidth() / 2), Math.max(1, level.getHeight() / 2), gc);
+                continue; // Halve until the next level would be smaller than this sprite
+            }
+            sprites[index--] = scale(level, size, size, gc);
+        }
+    }
+
+    // Draws the sprite centred on (centerX, centerY); sizes above the pyramid are scaled from its largest sprite
+    public void draw(Graphics2D g2d, int centerX, int centerY, int size) {
+        int left = centerX - size / 2;
+        int top = centerY - size / 2;
+        if (size < minSize) {
+            size = minSize;
+        }
+        int index = size - minSize;
+        if (index < sprites.length) {
+            g2d.drawImage(sprites[index], left, top, null);
+        } else {
+            g2d.drawImage(sprites[sprites.length - 1], left, top, size, size, null);
+        }
+    }
+
+    public int getMinSize() { return minSize; }
+
+    public int getMaxSize() { return minSize + sprites.length - 1; }
+
+    private static BufferedImage scale(BufferedImage source, int width, int height, GraphicsConfiguration gc) {
+        BufferedImage scaled = gc != null
+                ? gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2d = scaled.createGraphics();
+        try {
+            g2d.setComposite(AlphaComposite.Src);
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g2d.dispose();
+        }
+        return scaled;
+    }
+}
@@ -0,0 +1,199 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the tables and rows out of a SQL script such as CREATETABLE.sql or a mysqldump file.
+ * Only CREATE TABLE column lists and INSERT ... VALUES statements are understood; everything else is skipped.
+ * Table and column names are upper-cased; values are kept as strings (NULL becomes null).
+ */
+public class SqlSeedParser {
+
+    public static class Table {
+        private final String name;
+        private final List<String> columns = new ArrayList<>();
+        private final List<String[]> rows = new ArrayList<>();
+
+        Table(String name) { this.name = name; }
+
+        public String getName() { return name; }
+        public List<String> getColumns() { return columns; }
+        public List<String[]> getRows() { return rows; }
+
+        public int columnIndex(String column) {
+            return columns.indexOf(column.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    public static Map<String, Table> parse(Path script) throws IOException {
+        return parse(new String(Files.readAllBytes(script), StandardCharsets.UTF_8));
+    }
+
+    public static Map<String, Table> parse(String script) {
+        Map<String, Table> tables = new HashMap<>();
+        for (String statement : splitStatements(script)) {
+            String upper = statement.toUpperCase(Locale.ROOT);
+            if (upper.startsWith("CREATE TABLE")) {
+                parseCreateTable(statement, tables);
+            } else if (upper.startsWith("INSERT INTO")) {
+                parseInsert(statement, tables);
+            }
+        }
+        return tables;
+    }
+
+    // Split on semicolons outside quotes, dropping "--" and "#" line comments
+    private static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inQuote = false;
+        for (int i = 0; i < script.length(); i++) {
+            char c = script.charAt(i);
+            if (!inQuote && (c == '#' || (c == '-' && i + 1 < script.length() && script.charAt(i + 1) == '-'))) {
+                while (i < script.length() && script.charAt(i) != '\n') i++;
+                current.append('\n');
+                continue;
+            }
+            if (c == '\'') {
+                if (inQuote && i + 1 < script.length() && script.charAt(i + 1) == '\'') {
+                    current.append("''");
+                    i++;
+                    continue;
+                }
+                inQuote = !inQuote;
+            } else if (c == '\\' && inQuote && i + 1 < script.length()) {
+                current.append(c).append(script.charAt(++i));
+                continue;
+            }
+            if (c == ';' && !inQuote) {
+                addStatement(statements, current);
+            } else {
+                current.append(c);
+            }
+        }
+        addStatement(statements, current);
+        return statements;
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder current) {
+        String statement = current.toString().trim();
+        if (!statement.isEmpty()) statements.add(statement);
+        current.setLength(0);
+    }
+
+    private static void parseCreateTable(String statement, Map<String, Table> tables) {
+        int open = statement.indexOf('(');
+        int close = statement.lastIndexOf(')');
+        if (open < 0 || close < open) return;
+        String[] header = statement.substring(0, open).trim().split("\\s+");
+        Table table = new Table(unquote(header[header.length - 1]).toUpperCase(Locale.ROOT));
+        for (String definition : splitTopLevel(statement.substring(open + 1, close))) {
+            String first = definition.trim().split("\\s+")[0];
+            String keyword = first.toUpperCase(Locale.ROOT);
+            if (keyword.isEmpty() || keyword.equals("PRIMARY") || keyword.equals("KEY") || keyword.equals("UNIQUE")
+                    || keyword.equals("CONSTRAINT") || keyword.equals("FOREIGN") || keyword.equals("INDEX")) {
+                continue;
+            }
+            table.columns.add(unquote(first).toUpperCase(Locale.ROOT));
+        }
+        tables.put(table.name, table);
+    }
+
+    private static void parseInsert(String statement, Map<String, Table> tables) {
+        String upper = statement.toUpperCase(Locale.ROOT);
+        int valuesAt = upper.indexOf("VALUES");
+        if (valuesAt < 0) return;
+        String target = statement.substring("INSERT INTO".length(), valuesAt).trim();
+        int columnsAt = target.indexOf('(');
+        String tableName = unquote((columnsAt < 0 ? target : target.substring(0, columnsAt)).trim()).toUpperCase(Locale.ROOT);
+        Table table = tables.computeIfAbsent(tableName, Table::new);
+
+        // Map the statement's column order onto the table's column order
+        int[] order = null;
+        if (columnsAt >= 0) {
+            List<String> columns = splitTopLevel(target.substring(columnsAt + 1, target.lastIndexOf(')')));
+            order = new int[columns.size()];
+            for (int i = 0; i < columns.size(); i++) {
+                String column = unquote(columns.get(i).trim()).toUpperCase(Locale.ROOT);
+                if (!table.columns.contains(column)) table.columns.add(column);
+                order[i] = table.columns.indexOf(column);
+            }
+        }
+
+        String values = statement.substring(valuesAt + "VALUES".length());
+        int depth = 0;
+        int start = -1;
+        boolean inQuote = false;
+        for (int i = 0; i < values.length(); i++) {
+            char c = values.charAt(i);
+            if (inQuote) {
+                if (c == '\\') i++;
+                else if (c == '\'') {
+                    if (i + 1 < values.length() && values.charAt(i + 1) == '\'') i++;
+                    else inQuote = false;
+                }
+            } else if (c == '\'') {
+                inQuote = true;
+            } else if (c == '(') {
+                if (depth++ == 0) start = i + 1;
+            } else if (c == ')') {
+                if (--depth == 0) table.rows.add(toRow(splitTopLevel(values.substring(start, i)), order, table.columns.size()));
+            }
+        }
+    }
+
+    private static String[] toRow(List<String> values, int[] order, int width) {
+        String[] row = new String[Math.max(width, values.size())];
+        for (int i = 0; i < values.size(); i++) {
+            row[order != null ? order[i] : i] = literal(values.get(i).trim());
+        }
+        return row;
+    }
+
+    private static String literal(String value) {
+        if (value.equalsIgnoreCase("NULL")) return null;
+        if (value.length() >= 2 && value.charAt(0) == '\'' && value.charAt(value.length() - 1) == '\'') {
+            return value.substring(1, value.length() - 1).replace("''", "'").replace("\\'", "'").replace("\\\\", "\\");
+        }
+        return value;
+    }
+
+    // Split on commas that are not inside quotes or parentheses
+    private static List<String> splitTopLevel(String text) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        boolean inQuote = false;
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (inQuote) {
+                if (c == '\\') i++;
+                else if (c == '\'') {
+                    if (i + 1 < text.length() && text.charAt(i + 1) == '\'') i++;
+                    else inQuote = false;
+                }
+            } else if (c == '\'') {
+                inQuote = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                parts.add(text.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(text.substring(start));
+        return parts;
+    }
+
+    private static String unquote(String name) {
+        return name.replace("`", "").replace("\"", "");
+    }
+}
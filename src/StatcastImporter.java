@@ -0,0 +1,673 @@
+import data.Pitcher;
+import data.TrajectoryData;
+import sim.AtBatRules;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Imports pitch-level Statcast CSV exports (Baseball Savant search results, pybaseball's statcast()) into PITCHER,
+ * BALLTYPE and TRAJECTORY. The file is streamed in BLOCK_BYTES blocks that a fork-join pool parses and aggregates
+ * per pitcher and pitch type, so memory holds a few blocks and the aggregates, never the file.
+ *
+ * Per pitch type: USEP is its share of the pitcher's pitches, SPEED the mean release_speed, HMOV pfx_x in inches,
+ * VMOV pfx_z in inches less the gravity drop over the flight PitchTrajectory models (so it is total drop, like the
+ * seed data), REX/REY the mean release_pos_x/release_pos_z, SPINRATE and SPINAXIS the mean release_spin_rate and
+ * the circular mean of spin_axis. Pitchers are named from player_name, with LR from p_throws, YEAR the last
+ * game_year (two digits) and PTYPE the mean arm_angle when the export has it; a new pitcher gets STUFF and VELOCITY
+ * DEFAULT_RATING. Pitchouts, intentional balls and unknown pitch types are left out.
+ *
+ * Every CHECKPOINT_BYTES, and after each database batch, progress is saved next to the CSV; running the same
+ * command again after a failure resumes from there (--fresh starts over). With --dry-run nothing is written to
+ * the database and the result is printed as TRAJECTORY rows, numbered with CREATETABLE.sql's ball types.
+ *
+ * Usage: StatcastImporter <statcast.csv> [--dry-run] [--fresh] [--threads n]
+ */
+public class StatcastImporter {
+    private static final int BLOCK_BYTES = 4 << 20;
+    private static final long CHECKPOINT_BYTES = 256L << 20;
+    private static final int WRITE_BATCH_ROWS = 1_000;
+    private static final long PROGRESS_INTERVAL_NANOS = 2_000_000_000L;
+    static final int DEFAULT_RATING = 80;
+
+    private static final double[] POWERS_OF_TEN = { 1, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+            1e13, 1e14, 1e15 };
+
+    private static final int CHECKPOINT_MAGIC = 0x53544350; // "STCP"
+    private static final int CHECKPOINT_VERSION = 1;
+
+    // Statcast pitch_type codes to BALLTYPE names; codes not listed (EP, KN, ...) become ball types of their own
+    private static final Map<String, String> BALL_TYPES = Map.ofEntries(
+            Map.entry("FF", "4SEAMFAST"), Map.entry("SL", "SLIDER"), Map.entry("SV", "SLIDER"),
+            Map.entry("CU", "CURVE"), Map.entry("KC", "CURVE"), Map.entry("CS", "CURVE"),
+            Map.entry("CH", "CHANGE"), Map.entry("SC", "CHANGE"), Map.entry("SI", "SINKER"),
+            Map.entry("FS", "SPLIT"), Map.entry("FO", "SPLIT"), Map.entry("ST", "SWEEPER"), Map.entry("FC", "CUTTER"));
+    private static final List<String> SKIPPED_TYPES = List.of("", "PO", "IN", "AB", "FA", "UN");
+    // BIDs of CREATETABLE.sql, used by --dry-run
+    private static final List<String> SEED_BALL_TYPES =
+            List.of("4SEAMFAST", "SLIDER", "CURVE", "CHANGE", "SINKER", "SPLIT", "SWEEPER", "CUTTER");
+
+    // CSV columns read; the first REQUIRED_COLUMNS must be in the header
+    private static final String[] COLUMNS = { "pitcher", "pitch_type", "release_speed", "release_pos_x",
+            "release_pos_z", "pfx_x", "pfx_z", "player_name", "p_throws", "game_year", "release_spin_rate",
+            "spin_axis", "arm_angle" };
+    private static final int REQUIRED_COLUMNS = 7;
+    private static final int PITCHER = 0, PITCH_TYPE = 1, SPEED = 2, RELEASE_X = 3, RELEASE_Z = 4, PFX_X = 5,
+            PFX_Z = 6, NAME = 7, THROWS = 8, YEAR = 9, SPIN_RATE = 10, SPIN_AXIS = 11, ARM_ANGLE = 12;
+
+    // Sums for one pitch type of one pitcher; movement and release only over pitches that have all of them
+    static final class PitchStats {
+        long pitches, measured, spins, axes;
+        double speed, hmov, vmov, rex, rey, spinRate, axisSin, axisCos;
+
+        void merge(PitchStats other) {
+            pitches += other.pitches; measured += other.measured; spins += other.spins; axes += other.axes;
+            speed += other.speed; hmov += other.hmov; vmov += other.vmov; rex += other.rex; rey += other.rey;
+            spinRate += other.spinRate; axisSin += other.axisSin; axisCos += other.axisCos;
+        }
+    }
+
+    static final class PitcherStats {
+        String name = "", throwing = "";
+        int year;
+        long pitches, armAngles;
+        double armAngle;
+        final Map<String, PitchStats> types = new HashMap<>();
+
+        void merge(PitcherStats other) {
+            if (name.isEmpty()) name = other.name;
+            if (throwing.isEmpty()) throwing = other.throwing;
+            year = Math.max(year, other.year);
+            pitches += other.pitches;
+            armAngles += other.armAngles;
+            armAngle += other.armAngle;
+            for (Map.Entry<String, PitchStats> type : other.types.entrySet()) {
+                PitchStats stats = types.get(type.getKey());
+                if (stats == null) types.put(type.getKey(), type.getValue());
+                else stats.merge(type.getValue());
+            }
+        }
+    }
+
+    // Everything read so far; saved in the checkpoint
+    static final class Progress {
+        long offset, rows, skipped;
+        int writtenPitchers = -1; // Pitchers committed to the database, -1 while the file is still being read
+        final Map<Integer, PitcherStats> pitchers = new HashMap<>();
+
+        void merge(Map<Integer, PitcherStats> block) {
+            for (Map.Entry<Integer, PitcherStats> pitcher : block.entrySet()) {
+                PitcherStats stats = pitchers.get(pitcher.getKey());
+                if (stats == null) pitchers.put(pitcher.getKey(), pitcher.getValue());
+                else stats.merge(pitcher.getValue());
+            }
+        }
+    }
+
+    // Whole lines of the file, parsed on a pool thread
+    private static final class Block {
+        final byte[] data;
+        final int length;
+
+        Block(byte[] data, int length) {
+            this.data = data;
+            this.length = length;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path csv = null;
+        boolean dryRun = false, fresh = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--dry-run")) dryRun = true;
+            else if (args[i].equals("--fresh")) fresh = true;
+            else if (args[i].equals("--threads") && i + 1 < args.length) threads = Integer.parseInt(args[++i]);
+            else csv = Paths.get(args[i]);
+        }
+        if (csv == null) {
+            System.err.println("Usage: StatcastImporter <statcast.csv> [--dry-run] [--fresh] [--threads n]");
+            System.exit(1);
+        }
+
+        Path checkpoint = csv.resolveSibling(csv.getFileName() + ".checkpoint");
+        Progress progress = fresh ? null : readCheckpoint(checkpoint, csv);
+        if (progress == null) {
+            progress = new Progress();
+        } else {
+            System.out.printf("Resuming from %s: %,d rows, %,d bytes read%n", checkpoint, progress.rows, progress.offset);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            if (progress.writtenPitchers < 0) {
+                read(csv, progress, pool, checkpoint);
+                progress.writtenPitchers = 0;
+                writeCheckpoint(checkpoint, csv, progress);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        if (progress.pitchers.isEmpty()) {
+            // Every row skipped means no pitcher id could be read: most likely not a Statcast export
+            System.err.printf("No pitchers in %s (%,d rows, %,d skipped); nothing to import%n", csv, progress.rows,
+                    progress.skipped);
+            Files.deleteIfExists(checkpoint);
+            System.exit(1);
+        }
+
+        List<Integer> pids = new ArrayList<>(progress.pitchers.keySet());
+        pids.sort(null);
+        if (dryRun) {
+            printRows(progress, pids, Map.of()); // BIDs as they would be given in an empty BALLTYPE
+            Files.deleteIfExists(checkpoint);
+            return;
+        }
+        DatabaseManager dbManager = DatabaseManager.getShared();
+        try {
+            write(dbManager, progress, pids, checkpoint, csv);
+        } catch (SQLException e) {
+            System.err.println("Import failed after " + progress.writtenPitchers + " of " + pids.size() +
+                    " pitchers: " + e.getMessage() + ". Run again to resume.");
+            System.exit(1);
+        } finally {
+            dbManager.close();
+        }
+        Files.deleteIfExists(checkpoint);
+    }
+
+    // Streams the file from progress.offset, a round of up to two blocks per thread at a time
+    private static void read(Path csv, Progress progress, ForkJoinPool pool, Path checkpoint) throws Exception {
+        long start = System.nanoTime(), startRows = progress.rows, startOffset = progress.offset;
+        long lastReport = start, lastCheckpoint = progress.offset;
+        try (FileChannel channel = FileChannel.open(csv, StandardOpenOption.READ)) {
+            InputStream header = new BufferedInputStream(Channels.newInputStream(channel));
+            String headerLine = readLine(header);
+            if (headerLine == null) throw new IOException(csv + " is empty");
+            int[] columns = columnIndexes(headerLine);
+            long dataStart = headerLine.length() + 1; // One char per byte
+            if (progress.offset < dataStart) progress.offset = dataStart;
+            channel.position(progress.offset);
+            InputStream in = Channels.newInputStream(channel);
+
+            byte[] carry = new byte[0];
+            boolean done = false;
+            int roundBlocks = pool.getParallelism() * 2;
+            while (!done) {
+                List<Future<Map<Integer, PitcherStats>>> round = new ArrayList<>();
+                List<long[]> counts = new ArrayList<>();
+                long roundBytes = 0;
+                while (round.size() < roundBlocks) {
+                    byte[] data = Arrays.copyOf(carry, Math.max(BLOCK_BYTES, carry.length * 2));
+                    int length = carry.length;
+                    int read;
+                    while (length < data.length && (read = in.read(data, length, data.length - length)) > 0) {
+                        length += read;
+                    }
+                    if (length < data.length) done = true;
+                    int end = length;
+                    if (!done) {
+                        while (end > 0 && data[end - 1] != '\n') end--;
+                    }
+                    if (end == 0 && !done) {
+                        carry = Arrays.copyOf(data, length); // A line longer than the block; read on with a bigger one
+                        continue;
+                    }
+                    carry = Arrays.copyOfRange(data, end, length);
+                    roundBytes += end;
+                    Block block = new Block(data, end);
+                    long[] count = new long[2];
+                    counts.add(count);
+                    round.add(pool.submit(() -> parse(block, columns, count)));
+                    if (done) break;
+                }
+                for (int i = 0; i < round.size(); i++) {
+                    try {
+                        progress.merge(round.get(i).get());
+                    } catch (ExecutionException e) {
+                        throw new IOException("Failed to parse " + csv, e.getCause());
+                    }
+                    progress.rows += counts.get(i)[0];
+                    progress.skipped += counts.get(i)[1];
+                }
+                progress.offset += roundBytes;
+
+                long now = System.nanoTime();
+                if (progress.offset - lastCheckpoint >= CHECKPOINT_BYTES) {
+                    writeCheckpoint(checkpoint, csv, progress);
+                    lastCheckpoint = progress.offset;
+                }
+                if (now - lastReport >= PROGRESS_INTERVAL_NANOS || done) {
+                    double seconds = (now - start) / 1e9;
+                    System.out.printf(Locale.ROOT, "%,d rows (%,d skipped), %,.0f MB: %,.0f rows/s, %.1f MB/s%n",
+                            progress.rows, progress.skipped, progress.offset / 1e6,
+                            (progress.rows - startRows) / seconds, (progress.offset - startOffset) / 1e6 / seconds);
+                    lastReport = now;
+                }
+            }
+        }
+        System.out.printf("Read %,d pitchers%n", progress.pitchers.size());
+    }
+
+    // One line as ISO-8859-1, so its length is its size in bytes
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) >= 0 && c != '\n') line.append((char) c);
+        if (c < 0 && line.length() == 0) return null;
+        return line.toString();
+    }
+
+    // Position of each of COLUMNS in the header, -1 when missing
+    private static int[] columnIndexes(String header) throws IOException {
+        if (header.startsWith("\u00EF\u00BB\u00BF")) header = header.substring(3); // UTF-8 byte order mark
+        String[] names = header.replace("\r", "").replace("\"", "").split(",", -1);
+        int[] indexes = new int[COLUMNS.length];
+        Arrays.fill(indexes, -1);
+        for (int i = 0; i < names.length; i++) {
+            for (int c = 0; c < COLUMNS.length; c++) {
+                if (names[i].trim().equalsIgnoreCase(COLUMNS[c])) indexes[c] = i;
+            }
+        }
+        for (int c = 0; c < REQUIRED_COLUMNS; c++) {
+            if (indexes[c] < 0) throw new IOException("Missing column " + COLUMNS[c]);
+        }
+        return indexes;
+    }
+
+    // Aggregates one block; count receives rows read and rows skipped
+    static Map<Integer, PitcherStats> parse(Block block, int[] columns, long[] count) {
+        int maxColumn = 0;
+        for (int column : columns) maxColumn = Math.max(maxColumn, column);
+        int[] wanted = new int[maxColumn + 1]; // CSV column -> index into COLUMNS + 1
+        for (int c = 0; c < columns.length; c++) if (columns[c] >= 0) wanted[columns[c]] = c + 1;
+        int[] from = new int[COLUMNS.length], to = new int[COLUMNS.length];
+        Map<Integer, PitcherStats> pitchers = new HashMap<>();
+        byte[] data = block.data;
+
+        int line = 0;
+        while (line < block.length) {
+            int end = line;
+            while (end < block.length && data[end] != '\n') end++;
+            int next = end + 1;
+            if (end > line && data[end - 1] == '\r') end--;
+            if (end == line) {
+                line = next;
+                continue;
+            }
+            count[0]++;
+            Arrays.fill(from, 0);
+            Arrays.fill(to, 0);
+            int field = 0, start = line;
+            boolean quoted = false;
+            for (int i = line; i <= end && field <= maxColumn; i++) {
+                if (i < end && data[i] == '"') {
+                    quoted = !quoted;
+                } else if (i == end || (data[i] == ',' && !quoted)) {
+                    if (wanted[field] > 0) {
+                        from[wanted[field] - 1] = start;
+                        to[wanted[field] - 1] = i;
+                    }
+                    field++;
+                    start = i + 1;
+                }
+            }
+            line = next;
+
+            long pid = parseLong(data, from[PITCHER], to[PITCHER]);
+            String type = text(data, from[PITCH_TYPE], to[PITCH_TYPE]);
+            if (pid <= 0 || pid > Integer.MAX_VALUE || SKIPPED_TYPES.contains(type)) {
+                count[1]++;
+                continue;
+            }
+            PitcherStats pitcher = pitchers.get((int) pid);
+            if (pitcher == null) {
+                pitcher = new PitcherStats();
+                pitchers.put((int) pid, pitcher);
+            }
+            if (pitcher.name.isEmpty() && columns[NAME] >= 0) pitcher.name = pitcherName(text(data, from[NAME], to[NAME]));
+            if (pitcher.throwing.isEmpty() && columns[THROWS] >= 0) pitcher.throwing = text(data, from[THROWS], to[THROWS]);
+            double year = number(data, from[YEAR], to[YEAR]);
+            if (year > pitcher.year) pitcher.year = (int) year;
+            double armAngle = number(data, from[ARM_ANGLE], to[ARM_ANGLE]);
+            if (!Double.isNaN(armAngle)) {
+                pitcher.armAngle += armAngle;
+                pitcher.armAngles++;
+            }
+            pitcher.pitches++;
+
+            PitchStats stats = pitcher.types.get(type);
+            if (stats == null) {
+                stats = new PitchStats();
+                pitcher.types.put(type, stats);
+            }
+            stats.pitches++;
+            double speed = number(data, from[SPEED], to[SPEED]);
+            double pfxX = number(data, from[PFX_X], to[PFX_X]), pfxZ = number(data, from[PFX_Z], to[PFX_Z]);
+            double releaseX = number(data, from[RELEASE_X], to[RELEASE_X]);
+            double releaseZ = number(data, from[RELEASE_Z], to[RELEASE_Z]);
+            if (speed > 0 && !Double.isNaN(pfxX + pfxZ + releaseX + releaseZ)) {
+                stats.measured++;
+                stats.speed += speed;
+                stats.hmov += pfxX * 12;
+                stats.vmov += pfxZ * 12 - gravityDrop_in(speed);
+                stats.rex += releaseX;
+                stats.rey += releaseZ;
+            }
+            double spinRate = number(data, from[SPIN_RATE], to[SPIN_RATE]);
+            if (spinRate > 0) {
+                stats.spinRate += spinRate;
+                stats.spins++;
+            }
+            double axis = Math.toRadians(number(data, from[SPIN_AXIS], to[SPIN_AXIS]));
+            if (!Double.isNaN(axis)) {
+                stats.axisSin += Math.sin(axis);
+                stats.axisCos += Math.cos(axis);
+                stats.axes++;
+            }
+        }
+        return pitchers;
+    }
+
+    // Drop from gravity alone over the flight PitchTrajectory models for this speed
+    static double gravityDrop_in(double speed_mph) {
+        double flightTime = (AtBatRules.PITCHER_MOUND_DISTANCE_FT - AtBatRules.HOME_PLATE_FRONT_FT) / (speed_mph * AtBatRules.MPH_TO_FTS);
+        return 0.5 * AtBatRules.GRAVITY_FTS2 * flightTime * flightTime * 12;
+    }
+
+    // "Ohtani, Shohei" -> "SHOHEI OHTANI", as in CREATETABLE.sql
+    static String pitcherName(String playerName) {
+        int comma = playerName.indexOf(',');
+        String name = comma < 0 ? playerName : playerName.substring(comma + 1).trim() + " " + playerName.substring(0, comma).trim();
+        return name.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String text(byte[] data, int from, int to) {
+        if (to - from >= 2 && data[from] == '"' && data[to - 1] == '"') {
+            return new String(data, from + 1, to - from - 2, StandardCharsets.UTF_8).replace("\"\"", "\"").trim();
+        }
+        return new String(data, from, to - from, StandardCharsets.UTF_8).trim();
+    }
+
+    // NaN for an empty field, "NA", "null" and the like; a quoted number reads as the number. Plain decimals such as
+    // -2.35 are read straight from the bytes: digits / 10^k is exact below 2^53 and 10^22, so the result matches
+    // Double.parseDouble
+    static double number(byte[] data, int from, int to) {
+        if (to - from >= 2 && data[from] == '"' && data[to - 1] == '"') {
+            from++;
+            to--;
+        }
+        if (to <= from) return Double.NaN;
+        int i = from;
+        boolean negative = data[i] == '-';
+        if (negative || data[i] == '+') i++;
+        long digits = 0;
+        int decimals = -1, count = 0;
+        for (; i < to; i++) {
+            byte c = data[i];
+            if (c >= '0' && c <= '9') {
+                digits = digits * 10 + (c - '0');
+                count++;
+                if (decimals >= 0) decimals++;
+            } else if (c == '.' && decimals < 0) {
+                decimals = 0;
+            } else {
+                break;
+            }
+        }
+        if (i == to && count > 0 && count <= 15) {
+            double value = decimals > 0 ? digits / POWERS_OF_TEN[decimals] : digits;
+            return negative ? -value : value;
+        }
+        byte first = data[from];
+        if (!(first >= '0' && first <= '9') && first != '-' && first != '.' && first != '+') return Double.NaN;
+        try {
+            return Double.parseDouble(new String(data, from, to - from, StandardCharsets.ISO_8859_1));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static long parseLong(byte[] data, int from, int to) {
+        long value = 0;
+        if (to - from >= 2 && data[from] == '"' && data[to - 1] == '"') {
+            from++;
+            to--;
+        }
+        if (to <= from) return -1;
+        for (int i = from; i < to; i++) {
+            byte c = data[i];
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+            if (value > Integer.MAX_VALUE) return -1;
+        }
+        return value;
+    }
+
+    static Pitcher toPitcher(int pid, PitcherStats stats) {
+        int ptype = stats.armAngles > 0 ? (int) Math.round(stats.armAngle / stats.armAngles) : DatabaseManager.UNKNOWN_PTYPE;
+        // Name and throwing hand stay null when the CSV has no player_name / p_throws, so importArsenals keeps the
+        // stored ones
+        return new Pitcher(pid, 0, stats.name.isEmpty() ? null : stats.name, stats.year % 100,
+                stats.throwing.isEmpty() ? null : stats.throwing, DEFAULT_RATING, DEFAULT_RATING, ptype);
+    }
+
+    // The pitcher's TRAJECTORY rows in BID order; pitch types without a single measured pitch are left out
+    static List<TrajectoryData> toTrajectories(int pid, PitcherStats stats, Map<String, Integer> ballTypeIds) {
+        Map<Integer, TrajectoryData> rows = new TreeMap<>();
+        Map<Integer, PitchStats> byBid = new HashMap<>();
+        for (Map.Entry<String, PitchStats> type : stats.types.entrySet()) {
+            int bid = ballTypeIds.get(ballTypeName(type.getKey()));
+            PitchStats merged = byBid.computeIfAbsent(bid, b -> new PitchStats());
+            merged.merge(type.getValue()); // KC and CU are both CURVE, and so on
+        }
+        for (Map.Entry<Integer, PitchStats> type : byBid.entrySet()) {
+            PitchStats s = type.getValue();
+            if (s.measured == 0) continue;
+            double usep = 100.0 * s.pitches / stats.pitches;
+            double axis = s.axes > 0 ? (Math.toDegrees(Math.atan2(s.axisSin, s.axisCos)) + 360) % 360 : Double.NaN;
+            rows.put(type.getKey(), new TrajectoryData(pid, type.getKey(), round(usep, 2), round(s.hmov / s.measured, 2),
+                    round(s.vmov / s.measured, 2), round(s.rex / s.measured, 2), round(s.rey / s.measured, 2),
+                    round(s.speed / s.measured, 2), s.spins > 0 ? Math.round(s.spinRate / s.spins) : Double.NaN,
+                    round(axis, 1)));
+        }
+        return new ArrayList<>(rows.values());
+    }
+
+    private static double round(double value, int decimals) {
+        if (Double.isNaN(value)) return value;
+        double scale = Math.pow(10, decimals);
+        return Math.round(value * scale) / scale;
+    }
+
+    static String ballTypeName(String pitchType) {
+        return BALL_TYPES.getOrDefault(pitchType, pitchType);
+    }
+
+    // Ball types of the import with their BIDs: existing rows keep theirs, the CREATETABLE.sql names take their seed
+    // BIDs where those are free, and other new names are numbered after the highest
+    private static Map<String, Integer> assignBallTypeIds(Progress progress, Map<String, Integer> existing) {
+        Map<String, Integer> ids = new HashMap<>(existing);
+        Set<Integer> taken = new HashSet<>(existing.values());
+        for (Map.Entry<String, Integer> seed : seedBallTypeIds().entrySet()) {
+            if (!ids.containsKey(seed.getKey()) && taken.add(seed.getValue())) ids.put(seed.getKey(), seed.getValue());
+        }
+        int next = 1;
+        for (int bid : ids.values()) next = Math.max(next, bid + 1);
+        List<String> names = new ArrayList<>();
+        for (PitcherStats pitcher : progress.pitchers.values()) {
+            for (String type : pitcher.types.keySet()) {
+                String name = ballTypeName(type);
+                if (!ids.containsKey(name) && !names.contains(name)) names.add(name);
+            }
+        }
+        names.sort(null);
+        for (String name : names) ids.put(name, next++);
+        return ids;
+    }
+
+    private static Map<String, Integer> seedBallTypeIds() {
+        Map<String, Integer> ids = new HashMap<>();
+        for (int i = 0; i < SEED_BALL_TYPES.size(); i++) ids.put(SEED_BALL_TYPES.get(i), i + 1);
+        return ids;
+    }
+
+    private static void write(DatabaseManager dbManager, Progress progress, List<Integer> pids, Path checkpoint,
+                              Path csv) throws SQLException, IOException {
+        long start = System.nanoTime();
+        Map<String, Integer> ballTypeIds = assignBallTypeIds(progress, dbManager.getBallTypeIds());
+        Map<Integer, String> ballTypes = new TreeMap<>();
+        for (Map.Entry<String, Integer> ballType : ballTypeIds.entrySet()) ballTypes.put(ballType.getValue(), ballType.getKey());
+        dbManager.upsertBallTypes(ballTypes);
+
+        int rows = 0, skipped = 0;
+        List<Pitcher> pitchers = new ArrayList<>();
+        List<TrajectoryData> trajectories = new ArrayList<>();
+        for (int i = progress.writtenPitchers; i < pids.size(); i++) {
+            int pid = pids.get(i);
+            PitcherStats stats = progress.pitchers.get(pid);
+            List<TrajectoryData> arsenal = toTrajectories(pid, stats, ballTypeIds);
+            if (arsenal.isEmpty()) {
+                skipped++; // No pitch had a full measurement; his stored rows, if any, are left alone
+            } else {
+                pitchers.add(toPitcher(pid, stats));
+                trajectories.addAll(arsenal);
+            }
+            if (trajectories.size() >= WRITE_BATCH_ROWS || i == pids.size() - 1) {
+                if (!pitchers.isEmpty()) dbManager.importArsenals(pitchers, trajectories);
+                rows += pitchers.size() + trajectories.size();
+                progress.writtenPitchers = i + 1;
+                writeCheckpoint(checkpoint, csv, progress);
+                pitchers.clear();
+                trajectories.clear();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf(Locale.ROOT, "Wrote %,d pitchers and %,d ball types (%,d rows) in %.1f s: %,.0f rows/s%n",
+                pids.size() - skipped, ballTypes.size(), rows, seconds, rows / seconds);
+        if (skipped > 0) {
+            System.out.printf("Skipped %,d pitchers without a fully measured pitch%n", skipped);
+        }
+    }
+
+    private static void printRows(Progress progress, List<Integer> pids, Map<String, Integer> ballTypeIds) {
+        Map<String, Integer> ids = assignBallTypeIds(progress, ballTypeIds);
+        System.out.println("-- PID, BID, USEP, HMOV, VMOV, REX, REY, SPEED, SPINRATE, SPINAXIS");
+        for (int pid : pids) {
+            PitcherStats stats = progress.pitchers.get(pid);
+            List<TrajectoryData> arsenal = toTrajectories(pid, stats, ids);
+            if (arsenal.isEmpty()) continue; // Not written either
+            Pitcher pitcher = toPitcher(pid, stats);
+            System.out.printf("-- %s (%s), %,d pitches%n", pitcher.getPname() != null ? pitcher.getPname() : "PITCHER " + pid,
+                    pitcher.getLr() != null ? pitcher.getLr() : "?", stats.pitches);
+            for (TrajectoryData data : arsenal) {
+                System.out.printf(Locale.ROOT, "(%d, %d, %.2f, %.2f, %.2f, %.2f, %.2f, %.2f, %.0f, %.1f), -- %s%n",
+                        pid, data.getBid(), data.getUsep(), data.getHmov(), data.getVmov(), data.getRex(), data.getRey(),
+                        data.getSpeed(), data.getSpinRate(), data.getSpinAxis(), nameOf(ids, data.getBid()));
+            }
+        }
+    }
+
+    private static String nameOf(Map<String, Integer> ids, int bid) {
+        for (Map.Entry<String, Integer> id : ids.entrySet()) if (id.getValue() == bid) return id.getKey();
+        return "?";
+    }
+
+    // Written to a temporary file and moved into place, so a crash leaves the previous checkpoint intact
+    private static void writeCheckpoint(Path checkpoint, Path csv, Progress progress) throws IOException {
+        Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(CHECKPOINT_MAGIC);
+            out.writeInt(CHECKPOINT_VERSION);
+            out.writeLong(Files.size(csv));
+            out.writeLong(Files.getLastModifiedTime(csv).toMillis());
+            out.writeLong(progress.offset);
+            out.writeLong(progress.rows);
+            out.writeLong(progress.skipped);
+            out.writeInt(progress.writtenPitchers);
+            out.writeInt(progress.pitchers.size());
+            for (Map.Entry<Integer, PitcherStats> pitcher : progress.pitchers.entrySet()) {
+                PitcherStats p = pitcher.getValue();
+                out.writeInt(pitcher.getKey());
+                out.writeUTF(p.name);
+                out.writeUTF(p.throwing);
+                out.writeInt(p.year);
+                out.writeLong(p.pitches);
+                out.writeLong(p.armAngles);
+                out.writeDouble(p.armAngle);
+                out.writeInt(p.types.size());
+                for (Map.Entry<String, PitchStats> type : p.types.entrySet()) {
+                    PitchStats s = type.getValue();
+                    out.writeUTF(type.getKey());
+                    out.writeLong(s.pitches); out.writeLong(s.measured); out.writeLong(s.spins); out.writeLong(s.axes);
+                    out.writeDouble(s.speed); out.writeDouble(s.hmov); out.writeDouble(s.vmov); out.writeDouble(s.rex);
+                    out.writeDouble(s.rey); out.writeDouble(s.spinRate); out.writeDouble(s.axisSin); out.writeDouble(s.axisCos);
+                }
+            }
+        }
+        Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // null when there is no checkpoint, or it belongs to another version of the file
+    private static Progress readCheckpoint(Path checkpoint, Path csv) throws IOException {
+        if (!Files.exists(checkpoint)) return null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpoint)))) {
+            if (in.readInt() != CHECKPOINT_MAGIC || in.readInt() != CHECKPOINT_VERSION
+                    || in.readLong() != Files.size(csv) || in.readLong() != Files.getLastModifiedTime(csv).toMillis()) {
+                System.err.println("Ignoring " + checkpoint + ": it was made for another version of " + csv);
+                return null;
+            }
+            Progress progress = new Progress();
+            progress.offset = in.readLong();
+            progress.rows = in.readLong();
+            progress.skipped = in.readLong();
+            progress.writtenPitchers = in.readInt();
+            int pitchers = in.readInt();
+            for (int i = 0; i < pitchers; i++) {
+                int pid = in.readInt();
+                PitcherStats p = new PitcherStats();
+                p.name = in.readUTF();
+                p.throwing = in.readUTF();
+                p.year = in.readInt();
+                p.pitches = in.readLong();
+                p.armAngles = in.readLong();
+                p.armAngle = in.readDouble();
+                int types = in.readInt();
+                for (int t = 0; t < types; t++) {
+                    String type = in.readUTF();
+                    PitchStats s = new PitchStats();
+                    s.pitches = in.readLong(); s.measured = in.readLong(); s.spins = in.readLong(); s.axes = in.readLong();
+                    s.speed = in.readDouble(); s.hmov = in.readDouble(); s.vmov = in.readDouble(); s.rex = in.readDouble();
+                    s.rey = in.readDouble(); s.spinRate = in.readDouble(); s.axisSin = in.readDouble(); s.axisCos = in.readDouble();
+                    p.types.put(type, s);
+                }
+                progress.pitchers.put(pid, p);
+            }
+            return progress;
+        }
+    }
+}
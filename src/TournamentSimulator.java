@@ -0,0 +1,42 @@
+import data.PitchCatalog;
+import sim.Arsenal;
+import sim.AtBatRules;
+import sim.BatterModel;
+import sim.PlayModeTournament;
+import sim.Trajectory;
+import sim.TournamentReport;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+
+// Usage: TournamentSimulator [games per lineup] [max lineups] [target hits] [max outs] [seed] [threads] [csv file]
+// Writes every lineup, ranked by win rate, to the CSV file (play-mode-lineups.csv by default)
+public class TournamentSimulator {
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int maxLineups = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int targetHits = args.length > 2 ? Integer.parseInt(args[2]) : AtBatRules.PLAY_MODE_TARGET_HITS;
+        int maxOuts = args.length > 3 ? Integer.parseInt(args[3]) : AtBatRules.PLAY_MODE_MAX_OUTS;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42L;
+        int threads = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+        String csv = args.length > 6 ? args[6] : "play-mode-lineups.csv";
+
+        PitchCatalog catalog = PitchRepository.getShared().loadCatalog();
+        List<Arsenal> arsenals = Arsenal.fromCatalog(catalog);
+        if (arsenals.size() < targetHits) {
+            System.err.println("Play Mode needs at least " + targetHits + " pitchers with pitch data, found " + arsenals.size() + ".");
+            return;
+        }
+
+        PlayModeTournament tournament = new PlayModeTournament(threads, BatterModel.defaultModel(),
+                Trajectory.Model.selected(), targetHits, maxOuts);
+        try {
+            TournamentReport report = tournament.run(arsenals, maxLineups, games, seed);
+            report.print(System.out, 20);
+            report.writeCsv(Paths.get(csv));
+            System.out.println("Ranked lineups written to " + csv);
+        } finally {
+            tournament.shutdown();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package data;
+
+public class Batter {
+    private int batid;
+    private String batname;
+    private int power;
+    private int accuracy;
+
+    public Batter(int batid, String batname, int power, int accuracy) {
+        this.batid = batid;
+        this.batname = batname;
+        this.power = power;
+        this.accuracy = accuracy;
+    }
+
+    // Getter methods
+    public int getBatid() { return batid; }
+    public String getBatname() { return batname; }
+    public int getPower() { return power; }
+    public int getAccuracy() { return accuracy; }
+
+    @Override
+    public String toString() {
+        return batname;
+    }
+}
\ No newline at end of file
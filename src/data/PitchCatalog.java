@@ -0,0 +1,116 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable in-memory copy of the PITCHER / BALLTYPE / TRAJECTORY / BATTER catalog, indexed by PID, BID and BATID.
+ * Built once by a bulk load and then shared read-only between panels and threads.
+ */
+public class PitchCatalog {
+    private final List<Pitcher> pitchers;
+    private final Map<Integer, Pitcher> pitchersByPid;
+    private final Map<Integer, Map<String, TrajectoryData>> arsenalsByPid;
+    private final Map<Integer, Map<Integer, TrajectoryData>> trajectoriesByPid;
+    private final Map<Integer, String> ballTypeNames;
+    private final List<Batter> batters;
+    private final Map<Integer, Batter> battersById;
+    private final int trajectoryCount;
+
+    private PitchCatalog(Builder builder) {
+        this.pitchers = Collections.unmodifiableList(new ArrayList<>(builder.pitchers));
+        this.pitchersByPid = Collections.unmodifiableMap(new HashMap<>(builder.pitchersByPid));
+        Map<Integer, Map<String, TrajectoryData>> arsenals = new HashMap<>(capacityFor(builder.arsenalsByPid.size()));
+        for (Map.Entry<Integer, Map<String, TrajectoryData>> entry : builder.arsenalsByPid.entrySet()) {
+            arsenals.put(entry.getKey(), Collections.unmodifiableMap(entry.getValue()));
+        }
+        this.arsenalsByPid = Collections.unmodifiableMap(arsenals);
+        Map<Integer, Map<Integer, TrajectoryData>> trajectories = new HashMap<>(capacityFor(builder.trajectoriesByPid.size()));
+        for (Map.Entry<Integer, Map<Integer, TrajectoryData>> entry : builder.trajectoriesByPid.entrySet()) {
+            trajectories.put(entry.getKey(), Collections.unmodifiableMap(entry.getValue()));
+        }
+        this.trajectoriesByPid = Collections.unmodifiableMap(trajectories);
+        this.ballTypeNames = Collections.unmodifiableMap(new HashMap<>(builder.ballTypeNames));
+        this.batters = Collections.unmodifiableList(new ArrayList<>(builder.batters));
+        this.battersById = Collections.unmodifiableMap(new HashMap<>(builder.battersById));
+        this.trajectoryCount = builder.trajectoryCount;
+    }
+
+    // Roster in load order
+    public List<Pitcher> getPitchers() { return pitchers; }
+
+    public Pitcher getPitcher(int pid) { return pitchersByPid.get(pid); }
+
+    // Pitch name -> trajectory data; empty when the pitcher has no pitches
+    public Map<String, TrajectoryData> getArsenal(int pid) {
+        Map<String, TrajectoryData> arsenal = arsenalsByPid.get(pid);
+        return arsenal != null ? arsenal : Collections.emptyMap();
+    }
+
+    public TrajectoryData getTrajectory(int pid, int bid) {
+        Map<Integer, TrajectoryData> trajectories = trajectoriesByPid.get(pid);
+        return trajectories != null ? trajectories.get(bid) : null;
+    }
+
+    // Batters in load order; empty for catalogs from before the BATTER table
+    public List<Batter> getBatters() { return batters; }
+
+    public Batter getBatter(int batid) { return battersById.get(batid); }
+
+    public String getBallTypeName(int bid) { return ballTypeNames.get(bid); }
+    public Map<Integer, String> getBallTypeNames() { return ballTypeNames; }
+    public int getPitcherCount() { return pitchers.size(); }
+    public int getTrajectoryCount() { return trajectoryCount; }
+    public boolean isEmpty() { return pitchers.isEmpty(); }
+
+    private static int capacityFor(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+
+    // Collects rows while streaming through a result set; not thread-safe
+    public static class Builder {
+        private final List<Pitcher> pitchers = new ArrayList<>();
+        private final Map<Integer, Pitcher> pitchersByPid = new HashMap<>();
+        private final Map<Integer, Map<String, TrajectoryData>> arsenalsByPid = new HashMap<>();
+        private final Map<Integer, Map<Integer, TrajectoryData>> trajectoriesByPid = new HashMap<>();
+        private final Map<Integer, String> ballTypeNames = new HashMap<>();
+        private final List<Batter> batters = new ArrayList<>();
+        private final Map<Integer, Batter> battersById = new HashMap<>();
+        private int trajectoryCount;
+
+        public Builder addPitcher(Pitcher pitcher) {
+            if (pitchersByPid.put(pitcher.getPid(), pitcher) == null) {
+                pitchers.add(pitcher);
+            }
+            return this;
+        }
+
+        public Builder addBatter(Batter batter) {
+            if (battersById.put(batter.getBatid(), batter) == null) {
+                batters.add(batter);
+            }
+            return this;
+        }
+
+        public Builder addBallType(int bid, String bname) {
+            ballTypeNames.put(bid, bname);
+            return this;
+        }
+
+        public Builder addTrajectory(String bname, TrajectoryData data) {
+            addBallType(data.getBid(), bname);
+            arsenalsByPid.computeIfAbsent(data.getPid(), pid -> new LinkedHashMap<>()).put(bname, data);
+            trajectoriesByPid.computeIfAbsent(data.getPid(), pid -> new HashMap<>()).put(data.getBid(), data);
+            trajectoryCount++;
+            return this;
+        }
+
+        public PitchCatalog build() {
+            return new PitchCatalog(this);
+        }
+    }
+}
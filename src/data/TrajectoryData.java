@@ -9,8 +9,15 @@ public class TrajectoryData {
     private double rex;
     private double rey;
     private double speed; // Release Speed in mph (read from database)
+    private double spinRate; // Spin in rpm, NaN when unknown; used by the drag/Magnus trajectory model only
+    private double spinAxis; // Spin axis in degrees as seen from the catcher (180 = pure backspin)
 
     public TrajectoryData(int pid, int bid, double usep, double hmov, double vmov, double rex, double rey, double speed) {
+        this(pid, bid, usep, hmov, vmov, rex, rey, speed, Double.NaN, Double.NaN);
+    }
+
+    public TrajectoryData(int pid, int bid, double usep, double hmov, double vmov, double rex, double rey, double speed,
+                          double spinRate, double spinAxis) {
         this.pid = pid;
         this.bid = bid;
         this.usep = usep;
@@ -19,6 +26,8 @@ public class TrajectoryData {
         this.rex = rex;
         this.rey = rey;
         this.speed = speed;
+        this.spinRate = spinRate;
+        this.spinAxis = spinAxis;
     }
 
     // Getter methods
@@ -30,4 +39,6 @@ public class TrajectoryData {
     public double getRex() { return rex; }
     public double getRey() { return rey; }
     public double getSpeed() { return speed; }
+    public double getSpinRate() { return spinRate; }
+    public double getSpinAxis() { return spinAxis; }
 }
\ No newline at end of file
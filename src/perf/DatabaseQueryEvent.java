@@ -0,0 +1,30 @@
+package perf;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One DatabaseManager query, from borrowing a pooled connection to its result. Queries happen on loading screens
+ * and PitchEventWriter's thread, so the event is created for each one and keeps its stack trace.
+ */
+@Name("baseball.DatabaseQuery")
+@Label("Database Query")
+@Category({ "Baseball", "Database" })
+@Description("A query or batch run through the connection pool, including the wait for a connection")
+public class DatabaseQueryEvent extends jdk.jfr.Event {
+    @Label("Query")
+    public String query;
+
+    @Label("Rows")
+    @Description("Rows read or written")
+    public int rows;
+
+    @Label("Failed")
+    public boolean failed;
+
+    public DatabaseQueryEvent(String query) {
+        this.query = query;
+    }
+}
@@ -0,0 +1,39 @@
+package perf;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// One game loop tick. Emitted through commit(), which allocates nothing unless a recording has the event enabled
+@Name("baseball.Frame")
+@Label("Game Frame")
+@Category({ "Baseball", "Rendering" })
+@StackTrace(false)
+public class FrameEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(FrameEvent.class);
+
+    @Label("Interval")
+    @Description("Time since the previous tick")
+    @Timespan(Timespan.NANOSECONDS)
+    public long interval;
+
+    @Label("Simulation Steps")
+    public int steps;
+
+    @Label("Missed Frames")
+    @Description("Frame periods skipped before this tick")
+    public int missed;
+
+    public static void commit(long interval, int steps, int missed) {
+        if (!TYPE.isEnabled()) return;
+        FrameEvent event = new FrameEvent();
+        event.interval = interval;
+        event.steps = steps;
+        event.missed = missed;
+        event.commit();
+    }
+}
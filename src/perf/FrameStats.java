@@ -0,0 +1,100 @@
+package perf;
+
+import java.util.Arrays;
+
+/**
+ * Frame intervals and paint times over the last WINDOW frames, plus a running count of missed frames, for the
+ * in-game performance overlay and GameServer's tick shards. Recording is a couple of array writes; percentiles are
+ * only worked out by summarize(), which sorts copies into preallocated arrays. Not thread-safe: each instance
+ * is used by one thread at a time, the event thread or the task that ticks one shard.
+ */
+public final class FrameStats {
+    public static final int WINDOW = 240;
+
+    private final long periodNanos;
+    private final long[] intervals = new long[WINDOW];
+    private final long[] paints = new long[WINDOW];
+    private final long[] sorted = new long[WINDOW];
+    private int intervalCount, intervalNext;
+    private int paintCount, paintNext;
+    private long lastFrameNanos;
+    private long frames;
+    private long missedFrames;
+
+    // Filled in by summarize()
+    private double fps;
+    private double intervalP50, intervalP95, intervalP99, intervalMax;
+    private double paintP50, paintP95, paintP99, paintMax;
+
+    public FrameStats(int hz) {
+        this.periodNanos = 1_000_000_000L / hz;
+    }
+
+    // Records a frame starting at nowNanos and returns how many frame periods were missed before it
+    public int frame(long nowNanos) {
+        int missed = 0;
+        if (lastFrameNanos != 0) {
+            long interval = nowNanos - lastFrameNanos;
+            intervals[intervalNext] = interval;
+            intervalNext = (intervalNext + 1) % WINDOW;
+            intervalCount = Math.min(intervalCount + 1, WINDOW);
+            // Half a period late still counts as on time; timer ticks jitter by about a millisecond
+            missed = (int) Math.max(0, (interval + periodNanos / 2) / periodNanos - 1);
+            missedFrames += missed;
+            frames++;
+        }
+        lastFrameNanos = nowNanos;
+        return missed;
+    }
+
+    public void paint(long nanos) {
+        paints[paintNext] = nanos;
+        paintNext = (paintNext + 1) % WINDOW;
+        paintCount = Math.min(paintCount + 1, WINDOW);
+    }
+
+    // Forgets the previous frame's time, e.g. after a pause, so the gap is not counted as missed frames
+    public void restart() {
+        lastFrameNanos = 0;
+    }
+
+    public void summarize() {
+        System.arraycopy(intervals, 0, sorted, 0, intervalCount);
+        Arrays.sort(sorted, 0, intervalCount);
+        long total = 0;
+        for (int i = 0; i < intervalCount; i++) total += sorted[i];
+        fps = total == 0 ? 0 : intervalCount * 1e9 / total;
+        intervalP50 = percentileMillis(intervalCount, 50);
+        intervalP95 = percentileMillis(intervalCount, 95);
+        intervalP99 = percentileMillis(intervalCount, 99);
+        intervalMax = percentileMillis(intervalCount, 100);
+
+        System.arraycopy(paints, 0, sorted, 0, paintCount);
+        Arrays.sort(sorted, 0, paintCount);
+        paintP50 = percentileMillis(paintCount, 50);
+        paintP95 = percentileMillis(paintCount, 95);
+        paintP99 = percentileMillis(paintCount, 99);
+        paintMax = percentileMillis(paintCount, 100);
+    }
+
+    // Nearest-rank percentile of the first n entries of sorted
+    private double percentileMillis(int n, double percentile) {
+        if (n == 0) return 0;
+        int rank = (int) Math.ceil(n * percentile / 100.0);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    public double getFps() { return fps; }
+    public double getIntervalP50() { return intervalP50; }
+    public double getIntervalP95() { return intervalP95; }
+    public double getIntervalP99() { return intervalP99; }
+    public double getIntervalMax() { return intervalMax; }
+    public double getPaintP50() { return paintP50; }
+    public double getPaintP95() { return paintP95; }
+    public double getPaintP99() { return paintP99; }
+    public double getPaintMax() { return paintMax; }
+
+    public long getFrames() { return frames; }
+    public long getMissedFrames() { return missedFrames; }
+    public double getPeriodMillis() { return periodNanos / 1e6; }
+}
@@ -0,0 +1,32 @@
+package perf;
+
+import jdk.jfr.Category;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// One GamePanel.render call; in passive mode there is one per repainted region
+@Name("baseball.Paint")
+@Label("Paint")
+@Category({ "Baseball", "Rendering" })
+@StackTrace(false)
+public class PaintEvent extends jdk.jfr.Event {
+    private static final EventType TYPE = EventType.getEventType(PaintEvent.class);
+
+    @Label("Paint Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long paintTime;
+
+    @Label("Active Rendering")
+    public boolean active;
+
+    public static void commit(long paintTime, boolean active) {
+        if (!TYPE.isEnabled()) return;
+        PaintEvent event = new PaintEvent();
+        event.paintTime = paintTime;
+        event.active = active;
+        event.commit();
+    }
+}
@@ -0,0 +1,27 @@
+package perf;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// A judged swing and how long after the key press the judgment ran
+@Name("baseball.SwingInput")
+@Label("Swing Input")
+@Category({ "Baseball", "Input" })
+@StackTrace(false)
+public class SwingInputEvent extends jdk.jfr.Event {
+    @Label("Latency")
+    @Description("Key event timestamp to judgment; AWT stamps events in milliseconds")
+    @Timespan(Timespan.NANOSECONDS)
+    public long latency;
+
+    @Label("Swing Time")
+    @Description("Seconds after release the swing was judged at")
+    public double swingTime;
+
+    @Label("Timing")
+    public String timing;
+}
@@ -0,0 +1,22 @@
+package perf;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Aiming one pitch and sampling its trail; one per pitch, so cheap enough to keep whenever a recording runs
+@Name("baseball.Trajectory")
+@Label("Trajectory Generation")
+@Category({ "Baseball", "Simulation" })
+@StackTrace(false)
+public class TrajectoryEvent extends jdk.jfr.Event {
+    @Label("Physics")
+    public String physics;
+
+    @Label("Pitch Type")
+    public String pitchType;
+
+    @Label("Trail Samples")
+    public int samples;
+}
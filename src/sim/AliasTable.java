@@ -0,0 +1,64 @@
+package sim;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Walker's alias method: draws index i with probability weights[i] / sum(weights) in constant time from a single
+ * random double. Built once (Vose's O(n) construction); sampling allocates nothing. A table whose weights are all
+ * zero, or not finite, samples uniformly.
+ */
+public final class AliasTable {
+    private final double[] threshold; // Chance of keeping column i rather than taking its alias
+    private final int[] alias;
+
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        if (n == 0) throw new IllegalArgumentException("Alias table needs at least one weight");
+        threshold = new double[n];
+        alias = new int[n];
+        double total = 0;
+        for (double w : weights) {
+            if (w < 0 || !Double.isFinite(w)) throw new IllegalArgumentException("Bad weight " + w);
+            total += w;
+        }
+        double[] scaled = new double[n];
+        for (int i = 0; i < n; i++) scaled[i] = total > 0 ? weights[i] * n / total : 1;
+
+        int[] small = new int[n], large = new int[n];
+        int smallCount = 0, largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            if (scaled[i] < 1) small[smallCount++] = i;
+            else large[largeCount++] = i;
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount], more = large[--largeCount];
+            threshold[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] -= 1 - scaled[less];
+            if (scaled[more] < 1) small[smallCount++] = more;
+            else large[largeCount++] = more;
+        }
+        // What is left is 1 up to rounding
+        while (largeCount > 0) threshold[large[--largeCount]] = 1;
+        while (smallCount > 0) threshold[small[--smallCount]] = 1;
+        for (int i = 0; i < n; i++) if (threshold[i] == 1) alias[i] = i;
+    }
+
+    public int sample(RandomGenerator random) {
+        double u = random.nextDouble() * threshold.length;
+        int column = Math.min((int) u, threshold.length - 1);
+        return u - column < threshold[column] ? column : alias[column];
+    }
+
+    // Probability of drawing index i, read back from the table
+    public double probability(int i) {
+        int n = threshold.length;
+        double p = threshold[i];
+        for (int j = 0; j < n; j++) {
+            if (j != i && alias[j] == i) p += 1 - threshold[j];
+        }
+        return p / n;
+    }
+
+    public int size() { return threshold.length; }
+}
@@ -0,0 +1,65 @@
+package sim;
+
+import data.PitchCatalog;
+import data.Pitcher;
+import data.TrajectoryData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * A pitcher together with the pitches he throws, in a fixed order so pitch types can be indexed, and the
+ * count-aware PitchSelector compiled from their usage.
+ */
+public final class Arsenal {
+    private final Pitcher pitcher;
+    private final String[] pitchNames;
+    private final TrajectoryData[] pitches;
+    private final PitchSelector selector;
+
+    public Arsenal(Pitcher pitcher, Map<String, TrajectoryData> pitchData) {
+        this.pitcher = pitcher;
+        this.pitchNames = new String[pitchData.size()];
+        this.pitches = new TrajectoryData[pitchData.size()];
+        int i = 0;
+        for (Map.Entry<String, TrajectoryData> entry : pitchData.entrySet()) {
+            pitchNames[i] = entry.getKey();
+            pitches[i] = entry.getValue();
+            i++;
+        }
+        this.selector = new PitchSelector(this);
+    }
+
+    // One Arsenal per catalog pitcher, in catalog order; pitchers without pitch data are skipped
+    public static List<Arsenal> fromCatalog(PitchCatalog catalog) {
+        List<Arsenal> arsenals = new ArrayList<>();
+        for (Pitcher pitcher : catalog.getPitchers()) {
+            Map<String, TrajectoryData> pitchData = catalog.getArsenal(pitcher.getPid());
+            if (pitchData.isEmpty()) {
+                System.err.println("No pitch data found for pitcher PID: " + pitcher.getPid() + ". Skipping.");
+                continue;
+            }
+            arsenals.add(new Arsenal(pitcher, pitchData));
+        }
+        return arsenals;
+    }
+
+    // Index of the pitch thrown next at this count, weighted by usage
+    public int nextPitch(RandomGenerator random, AtBatCount count) {
+        return selector.next(random, count);
+    }
+
+    public int indexOf(String pitchName) {
+        for (int i = 0; i < pitchNames.length; i++) {
+            if (pitchNames[i].equals(pitchName)) return i;
+        }
+        return -1;
+    }
+
+    public Pitcher getPitcher() { return pitcher; }
+    public int getPitchCount() { return pitches.length; }
+    public String getPitchName(int index) { return pitchNames[index]; }
+    public TrajectoryData getPitch(int index) { return pitches[index]; }
+    public PitchSelector getSelector() { return selector; }
+}
@@ -0,0 +1,43 @@
+package sim;
+
+/**
+ * Ball/strike count of the current plate appearance.
+ * The caller resets the count once an outcome ends the plate appearance.
+ */
+public final class AtBatCount {
+    private int strikes;
+    private int balls;
+
+    public void reset() {
+        strikes = 0;
+        balls = 0;
+    }
+
+    // Puts the count back to a recorded state, e.g. when replaying a pitch from the log
+    public void restore(int balls, int strikes) {
+        this.balls = balls;
+        this.strikes = strikes;
+    }
+
+    public PitchOutcome recordTakenPitch(boolean isStrike) {
+        if (isStrike) {
+            strikes++;
+            return strikes >= AtBatRules.MAX_STRIKES ? PitchOutcome.STRIKEOUT : PitchOutcome.CALLED_STRIKE;
+        }
+        balls++;
+        return balls >= AtBatRules.MAX_BALLS ? PitchOutcome.WALK : PitchOutcome.BALL;
+    }
+
+    // A swing that did not produce a hit is a strike, unless the ball was put in play for an out
+    public PitchOutcome recordSwingWithoutHit(boolean isInPlayOut) {
+        strikes++;
+        if (isInPlayOut) {
+            strikes = AtBatRules.MAX_STRIKES;
+            return PitchOutcome.IN_PLAY_OUT;
+        }
+        return strikes >= AtBatRules.MAX_STRIKES ? PitchOutcome.STRIKEOUT : PitchOutcome.SWINGING_STRIKE;
+    }
+
+    public int getStrikes() { return strikes; }
+    public int getBalls() { return balls; }
+}
@@ -0,0 +1,109 @@
+package sim;
+
+import data.Batter;
+import data.PitchCatalog;
+import java.util.random.RandomGenerator;
+
+/**
+ * Rules of a single at-bat, shared by GamePanel and the headless simulators:
+ * field geometry, strike zone, count limits and the hit probability formula.
+ */
+public final class AtBatRules {
+    // Physical constants
+    public static final double PITCHER_MOUND_DISTANCE_FT = 60.5;
+    public static final double HOME_PLATE_FRONT_FT = 1.417;
+    public static final double GRAVITY_FTS2 = 32.174;
+    public static final double MPH_TO_FTS = 1.467;
+
+    // Strike zone definition
+    public static final double STRIKE_ZONE_LEFT_FT = -0.78;
+    public static final double STRIKE_ZONE_RIGHT_FT = 0.78;
+    public static final double STRIKE_ZONE_TOP_FT = 3.1;
+    public static final double STRIKE_ZONE_BOTTOM_FT = 1.3;
+
+    // Ball/strike count
+    public static final int MAX_STRIKES = 3;
+    public static final int MAX_BALLS = 4;
+
+    // Play Mode: one hit off each of PLAY_MODE_TARGET_HITS pitchers before PLAY_MODE_MAX_OUTS outs
+    public static final int PLAY_MODE_MAX_OUTS = 5;
+    public static final int PLAY_MODE_TARGET_HITS = 3;
+
+    // Computer pitcher targeting
+    public static final double ZONE_TARGET_PROBABILITY = 0.6;
+    public static final double OUT_OF_ZONE_MARGIN_FT = 0.5;
+
+    // Default batter ratings
+    public static final int DEFAULT_BATTER_POWER = 90;
+    public static final int DEFAULT_BATTER_ACCURACY = 90;
+    // The game and PitchReplay bat as BATTER row DEFAULT_BATTER_ID unless -Dgame.batter names another
+    public static final int DEFAULT_BATTER_ID = 1;
+    public static final Batter DEFAULT_BATTER = new Batter(0, "PLAYER", DEFAULT_BATTER_POWER, DEFAULT_BATTER_ACCURACY);
+
+    // Time probability used to decide whether a missed swing is put in play for an out
+    public static final double IN_PLAY_OUT_TIME_PROBABILITY = 0.1;
+
+    private AtBatRules() { }
+
+    // The chosen batter, or DEFAULT_BATTER when the catalog has no such row (or no BATTER table)
+    public static Batter selectedBatter(PitchCatalog catalog) {
+        Batter batter = catalog.getBatter(Integer.getInteger("game.batter", DEFAULT_BATTER_ID));
+        return batter != null ? batter : DEFAULT_BATTER;
+    }
+
+    public static boolean isStrike(double plateX_ft, double plateY_ft) {
+        return plateX_ft >= STRIKE_ZONE_LEFT_FT && plateX_ft <= STRIKE_ZONE_RIGHT_FT &&
+               plateY_ft >= STRIKE_ZONE_BOTTOM_FT && plateY_ft <= STRIKE_ZONE_TOP_FT;
+    }
+
+    // Whether the computer pitcher aims inside the zone; decides which target ranges are used below
+    public static boolean aimsInZone(RandomGenerator random) {
+        return random.nextDouble() < ZONE_TARGET_PROBABILITY;
+    }
+
+    // Must be called before targetY so the random draws stay in the original order
+    public static double targetX(RandomGenerator random, boolean inZone) {
+        if (inZone) {
+            return STRIKE_ZONE_LEFT_FT + random.nextDouble() * (STRIKE_ZONE_RIGHT_FT - STRIKE_ZONE_LEFT_FT);
+        }
+        return (random.nextBoolean() ? 1 : -1) * (STRIKE_ZONE_RIGHT_FT + random.nextDouble() * OUT_OF_ZONE_MARGIN_FT);
+    }
+
+    public static double targetY(RandomGenerator random, boolean inZone) {
+        if (inZone) {
+            return STRIKE_ZONE_BOTTOM_FT + random.nextDouble() * (STRIKE_ZONE_TOP_FT - STRIKE_ZONE_BOTTOM_FT);
+        }
+        return (STRIKE_ZONE_BOTTOM_FT - OUT_OF_ZONE_MARGIN_FT) +
+               random.nextDouble() * (STRIKE_ZONE_TOP_FT - STRIKE_ZONE_BOTTOM_FT + 2 * OUT_OF_ZONE_MARGIN_FT);
+    }
+
+    // Manual pitching: the pitch lands uniformly inside the aiming circle; target receives the final x, y
+    public static void scatterTarget(RandomGenerator random, double aimX_ft, double aimY_ft, double radius_ft, double[] target) {
+        double angle = random.nextDouble() * 2 * Math.PI;
+        double radius = Math.sqrt(random.nextDouble()) * radius_ft;
+        target[0] = aimX_ft + Math.cos(angle) * radius;
+        target[1] = aimY_ft + Math.sin(angle) * radius;
+    }
+
+    public static double hitProbability(double timeProbability, int batterPower, int batterAccuracy,
+                                        int pitcherStuff, double pitchSpeed) {
+        double hitProbability = timeProbability + ((batterPower - pitcherStuff) + (batterAccuracy - pitchSpeed)) * 0.005;
+        return Math.max(0.05, Math.min(0.95, hitProbability));
+    }
+
+    /**
+     * Resolve a swing at a pitch. A hit ends the plate appearance without touching the count;
+     * otherwise the swing is a strike, and a second roll decides whether the ball was put in play for an out.
+     */
+    public static PitchOutcome resolveSwing(RandomGenerator random, AtBatCount count, SwingTiming timing, boolean isStrike,
+                                            int batterPower, int batterAccuracy, int pitcherStuff, double pitchSpeed) {
+        boolean isHit = timing.canMakeContact() && random.nextDouble() <
+                hitProbability(timing.getTimeProbability(isStrike), batterPower, batterAccuracy, pitcherStuff, pitchSpeed);
+        if (isHit) {
+            return PitchOutcome.HIT;
+        }
+        boolean isInPlayOut = random.nextDouble() <
+                hitProbability(IN_PLAY_OUT_TIME_PROBABILITY, batterPower, batterAccuracy, pitcherStuff, pitchSpeed);
+        return count.recordSwingWithoutHit(isInPlayOut);
+    }
+}
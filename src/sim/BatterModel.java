@@ -0,0 +1,51 @@
+package sim;
+
+import data.Batter;
+import java.util.random.RandomGenerator;
+
+/**
+ * Stand-in for the player at the keyboard: how often the batter swings and how his timing is spread.
+ * Timing is drawn as a swing time ratio (see SwingTiming); a swing drawn after the ball reached the plate
+ * never happened in the game, so it is treated as a taken pitch.
+ */
+public final class BatterModel {
+    private final int power;
+    private final int accuracy;
+    private final double zoneSwingRate;
+    private final double chaseRate;
+    private final double timingMean;
+    private final double timingStdDev;
+
+    public BatterModel(int power, int accuracy, double zoneSwingRate, double chaseRate, double timingMean, double timingStdDev) {
+        this.power = power;
+        this.accuracy = accuracy;
+        this.zoneSwingRate = zoneSwingRate;
+        this.chaseRate = chaseRate;
+        this.timingMean = timingMean;
+        this.timingStdDev = timingStdDev;
+    }
+
+    public static BatterModel defaultModel() {
+        return new BatterModel(AtBatRules.DEFAULT_BATTER_POWER, AtBatRules.DEFAULT_BATTER_ACCURACY, 0.65, 0.30, 0.93, 0.05);
+    }
+
+    public boolean decidesToSwing(RandomGenerator random, boolean isStrike) {
+        return random.nextDouble() < (isStrike ? zoneSwingRate : chaseRate);
+    }
+
+    public double swingTimeRatio(RandomGenerator random) {
+        return timingMean + random.nextGaussian() * timingStdDev;
+    }
+
+    // The model's ratings as a MatchupMatrix row
+    public Batter asBatter() {
+        return new Batter(0, "Batter model", power, accuracy);
+    }
+
+    public int getPower() { return power; }
+    public int getAccuracy() { return accuracy; }
+    public double getZoneSwingRate() { return zoneSwingRate; }
+    public double getChaseRate() { return chaseRate; }
+    public double getTimingMean() { return timingMean; }
+    public double getTimingStdDev() { return timingStdDev; }
+}
@@ -0,0 +1,168 @@
+package sim;
+
+import data.TrajectoryData;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * One batter's game without a UI: the countdown, pre-pitch tell, flight and result cycle of GamePanel's hitting and
+ * Play modes, advanced by tick() and driven by swing() and next(). What happens is reported to a Listener.
+ * In Play Mode the batter faces the given pitchers in turn, one per hit, until they run out (victory) or
+ * PLAY_MODE_MAX_OUTS outs are made (defeat); batting practice faces the first pitcher for as long as it lasts.
+ * Pitchers are given as indexes into the arsenals, which are the rows of the shared MatchupMatrix; the batter is
+ * its row 0.
+ * Not thread-safe: a server ticks each session from one thread at a time.
+ */
+public final class BattingSession {
+    public static final double PITCH_COUNTDOWN_SECONDS = 3.0;
+    public static final double PRE_PITCH_TELL_SECONDS = 0.5;
+    // How long a pitch stays live past the plate, and how far back a reported swing time may reach
+    public static final double SWING_INPUT_GRACE_SECONDS = 0.1;
+
+    public enum Phase { COUNTDOWN, TELL, PITCH, RESULT, GAME_OVER }
+
+    public interface Listener {
+        void pitcher(Arsenal arsenal);
+        void tell();
+        void pitch(int pitchNo, String pitchType, double speedMph, double plateTime);
+        // timing is null for a taken pitch; balls and strikes are the count the pitch ended with
+        void result(PitchOutcome outcome, SwingTiming timing, int balls, int strikes, int hits, int outs);
+        void gameOver(boolean victory, int hits, int outs);
+    }
+
+    private final List<Arsenal> arsenals;
+    private final MatchupMatrix matchups;
+    private final int[] pitchers; // Rows of arsenals and matchups, in the order they are faced
+    private final boolean playMode;
+    private final RandomGenerator random;
+    private final Trajectory trajectory;
+    private final Listener listener;
+    private final AtBatCount count = new AtBatCount();
+
+    private Phase phase = Phase.COUNTDOWN;
+    private double countdown = PITCH_COUNTDOWN_SECONDS;
+    private double tellTime;
+    private double flightTime; // Seconds since release
+    private int pitcherIndex;
+    private int pitches;
+    private int hits, outs;
+    private TrajectoryData pitch;
+    private int cell; // The thrown pitch's block in matchups
+    private boolean isStrike;
+
+    public BattingSession(List<Arsenal> arsenals, MatchupMatrix matchups, int[] pitchers, boolean playMode,
+                          RandomGenerator random, Trajectory trajectory, Listener listener) {
+        if (pitchers.length == 0) {
+            throw new IllegalArgumentException("A session needs at least one pitcher");
+        }
+        this.arsenals = arsenals;
+        this.matchups = matchups;
+        this.pitchers = pitchers;
+        this.playMode = playMode;
+        this.random = random;
+        this.trajectory = trajectory;
+        this.listener = listener;
+        listener.pitcher(arsenals.get(pitchers[0]));
+    }
+
+    public void tick(double dt) {
+        switch (phase) {
+            case COUNTDOWN:
+                countdown -= dt;
+                if (countdown <= 0) {
+                    phase = Phase.TELL;
+                    tellTime = 0;
+                    listener.tell();
+                }
+                break;
+            case TELL:
+                tellTime += dt;
+                if (tellTime > PRE_PITCH_TELL_SECONDS) {
+                    throwPitch();
+                }
+                break;
+            case PITCH:
+                flightTime += dt;
+                if (flightTime >= trajectory.getPlateTime() + SWING_INPUT_GRACE_SECONDS) {
+                    finish(count.recordTakenPitch(isStrike), null);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void throwPitch() {
+        Arsenal arsenal = arsenals.get(pitchers[pitcherIndex]);
+        int pitchIndex = arsenal.nextPitch(random, count);
+        pitch = arsenal.getPitch(pitchIndex);
+        cell = matchups.cell(0, pitchers[pitcherIndex], pitch.getBid());
+        boolean inZone = AtBatRules.aimsInZone(random);
+        trajectory.aim(pitch, AtBatRules.targetX(random, inZone), AtBatRules.targetY(random, inZone));
+        isStrike = trajectory.isStrike();
+        flightTime = 0;
+        phase = Phase.PITCH;
+        listener.pitch(++pitches, arsenal.getPitchName(pitchIndex), pitch.getSpeed(), trajectory.getPlateTime());
+    }
+
+    /**
+     * Swings at swingTime seconds after release, as the client measured it, or now when swingTime is NaN. A time
+     * ahead of the session's clock counts as now and one more than SWING_INPUT_GRACE_SECONDS behind it as that old,
+     * so a client can make up for network delay but not wait to see the pitch. Returns false when there is no
+     * pitch to swing at.
+     */
+    public boolean swing(double swingTime) {
+        if (phase != Phase.PITCH) return false;
+        double t = Double.isNaN(swingTime) ? flightTime
+                : Math.max(flightTime - SWING_INPUT_GRACE_SECONDS, Math.min(swingTime, flightTime));
+        if (t > trajectory.getPlateTime()) return false; // The ball went by
+        SwingTiming timing = SwingTiming.of(trajectory.progressAt(Math.max(0, t)));
+        finish(matchups.resolveSwing(random, count, cell, timing, isStrike), timing);
+        return true;
+    }
+
+    // Starts the countdown to the next pitch once the last one has a result
+    public boolean next() {
+        if (phase != Phase.RESULT) return false;
+        phase = Phase.COUNTDOWN;
+        countdown = PITCH_COUNTDOWN_SECONDS;
+        return true;
+    }
+
+    private void finish(PitchOutcome outcome, SwingTiming timing) {
+        phase = Phase.RESULT;
+        boolean nextPitcher = false;
+        if (outcome == PitchOutcome.HIT || outcome == PitchOutcome.WALK) {
+            hits++;
+            nextPitcher = playMode;
+        } else if (outcome.isOut()) {
+            outs++;
+        }
+        listener.result(outcome, timing, count.getBalls(), count.getStrikes(), hits, outs);
+        if (outcome.endsPlateAppearance()) {
+            count.reset();
+        }
+
+        if (playMode && outs >= AtBatRules.PLAY_MODE_MAX_OUTS) {
+            end(false);
+        } else if (nextPitcher) {
+            if (++pitcherIndex >= pitchers.length) {
+                end(true);
+            } else {
+                listener.pitcher(arsenals.get(pitchers[pitcherIndex]));
+            }
+        }
+    }
+
+    private void end(boolean victory) {
+        phase = Phase.GAME_OVER;
+        listener.gameOver(victory, hits, outs);
+    }
+
+    public Phase getPhase() { return phase; }
+    public boolean isPlayMode() { return playMode; }
+    public int getPitches() { return pitches; }
+    public int getHits() { return hits; }
+    public int getOuts() { return outs; }
+    public Arsenal getCurrentPitcher() { return arsenals.get(pitchers[Math.min(pitcherIndex, pitchers.length - 1)]); }
+}
@@ -0,0 +1,257 @@
+package sim;
+
+import data.TrajectoryData;
+
+/**
+ * Trajectory model with gravity, air drag and the Magnus force of the pitch's spin (SPINRATE / SPINAXIS), integrated
+ * with RK4 under step-doubling error control: each step is taken once whole and once as two halves, the difference
+ * decides whether it is accepted and how long the next one may be, and the halves are Richardson-extrapolated.
+ * A typical pitch takes three or four steps where a 0.005 s Euler loop takes about 95, and lands several hundred times
+ * closer to a fine-step reference (bench/TrajectoryAccuracy).
+ *
+ * aim() shoots: it integrates, corrects the release velocity by the miss and repeats until the ball crosses the
+ * plate on the target. Positions between steps come from cubic Hermite interpolation of the stored steps.
+ * Spin is treated as fully transverse; a pitch without spin data flies with drag only.
+ */
+public final class DragMagnusTrajectory implements Trajectory {
+    // Ball and air: 9.125 in circumference, 5.125 oz, sea-level air at about 20 C
+    private static final double BALL_RADIUS_FT = 9.125 / (2 * Math.PI) / 12.0;
+    private static final double BALL_MASS_SLUG = 5.125 / 16.0 / AtBatRules.GRAVITY_FTS2;
+    private static final double AIR_DENSITY_SLUG_FT3 = 0.00233;
+    private static final double DRAG_COEFFICIENT = 0.35;
+    // Acceleration per (ft/s)^2 for a force coefficient of 1: rho * A / 2m
+    private static final double AERO_K = AIR_DENSITY_SLUG_FT3 * Math.PI * BALL_RADIUS_FT * BALL_RADIUS_FT / (2 * BALL_MASS_SLUG);
+
+    static final double DEFAULT_TOLERANCE_FT = 1e-5; // Local position error allowed per step
+    private static final double FIRST_STEP_S = 0.05;
+    private static final double MIN_STEP_S = 1e-5;
+    private static final int MAX_STEPS = 512;
+    private static final double AIM_TOLERANCE_FT = 1e-5;
+    private static final int MAX_AIM_PASSES = 8;
+
+    private final double tolerance_ft;
+    private double startX_ft, startY_ft, startZ_ft;
+    private final double endZ_ft = AtBatRules.HOME_PLATE_FRONT_FT;
+    private double releaseVx, releaseVy, releaseVz;
+
+    // Spin, as the unit axis and the spin rate in rad/s
+    private double axisX, axisY;
+    private double omega;
+
+    // Accepted steps: time, position and velocity; the last one is at or past the plate
+    private final double[] times = new double[MAX_STEPS + 1];
+    private final double[][] states = new double[MAX_STEPS + 1][6];
+    private int stepCount;
+    private double plateTime, plateX_ft, plateY_ft;
+
+    // Scratch for the integrator
+    private final double[] k1 = new double[6], k2 = new double[6], k3 = new double[6], k4 = new double[6];
+    private final double[] stage = new double[6], whole = new double[6], half = new double[6], halves = new double[6];
+    private final double[] acceleration = new double[3];
+
+    // The last interpolated point; the frame asks for x, y and z at the same time
+    private double cachedT = Double.NaN, cachedX, cachedY, cachedZ;
+
+    public DragMagnusTrajectory() {
+        this(DEFAULT_TOLERANCE_FT);
+    }
+
+    public DragMagnusTrajectory(double tolerance_ft) {
+        this.tolerance_ft = tolerance_ft;
+    }
+
+    @Override
+    public Model getModel() { return Model.DRAG_MAGNUS; }
+
+    @Override
+    public void aim(TrajectoryData data, double targetX, double targetY) {
+        startX_ft = data.getRex();
+        startY_ft = data.getRey();
+        startZ_ft = AtBatRules.PITCHER_MOUND_DISTANCE_FT;
+        setSpin(data.getSpinRate(), data.getSpinAxis());
+
+        double speed = data.getSpeed() * AtBatRules.MPH_TO_FTS;
+        double flightTime = (startZ_ft - endZ_ft) / speed;
+        double vx = (targetX - startX_ft) / flightTime;
+        double vy = (targetY - startY_ft) / flightTime + 0.5 * AtBatRules.GRAVITY_FTS2 * flightTime;
+        double lastVx = 0, lastVy = 0, lastPlateX = 0, lastPlateY = 0;
+        for (int pass = 0; pass < MAX_AIM_PASSES; pass++) {
+            launch(vx, vy, speed);
+            double missX = targetX - plateX_ft;
+            double missY = targetY - plateY_ft;
+            if (Math.abs(missX) < AIM_TOLERANCE_FT && Math.abs(missY) < AIM_TOLERANCE_FT) break;
+            // Secant steps on d(plate position) / d(release velocity) per axis; the first pass guesses the flight time
+            double slopeX = pass > 0 && vx != lastVx ? (plateX_ft - lastPlateX) / (vx - lastVx) : plateTime;
+            double slopeY = pass > 0 && vy != lastVy ? (plateY_ft - lastPlateY) / (vy - lastVy) : plateTime;
+            lastVx = vx; lastVy = vy;
+            lastPlateX = plateX_ft; lastPlateY = plateY_ft;
+            vx += missX / slopeX;
+            vy += missY / slopeY;
+        }
+    }
+
+    // Spin axis in Statcast's convention, seen from the catcher: 180 degrees is pure backspin, 0 pure topspin
+    private void setSpin(double rpm, double axisDegrees) {
+        double theta = Math.toRadians(axisDegrees);
+        axisX = -Math.cos(theta);
+        axisY = -Math.sin(theta);
+        omega = rpm * 2 * Math.PI / 60.0;
+    }
+
+    // Integrates from release with the given sideways and upward velocity and the rest of the speed toward the plate
+    private void launch(double vx, double vy, double speed) {
+        releaseVx = vx;
+        releaseVy = vy;
+        releaseVz = -Math.sqrt(Math.max(0, speed * speed - vx * vx - vy * vy));
+        double[] state = states[0];
+        state[0] = startX_ft; state[1] = startY_ft; state[2] = startZ_ft;
+        state[3] = releaseVx; state[4] = releaseVy; state[5] = releaseVz;
+        times[0] = 0;
+        stepCount = 0;
+        cachedT = Double.NaN;
+
+        double h = FIRST_STEP_S;
+        while (states[stepCount][2] > endZ_ft && stepCount < MAX_STEPS) {
+            double[] from = states[stepCount];
+            rk4(from, h, whole);
+            rk4(from, h / 2, half);
+            rk4(half, h / 2, halves);
+            double error = 0;
+            for (int i = 0; i < 3; i++) {
+                error = Math.max(error, Math.abs(halves[i] - whole[i]));
+            }
+            error /= 15; // Two half steps of a 4th order method are 16 times as accurate as one whole step
+            if (error > tolerance_ft && h > MIN_STEP_S) {
+                h = Math.max(MIN_STEP_S, h * Math.max(0.1, 0.9 * Math.pow(tolerance_ft / error, 0.2)));
+                continue;
+            }
+            double[] to = states[++stepCount];
+            for (int i = 0; i < 6; i++) {
+                to[i] = halves[i] + (halves[i] - whole[i]) / 15;
+            }
+            times[stepCount] = times[stepCount - 1] + h;
+            h *= error == 0 ? 4 : Math.min(4, 0.9 * Math.pow(tolerance_ft / error, 0.2));
+        }
+        findPlateCrossing();
+    }
+
+    private void rk4(double[] s, double h, double[] out) {
+        derivative(s, k1);
+        offset(s, k1, h / 2, stage);
+        derivative(stage, k2);
+        offset(s, k2, h / 2, stage);
+        derivative(stage, k3);
+        offset(s, k3, h, stage);
+        derivative(stage, k4);
+        for (int i = 0; i < 6; i++) {
+            out[i] = s[i] + h / 6 * (k1[i] + 2 * k2[i] + 2 * k3[i] + k4[i]);
+        }
+    }
+
+    private static void offset(double[] s, double[] k, double h, double[] out) {
+        for (int i = 0; i < 6; i++) {
+            out[i] = s[i] + h * k[i];
+        }
+    }
+
+    private void derivative(double[] s, double[] out) {
+        accelerate(s[3], s[4], s[5], acceleration);
+        out[0] = s[3]; out[1] = s[4]; out[2] = s[5];
+        out[3] = acceleration[0]; out[4] = acceleration[1]; out[5] = acceleration[2];
+    }
+
+    // Acceleration of the ball at velocity (vx, vy, vz) in ft/s, for the pitch last aimed; the forces do not depend on position
+    public void accelerate(double vx, double vy, double vz, double[] out) {
+        double speed = Math.sqrt(vx * vx + vy * vy + vz * vz);
+        double drag = AERO_K * DRAG_COEFFICIENT * speed;
+        out[0] = -drag * vx;
+        out[1] = -drag * vy - AtBatRules.GRAVITY_FTS2;
+        out[2] = -drag * vz;
+        if (omega > 0 && speed > 0) {
+            double spinFactor = BALL_RADIUS_FT * omega / speed;
+            double lift = AERO_K * spinFactor / (0.4 + 2.32 * spinFactor) * speed; // C_L = S / (0.4 + 2.32 S)
+            // axis x v, with the axis in the x-y plane
+            out[0] += lift * (axisY * vz);
+            out[1] += lift * (-axisX * vz);
+            out[2] += lift * (axisX * vy - axisY * vx);
+        }
+    }
+
+    // Solves the last step's Hermite cubic for the time the ball reaches the front of the plate
+    private void findPlateCrossing() {
+        int last = stepCount;
+        if (last == 0 || states[last][2] > endZ_ft) {
+            plateTime = times[last];
+            plateX_ft = states[last][0];
+            plateY_ft = states[last][1];
+            return;
+        }
+        double[] a = states[last - 1], b = states[last];
+        double t = times[last - 1] + (a[2] - endZ_ft) / (a[2] - b[2]) * (times[last] - times[last - 1]);
+        for (int i = 0; i < 4; i++) {
+            double dz = hermite(last, t, 2) - endZ_ft;
+            double speed = hermiteSlope(last, t, 2);
+            if (speed == 0) break;
+            t -= dz / speed;
+        }
+        plateTime = t;
+        plateX_ft = hermite(last, t, 0);
+        plateY_ft = hermite(last, t, 1);
+    }
+
+    // Cubic Hermite through steps segment-1 and segment, using position component c and its velocity c + 3
+    private double hermite(int segment, double t, int c) {
+        double t0 = times[segment - 1], h = times[segment] - t0;
+        double u = (t - t0) / h;
+        double[] a = states[segment - 1], b = states[segment];
+        double u2 = u * u, u3 = u2 * u;
+        return (2 * u3 - 3 * u2 + 1) * a[c] + (u3 - 2 * u2 + u) * h * a[c + 3]
+                + (-2 * u3 + 3 * u2) * b[c] + (u3 - u2) * h * b[c + 3];
+    }
+
+    private double hermiteSlope(int segment, double t, int c) {
+        double t0 = times[segment - 1], h = times[segment] - t0;
+        double u = (t - t0) / h;
+        double[] a = states[segment - 1], b = states[segment];
+        double u2 = u * u;
+        return ((6 * u2 - 6 * u) * a[c] + (6 * u - 6 * u2) * b[c]) / h
+                + (3 * u2 - 4 * u + 1) * a[c + 3] + (3 * u2 - 2 * u) * b[c + 3];
+    }
+
+    private void interpolate(double t) {
+        if (t == cachedT) return;
+        cachedT = t;
+        if (stepCount == 0) {
+            cachedX = states[0][0]; cachedY = states[0][1]; cachedZ = states[0][2];
+            return;
+        }
+        int segment = 1;
+        while (segment < stepCount && times[segment] < t) {
+            segment++;
+        }
+        cachedX = hermite(segment, t, 0);
+        cachedY = hermite(segment, t, 1);
+        cachedZ = hermite(segment, t, 2);
+    }
+
+    public double xAt(double t) { interpolate(t); return cachedX; }
+    public double yAt(double t) { interpolate(t); return cachedY; }
+    public double zAt(double t) { interpolate(t); return cachedZ; }
+
+    public double getPlateTime() { return plateTime; }
+    public double getPlateX() { return plateX_ft; }
+    public double getPlateY() { return plateY_ft; }
+
+    public double getStartX() { return startX_ft; }
+    public double getStartY() { return startY_ft; }
+    public double getStartZ() { return startZ_ft; }
+    public double getEndZ() { return endZ_ft; }
+
+    // Release velocity found by the last aim(), ft/s; z is negative, toward the plate
+    public double getReleaseVx() { return releaseVx; }
+    public double getReleaseVy() { return releaseVy; }
+    public double getReleaseVz() { return releaseVz; }
+
+    // Integrator steps accepted for the last pitch
+    public int getStepCount() { return stepCount; }
+}
@@ -0,0 +1,52 @@
+package sim;
+
+/**
+ * Turns wall-clock time into a whole number of fixed simulation steps, so game logic advances at the same rate
+ * whatever the frame rate. The leftover fraction of a step is exposed as an interpolation factor for rendering.
+ * Stalls longer than maxStepsPerAdvance steps are dropped rather than replayed.
+ */
+public class FixedStepClock {
+    private final double stepSeconds;
+    private final long stepNanos;
+    private final int maxStepsPerAdvance;
+
+    private long lastNanos;
+    private long accumulatorNanos;
+    private boolean started;
+
+    public FixedStepClock(double stepSeconds, int maxStepsPerAdvance) {
+        this.stepSeconds = stepSeconds;
+        this.stepNanos = Math.round(stepSeconds * 1_000_000_000.0);
+        this.maxStepsPerAdvance = maxStepsPerAdvance;
+    }
+
+    // Returns how many steps to simulate for the time elapsed since the previous call
+    public int advance(long nowNanos) {
+        if (!started) {
+            started = true;
+            lastNanos = nowNanos;
+            return 0;
+        }
+        accumulatorNanos += Math.max(0, nowNanos - lastNanos);
+        lastNanos = nowNanos;
+        int steps = (int) Math.min(accumulatorNanos / stepNanos, maxStepsPerAdvance);
+        accumulatorNanos -= steps * stepNanos;
+        if (accumulatorNanos >= stepNanos) {
+            accumulatorNanos %= stepNanos; // Fell behind; drop the backlog instead of spiralling
+        }
+        return steps;
+    }
+
+    // Forget elapsed time, e.g. after a pause, so the next advance starts from zero
+    public void reset() {
+        started = false;
+        accumulatorNanos = 0;
+    }
+
+    // Fraction of a step elapsed since the last simulated step, in [0, 1)
+    public double getAlpha() {
+        return (double) accumulatorNanos / stepNanos;
+    }
+
+    public double getStepSeconds() { return stepSeconds; }
+}
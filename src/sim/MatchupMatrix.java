@@ -0,0 +1,114 @@
+package sim;
+
+import data.Batter;
+import data.TrajectoryData;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * AtBatRules.hitProbability worked out ahead of time for every batter x pitcher x ball type (BID) x swing timing x
+ * strike/ball, in one flat array, so resolving a swing reads a probability instead of evaluating the formula.
+ * cell() gives the start of a (batter, pitcher, ball type) block: one hit probability per timing and strike/ball,
+ * then the in-play-out probability. The values are the formula's own doubles, so outcomes match AtBatRules exactly.
+ *
+ * Pitchers are rows in the order given; ball types the pitcher does not throw have no cell. Changing a batter's
+ * ratings or a pitcher's stuff recomputes only the blocks involved. Size is batters x pitchers x (max BID + 1) x 13
+ * doubles, under 1 KB per batter-pitcher pair with the current ball types. Reads are safe from many threads once
+ * built; updates are not synchronized with them.
+ */
+public final class MatchupMatrix {
+    private static final SwingTiming[] TIMINGS = SwingTiming.values();
+    static final int BLOCK = TIMINGS.length * 2 + 1;
+    private static final int IN_PLAY_OUT = BLOCK - 1;
+
+    private final int batterCount, pitcherCount, ballTypeSlots;
+    private final int[] power, accuracy; // Per batter
+    private final int[] stuff; // Per pitcher
+    private final double[] speed; // Per pitcher and ball type; NaN where the pitch is not thrown
+    private final double[] cells;
+
+    public MatchupMatrix(List<Batter> batters, List<Arsenal> pitchers) {
+        this.batterCount = batters.size();
+        this.pitcherCount = pitchers.size();
+        int maxBid = 0;
+        for (Arsenal arsenal : pitchers) {
+            for (int i = 0; i < arsenal.getPitchCount(); i++) maxBid = Math.max(maxBid, arsenal.getPitch(i).getBid());
+        }
+        this.ballTypeSlots = maxBid + 1;
+        this.power = new int[batterCount];
+        this.accuracy = new int[batterCount];
+        for (int b = 0; b < batterCount; b++) {
+            power[b] = batters.get(b).getPower();
+            accuracy[b] = batters.get(b).getAccuracy();
+        }
+        this.stuff = new int[pitcherCount];
+        this.speed = new double[pitcherCount * ballTypeSlots];
+        Arrays.fill(speed, Double.NaN);
+        for (int p = 0; p < pitcherCount; p++) {
+            Arsenal arsenal = pitchers.get(p);
+            stuff[p] = arsenal.getPitcher() != null ? arsenal.getPitcher().getStuff() : 50;
+            for (int i = 0; i < arsenal.getPitchCount(); i++) {
+                TrajectoryData data = arsenal.getPitch(i);
+                if (data.getBid() >= 0) speed[p * ballTypeSlots + data.getBid()] = data.getSpeed();
+            }
+        }
+        this.cells = new double[Math.multiplyExact(Math.multiplyExact(batterCount, pitcherCount), ballTypeSlots * BLOCK)];
+        for (int b = 0; b < batterCount; b++) {
+            for (int p = 0; p < pitcherCount; p++) fill(b, p);
+        }
+    }
+
+    // Start of the block for this matchup, or -1 when the pitcher does not throw the ball type
+    public int cell(int batter, int pitcher, int bid) {
+        if (bid < 0 || bid >= ballTypeSlots || Double.isNaN(speed[pitcher * ballTypeSlots + bid])) return -1;
+        return ((batter * pitcherCount + pitcher) * ballTypeSlots + bid) * BLOCK;
+    }
+
+    public double hitProbability(int cell, SwingTiming timing, boolean isStrike) {
+        return cells[cell + timing.ordinal() * 2 + (isStrike ? 1 : 0)];
+    }
+
+    public double inPlayOutProbability(int cell) {
+        return cells[cell + IN_PLAY_OUT];
+    }
+
+    // AtBatRules.resolveSwing with the probabilities read from the cell; draws the same random numbers
+    public PitchOutcome resolveSwing(RandomGenerator random, AtBatCount count, int cell, SwingTiming timing, boolean isStrike) {
+        if (timing.canMakeContact() && random.nextDouble() < hitProbability(cell, timing, isStrike)) {
+            return PitchOutcome.HIT;
+        }
+        return count.recordSwingWithoutHit(random.nextDouble() < inPlayOutProbability(cell));
+    }
+
+    public void setBatterRatings(int batter, int batterPower, int batterAccuracy) {
+        power[batter] = batterPower;
+        accuracy[batter] = batterAccuracy;
+        for (int p = 0; p < pitcherCount; p++) fill(batter, p);
+    }
+
+    public void setPitcherStuff(int pitcher, int pitcherStuff) {
+        stuff[pitcher] = pitcherStuff;
+        for (int b = 0; b < batterCount; b++) fill(b, pitcher);
+    }
+
+    private void fill(int batter, int pitcher) {
+        for (int bid = 0; bid < ballTypeSlots; bid++) {
+            double pitchSpeed = speed[pitcher * ballTypeSlots + bid];
+            if (Double.isNaN(pitchSpeed)) continue;
+            int at = ((batter * pitcherCount + pitcher) * ballTypeSlots + bid) * BLOCK;
+            for (SwingTiming timing : TIMINGS) {
+                for (int strike = 0; strike < 2; strike++) {
+                    cells[at + timing.ordinal() * 2 + strike] = AtBatRules.hitProbability(
+                            timing.getTimeProbability(strike == 1), power[batter], accuracy[batter], stuff[pitcher], pitchSpeed);
+                }
+            }
+            cells[at + IN_PLAY_OUT] = AtBatRules.hitProbability(AtBatRules.IN_PLAY_OUT_TIME_PROBABILITY,
+                    power[batter], accuracy[batter], stuff[pitcher], pitchSpeed);
+        }
+    }
+
+    public int getBatterCount() { return batterCount; }
+    public int getPitcherCount() { return pitcherCount; }
+    public int size() { return cells.length; }
+}
@@ -0,0 +1,127 @@
+package sim;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs plate appearances for a whole roster on a fork-join pool.
+ * Work is cut into fixed chunks and every chunk draws from its own random stream derived from
+ * (seed, PID, chunk index), so a run is reproducible regardless of thread count or scheduling.
+ * Swings are resolved from a MatchupMatrix built for the batter model and the roster at the start of each run.
+ */
+public final class MonteCarloEngine {
+    static final int CHUNK_PLATE_APPEARANCES = 1 << 14;
+
+    private final ForkJoinPool pool;
+    private final BatterModel batter;
+    private final Trajectory.Model physics;
+
+    public MonteCarloEngine(int parallelism, BatterModel batter) {
+        this(parallelism, batter, Trajectory.Model.CONSTANT_ACCELERATION);
+    }
+
+    public MonteCarloEngine(int parallelism, BatterModel batter, Trajectory.Model physics) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.batter = batter;
+        this.physics = physics;
+    }
+
+    public SimulationReport run(List<Arsenal> arsenals, long plateAppearancesPerPitcher, long seed) {
+        long startTime = System.nanoTime();
+        MatchupMatrix matchups = new MatchupMatrix(List.of(batter.asBatter()), arsenals);
+        OutcomeTally[] tallies = pool.invoke(new RosterTask(arsenals, matchups, plateAppearancesPerPitcher, seed));
+        long elapsed = System.nanoTime() - startTime;
+        return new SimulationReport(arsenals, tallies, elapsed, pool.getParallelism());
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    public static long streamSeed(long seed, int pid, long chunk) {
+        return mix64(mix64(seed ^ mix64(pid)) + chunk);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private class RosterTask extends RecursiveTask<OutcomeTally[]> {
+        private final List<Arsenal> arsenals;
+        private final MatchupMatrix matchups;
+        private final long plateAppearances;
+        private final long seed;
+
+        RosterTask(List<Arsenal> arsenals, MatchupMatrix matchups, long plateAppearances, long seed) {
+            this.arsenals = arsenals;
+            this.matchups = matchups;
+            this.plateAppearances = plateAppearances;
+            this.seed = seed;
+        }
+
+        @Override
+        protected OutcomeTally[] compute() {
+            long chunks = (plateAppearances + CHUNK_PLATE_APPEARANCES - 1) / CHUNK_PLATE_APPEARANCES;
+            ChunkTask[] tasks = new ChunkTask[arsenals.size()];
+            for (int i = 0; i < tasks.length; i++) {
+                tasks[i] = new ChunkTask(arsenals.get(i), matchups, i, plateAppearances, seed, 0, chunks);
+            }
+            invokeAll(tasks);
+            OutcomeTally[] tallies = new OutcomeTally[tasks.length];
+            for (int i = 0; i < tasks.length; i++) {
+                tallies[i] = tasks[i].join();
+            }
+            return tallies;
+        }
+    }
+
+    private class ChunkTask extends RecursiveTask<OutcomeTally> {
+        private final Arsenal arsenal;
+        private final MatchupMatrix matchups;
+        private final int pitcherRow;
+        private final long plateAppearances;
+        private final long seed;
+        private final long fromChunk, toChunk;
+
+        ChunkTask(Arsenal arsenal, MatchupMatrix matchups, int pitcherRow, long plateAppearances, long seed,
+                  long fromChunk, long toChunk) {
+            this.arsenal = arsenal;
+            this.matchups = matchups;
+            this.pitcherRow = pitcherRow;
+            this.plateAppearances = plateAppearances;
+            this.seed = seed;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected OutcomeTally compute() {
+            if (toChunk - fromChunk > 1) {
+                long mid = (fromChunk + toChunk) >>> 1;
+                ChunkTask left = new ChunkTask(arsenal, matchups, pitcherRow, plateAppearances, seed, fromChunk, mid);
+                ChunkTask right = new ChunkTask(arsenal, matchups, pitcherRow, plateAppearances, seed, mid, toChunk);
+                left.fork();
+                OutcomeTally tally = right.compute();
+                tally.merge(left.join());
+                return tally;
+            }
+            OutcomeTally tally = new OutcomeTally(arsenal.getPitchCount());
+            if (arsenal.getPitchCount() == 0 || fromChunk >= toChunk) {
+                return tally;
+            }
+            int pid = arsenal.getPitcher() != null ? arsenal.getPitcher().getPid() : 0;
+            SplittableRandom random = new SplittableRandom(streamSeed(seed, pid, fromChunk));
+            PlateAppearanceSimulator simulator = new PlateAppearanceSimulator(batter, random, physics.create(), matchups, 0);
+            long first = fromChunk * CHUNK_PLATE_APPEARANCES;
+            long count = Math.min(CHUNK_PLATE_APPEARANCES, plateAppearances - first);
+            for (long i = 0; i < count; i++) {
+                simulator.simulate(arsenal, pitcherRow, tally);
+            }
+            return tally;
+        }
+    }
+}
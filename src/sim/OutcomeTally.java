@@ -0,0 +1,73 @@
+package sim;
+
+/**
+ * Pitch outcome counters per pitch type of one arsenal. Not thread-safe; each worker keeps its own and merges.
+ */
+public final class OutcomeTally {
+    private static final PitchOutcome[] OUTCOMES = PitchOutcome.values();
+
+    private final int pitchTypes;
+    private final long[] counts;
+
+    public OutcomeTally(int pitchTypes) {
+        this.pitchTypes = pitchTypes;
+        this.counts = new long[pitchTypes * OUTCOMES.length];
+    }
+
+    public void record(int pitchIndex, PitchOutcome outcome) {
+        counts[pitchIndex * OUTCOMES.length + outcome.ordinal()]++;
+    }
+
+    public void merge(OutcomeTally other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+    }
+
+    public long count(int pitchIndex, PitchOutcome outcome) {
+        return counts[pitchIndex * OUTCOMES.length + outcome.ordinal()];
+    }
+
+    public long count(PitchOutcome outcome) {
+        long total = 0;
+        for (int i = 0; i < pitchTypes; i++) {
+            total += count(i, outcome);
+        }
+        return total;
+    }
+
+    public long pitches(int pitchIndex) {
+        long total = 0;
+        for (PitchOutcome outcome : OUTCOMES) {
+            total += count(pitchIndex, outcome);
+        }
+        return total;
+    }
+
+    public long pitches() {
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        return total;
+    }
+
+    // Plate appearances that ended on the given pitch type
+    public long plateAppearances(int pitchIndex) {
+        long total = 0;
+        for (PitchOutcome outcome : OUTCOMES) {
+            if (outcome.endsPlateAppearance()) total += count(pitchIndex, outcome);
+        }
+        return total;
+    }
+
+    public long plateAppearances() {
+        long total = 0;
+        for (int i = 0; i < pitchTypes; i++) {
+            total += plateAppearances(i);
+        }
+        return total;
+    }
+
+    public int getPitchTypes() { return pitchTypes; }
+}
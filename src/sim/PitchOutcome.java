@@ -0,0 +1,22 @@
+package sim;
+
+public enum PitchOutcome {
+    CALLED_STRIKE(false),
+    BALL(false),
+    SWINGING_STRIKE(false),
+    STRIKEOUT(true),
+    WALK(true),
+    HIT(true),
+    IN_PLAY_OUT(true);
+
+    private final boolean endsPlateAppearance;
+
+    PitchOutcome(boolean endsPlateAppearance) {
+        this.endsPlateAppearance = endsPlateAppearance;
+    }
+
+    public boolean endsPlateAppearance() { return endsPlateAppearance; }
+
+    // Walks count as hits in Play Mode
+    public boolean isOut() { return this == STRIKEOUT || this == IN_PLAY_OUT; }
+}
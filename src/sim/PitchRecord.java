@@ -0,0 +1,83 @@
+package sim;
+
+/**
+ * Everything needed to re-run one pitch: the seed behind all of its random draws, who threw what, where it was
+ * aimed, where it crossed the plate, when the batter swung and how it ended, and the trajectory model that flew it.
+ * Written to and read from the pitch log.
+ */
+public final class PitchRecord {
+    public static final int MODE_HITTING = 0;
+    public static final int MODE_PITCHING = 1;
+    public static final int MODE_PLAY = 2;
+
+    private final long seed;
+    private final long timeMillis;
+    private final int pid;
+    private final int bid;
+    private final int mode;
+    private final int balls; // Count before the pitch
+    private final int strikes;
+    private final double aimX_ft, aimY_ft, aimRadius_ft; // Manual pitching only; NaN when the computer pitched
+    private final double targetX_ft, targetY_ft;
+    private final double plateX_ft, plateY_ft;
+    private final double swingTime; // Seconds after release; NaN when the pitch was taken
+    private final PitchOutcome outcome;
+    private final Trajectory.Model physics;
+
+    public PitchRecord(long seed, long timeMillis, int pid, int bid, int mode, int balls, int strikes,
+                       double aimX_ft, double aimY_ft, double aimRadius_ft, double targetX_ft, double targetY_ft,
+                       double plateX_ft, double plateY_ft, double swingTime, PitchOutcome outcome) {
+        this(seed, timeMillis, pid, bid, mode, balls, strikes, aimX_ft, aimY_ft, aimRadius_ft, targetX_ft, targetY_ft,
+                plateX_ft, plateY_ft, swingTime, outcome, Trajectory.Model.CONSTANT_ACCELERATION);
+    }
+
+    public PitchRecord(long seed, long timeMillis, int pid, int bid, int mode, int balls, int strikes,
+                       double aimX_ft, double aimY_ft, double aimRadius_ft, double targetX_ft, double targetY_ft,
+                       double plateX_ft, double plateY_ft, double swingTime, PitchOutcome outcome, Trajectory.Model physics) {
+        this.seed = seed;
+        this.timeMillis = timeMillis;
+        this.pid = pid;
+        this.bid = bid;
+        this.mode = mode;
+        this.balls = balls;
+        this.strikes = strikes;
+        this.aimX_ft = aimX_ft;
+        this.aimY_ft = aimY_ft;
+        this.aimRadius_ft = aimRadius_ft;
+        this.targetX_ft = targetX_ft;
+        this.targetY_ft = targetY_ft;
+        this.plateX_ft = plateX_ft;
+        this.plateY_ft = plateY_ft;
+        this.swingTime = swingTime;
+        this.outcome = outcome;
+        this.physics = physics;
+    }
+
+    public long getSeed() { return seed; }
+    public long getTimeMillis() { return timeMillis; }
+    public int getPid() { return pid; }
+    public int getBid() { return bid; }
+    public int getMode() { return mode; }
+    public int getBalls() { return balls; }
+    public int getStrikes() { return strikes; }
+    public double getAimX() { return aimX_ft; }
+    public double getAimY() { return aimY_ft; }
+    public double getAimRadius() { return aimRadius_ft; }
+    public double getTargetX() { return targetX_ft; }
+    public double getTargetY() { return targetY_ft; }
+    public double getPlateX() { return plateX_ft; }
+    public double getPlateY() { return plateY_ft; }
+    public double getSwingTime() { return swingTime; }
+    public PitchOutcome getOutcome() { return outcome; }
+    public Trajectory.Model getPhysics() { return physics; }
+
+    public boolean isManualPitch() { return !Double.isNaN(aimX_ft); }
+    public boolean isSwing() { return !Double.isNaN(swingTime); }
+
+    @Override
+    public String toString() {
+        return String.format("seed=%d pid=%d bid=%d mode=%d count=%d-%d target=(%.3f, %.3f) plate=(%.3f, %.3f) swing=%s %s %s",
+                seed, pid, bid, mode, balls, strikes, targetX_ft, targetY_ft, plateX_ft, plateY_ft,
+                isSwing() ? String.format("%.4fs", swingTime) : "-", outcome, physics.getLabel());
+    }
+}
@@ -0,0 +1,67 @@
+package sim;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks the pitcher's next pitch type by usage (TRAJECTORY.USEP), leaning on the count: for each ball a fastball
+ * gets FASTBALL_LEAN times its weight, for each strike it gets 1 / FASTBALL_LEAN, so a pitcher behind in the count
+ * comes in with heat and one ahead expands with breaking and off-speed stuff. Every ball-strike count gets its own
+ * alias table, built when the arsenal is, so a pick is O(1) and allocates nothing. Pitches with no usage recorded
+ * share the pitcher's leftover percentage, or are picked uniformly when no pitch has one.
+ */
+public final class PitchSelector {
+    static final double FASTBALL_LEAN = 1.25;
+
+    private final AliasTable[] byCount = new AliasTable[AtBatRules.MAX_BALLS * AtBatRules.MAX_STRIKES];
+
+    public PitchSelector(Arsenal arsenal) {
+        int n = arsenal.getPitchCount();
+        double[] usage = new double[n];
+        double recorded = 0;
+        int unrecorded = 0;
+        for (int i = 0; i < n; i++) {
+            usage[i] = Math.max(0, arsenal.getPitch(i).getUsep());
+            recorded += usage[i];
+            if (usage[i] == 0) unrecorded++;
+        }
+        if (unrecorded > 0) {
+            double share = recorded > 0 ? Math.max(0, 100 - recorded) / unrecorded : 1;
+            for (int i = 0; i < n; i++) if (usage[i] == 0) usage[i] = share;
+        }
+
+        boolean[] fastball = new boolean[n];
+        for (int i = 0; i < n; i++) fastball[i] = isFastball(arsenal.getPitchName(i));
+        double[] weights = new double[n];
+        for (int balls = 0; balls < AtBatRules.MAX_BALLS; balls++) {
+            for (int strikes = 0; strikes < AtBatRules.MAX_STRIKES; strikes++) {
+                double lean = Math.pow(FASTBALL_LEAN, balls - strikes);
+                for (int i = 0; i < n; i++) {
+                    weights[i] = fastball[i] ? usage[i] * lean : usage[i];
+                }
+                byCount[index(balls, strikes)] = n > 0 ? new AliasTable(weights) : null;
+            }
+        }
+    }
+
+    // By BALLTYPE.BNAME, since BIDs differ between databases (StatcastImporter numbers the types it adds)
+    static boolean isFastball(String pitchName) {
+        return "4SEAMFAST".equals(pitchName) || "SINKER".equals(pitchName) || "CUTTER".equals(pitchName);
+    }
+
+    // Arsenal index of the next pitch at this count
+    public int next(RandomGenerator random, AtBatCount count) {
+        return next(random, count.getBalls(), count.getStrikes());
+    }
+
+    public int next(RandomGenerator random, int balls, int strikes) {
+        return byCount[index(balls, strikes)].sample(random);
+    }
+
+    public double probability(int pitchIndex, int balls, int strikes) {
+        return byCount[index(balls, strikes)].probability(pitchIndex);
+    }
+
+    private static int index(int balls, int strikes) {
+        return Math.min(balls, AtBatRules.MAX_BALLS - 1) * AtBatRules.MAX_STRIKES + Math.min(strikes, AtBatRules.MAX_STRIKES - 1);
+    }
+}
@@ -0,0 +1,51 @@
+package sim;
+
+import data.TrajectoryData;
+
+/**
+ * The default Trajectory model. Movement is a constant acceleration derived from HMOV/VMOV, so the position at any
+ * time is evaluated in closed form. An instance holds only the coefficients and is reused pitch after pitch.
+ */
+public final class PitchTrajectory implements Trajectory {
+    private double startX_ft, startY_ft, startZ_ft;
+    private final double endZ_ft = AtBatRules.HOME_PLATE_FRONT_FT;
+    private double vx, vy, vz;
+    private double ax, ay;
+    private double flightTime;
+
+    @Override
+    public Model getModel() { return Model.CONSTANT_ACCELERATION; }
+
+    @Override
+    public void aim(TrajectoryData data, double targetX, double targetY) {
+        startX_ft = data.getRex();
+        startY_ft = data.getRey();
+        startZ_ft = AtBatRules.PITCHER_MOUND_DISTANCE_FT;
+
+        double releaseSpeed_fts = data.getSpeed() * AtBatRules.MPH_TO_FTS;
+        double pfx_x_ft = data.getHmov() / 12.0;
+        double pfx_z_ft = data.getVmov() / 12.0;
+
+        flightTime = (startZ_ft - endZ_ft) / releaseSpeed_fts;
+
+        ax = (2 * pfx_x_ft) / (flightTime * flightTime);
+        ay = (2 * pfx_z_ft) / (flightTime * flightTime);
+
+        vx = ((targetX - startX_ft) / flightTime) - (0.5 * ax * flightTime);
+        vy = ((targetY - startY_ft) / flightTime) - (0.5 * ay * flightTime);
+        vz = releaseSpeed_fts;
+    }
+
+    public double xAt(double t) { return startX_ft + (vx + 0.5 * ax * t) * t; }
+    public double yAt(double t) { return startY_ft + (vy + 0.5 * ay * t) * t; }
+    public double zAt(double t) { return startZ_ft - vz * t; }
+
+    public double getPlateTime() { return flightTime; }
+    public double getPlateX() { return xAt(flightTime); }
+    public double getPlateY() { return yAt(flightTime); }
+
+    public double getStartX() { return startX_ft; }
+    public double getStartY() { return startY_ft; }
+    public double getStartZ() { return startZ_ft; }
+    public double getEndZ() { return endZ_ft; }
+}
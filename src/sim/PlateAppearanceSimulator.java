@@ -0,0 +1,81 @@
+package sim;
+
+import data.TrajectoryData;
+import java.util.random.RandomGenerator;
+
+/**
+ * Plays plate appearances without any UI, following the same rules as GamePanel's hitting mode.
+ * One instance per worker thread: it reuses its trajectory and count between plate appearances.
+ * Given a MatchupMatrix, swings are resolved from its precomputed probabilities for the batter's row and the
+ * pitcher's row passed to simulate; the outcomes are the same.
+ */
+public final class PlateAppearanceSimulator {
+    private final Trajectory trajectory;
+    private final AtBatCount count = new AtBatCount();
+    private final BatterModel batter;
+    private final RandomGenerator random;
+    private final MatchupMatrix matchups;
+    private final int batterRow;
+
+    public PlateAppearanceSimulator(BatterModel batter, RandomGenerator random) {
+        this(batter, random, new PitchTrajectory());
+    }
+
+    public PlateAppearanceSimulator(BatterModel batter, RandomGenerator random, Trajectory trajectory) {
+        this(batter, random, trajectory, null, 0);
+    }
+
+    public PlateAppearanceSimulator(BatterModel batter, RandomGenerator random, Trajectory trajectory,
+                                    MatchupMatrix matchups, int batterRow) {
+        this.batter = batter;
+        this.random = random;
+        this.trajectory = trajectory;
+        this.matchups = matchups;
+        this.batterRow = batterRow;
+    }
+
+    public PitchOutcome simulate(Arsenal arsenal) {
+        return simulate(arsenal, -1, null);
+    }
+
+    public PitchOutcome simulate(Arsenal arsenal, OutcomeTally tally) {
+        return simulate(arsenal, -1, tally);
+    }
+
+    // pitcherRow is the arsenal's row in the MatchupMatrix (-1 evaluates the formula); tally may be null when only
+    // the plate appearance's outcome matters
+    public PitchOutcome simulate(Arsenal arsenal, int pitcherRow, OutcomeTally tally) {
+        count.reset();
+        int pitcherStuff = arsenal.getPitcher() != null ? arsenal.getPitcher().getStuff() : 50;
+        while (true) {
+            int pitchIndex = arsenal.nextPitch(random, count);
+            PitchOutcome outcome = simulatePitch(arsenal.getPitch(pitchIndex), pitcherStuff, pitcherRow);
+            if (tally != null) tally.record(pitchIndex, outcome);
+            if (outcome.endsPlateAppearance()) {
+                return outcome;
+            }
+        }
+    }
+
+    private PitchOutcome simulatePitch(TrajectoryData data, int pitcherStuff, int pitcherRow) {
+        boolean inZone = AtBatRules.aimsInZone(random);
+        double targetX = AtBatRules.targetX(random, inZone);
+        double targetY = AtBatRules.targetY(random, inZone);
+        trajectory.aim(data, targetX, targetY);
+        boolean isStrike = trajectory.isStrike();
+
+        if (batter.decidesToSwing(random, isStrike)) {
+            double swingTimeRatio = batter.swingTimeRatio(random);
+            if (swingTimeRatio <= 1.0) {
+                SwingTiming timing = SwingTiming.of(swingTimeRatio);
+                int cell = matchups != null && pitcherRow >= 0 ? matchups.cell(batterRow, pitcherRow, data.getBid()) : -1;
+                if (cell >= 0) {
+                    return matchups.resolveSwing(random, count, cell, timing, isStrike);
+                }
+                return AtBatRules.resolveSwing(random, count, timing, isStrike,
+                        batter.getPower(), batter.getAccuracy(), pitcherStuff, data.getSpeed());
+            }
+        }
+        return count.recordTakenPitch(isStrike);
+    }
+}
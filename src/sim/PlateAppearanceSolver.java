@@ -0,0 +1,175 @@
+package sim;
+
+import java.util.Locale;
+
+/**
+ * Exact plate-appearance odds for a BatterModel against an arsenal, without sampling. The count is a Markov chain
+ * over the 12 ball-strike states: at each one the PitchSelector's mix of pitch types, the computer's targeting, the
+ * batter's swing decision and timing, and AtBatRules' hit formula give the chance that the pitch is a hit, an
+ * in-play out, a strike or a ball. Every transition adds a ball or a strike, so one backward pass from 3-2 to 0-0
+ * gives the outcome distribution and the expected pitches per plate appearance.
+ *
+ * Both trajectory models cross the plate at the target they were aimed at, so whether a pitch is a strike depends
+ * only on the target ranges in AtBatRules; timing windows come from the normal swing time ratio of BatterModel.
+ * PlateAppearanceSimulator samples the same process (bench/SolverCheck compares the two). Not thread-safe: one
+ * instance reuses its per-count arrays between arsenals.
+ */
+public final class PlateAppearanceSolver {
+    private static final SwingTiming[] TIMINGS = SwingTiming.values();
+    private static final int STATES = AtBatRules.MAX_BALLS * AtBatRules.MAX_STRIKES;
+
+    private final BatterModel batter;
+    private final double strikeProbability;
+    private final double[] timingProbability = new double[TIMINGS.length]; // Of a swing drawn before the plate
+
+    // Per count state: chance of each way the plate appearance ends from there, and the pitches still to come
+    private final double[] strikeout = new double[STATES], walk = new double[STATES];
+    private final double[] hit = new double[STATES], inPlayOut = new double[STATES], pitches = new double[STATES];
+
+    /** Outcome distribution of a plate appearance from 0-0. */
+    public static final class Odds {
+        private final double strikeout, walk, hit, inPlayOut, pitchesPerPlateAppearance;
+
+        Odds(double strikeout, double walk, double hit, double inPlayOut, double pitchesPerPlateAppearance) {
+            this.strikeout = strikeout;
+            this.walk = walk;
+            this.hit = hit;
+            this.inPlayOut = inPlayOut;
+            this.pitchesPerPlateAppearance = pitchesPerPlateAppearance;
+        }
+
+        public double getStrikeout() { return strikeout; }
+        public double getWalk() { return walk; }
+        public double getHit() { return hit; }
+        public double getInPlayOut() { return inPlayOut; }
+        public double getPitchesPerPlateAppearance() { return pitchesPerPlateAppearance; }
+
+        // Hit or walk: what moves Play Mode on to the next pitcher
+        public double getReachBase() { return hit + walk; }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "K %.4f | BB %.4f | H %.4f | In-play out %.4f | %.3f pitches/PA",
+                    strikeout, walk, hit, inPlayOut, pitchesPerPlateAppearance);
+        }
+    }
+
+    public PlateAppearanceSolver(BatterModel batter) {
+        this.batter = batter;
+        this.strikeProbability = strikeProbability();
+        // A swing drawn after the ball reached the plate (ratio > 1) is a taken pitch, so only the part of each
+        // window at or before the plate counts
+        double beforePlate = swingTimeCdf(1.0);
+        double contact = 0;
+        for (SwingTiming timing : TIMINGS) {
+            if (timing == SwingTiming.TOO_EARLY) continue;
+            double[] window = window(timing);
+            double p = Math.max(0, swingTimeCdf(Math.min(window[1], 1.0)) - swingTimeCdf(window[0]));
+            timingProbability[timing.ordinal()] = p;
+            contact += p;
+        }
+        timingProbability[SwingTiming.TOO_EARLY.ordinal()] = Math.max(0, beforePlate - contact);
+    }
+
+    public Odds solve(Arsenal arsenal) {
+        int pitchCount = arsenal.getPitchCount();
+        if (pitchCount == 0) throw new IllegalArgumentException("Arsenal has no pitches");
+        int stuff = arsenal.getPitcher() != null ? arsenal.getPitcher().getStuff() : 50;
+        // What one pitch of each type does, whatever the count: hit, in-play out, strike, ball
+        double[] step = new double[pitchCount * 4];
+        for (int k = 0; k < pitchCount; k++) pitchStep(arsenal.getPitch(k).getSpeed(), stuff, step, k * 4);
+
+        PitchSelector selector = arsenal.getSelector();
+        for (int balls = AtBatRules.MAX_BALLS - 1; balls >= 0; balls--) {
+            for (int strikes = AtBatRules.MAX_STRIKES - 1; strikes >= 0; strikes--) {
+                double pHit = 0, pOut = 0, pStrike = 0, pBall = 0;
+                for (int k = 0; k < pitchCount; k++) {
+                    double q = selector.probability(k, balls, strikes);
+                    pHit += q * step[k * 4];
+                    pOut += q * step[k * 4 + 1];
+                    pStrike += q * step[k * 4 + 2];
+                    pBall += q * step[k * 4 + 3];
+                }
+                int state = balls * AtBatRules.MAX_STRIKES + strikes;
+                int afterStrike = strikes + 1 < AtBatRules.MAX_STRIKES ? state + 1 : -1;
+                int afterBall = balls + 1 < AtBatRules.MAX_BALLS ? state + AtBatRules.MAX_STRIKES : -1;
+                hit[state] = pHit + pStrike * at(hit, afterStrike) + pBall * at(hit, afterBall);
+                inPlayOut[state] = pOut + pStrike * at(inPlayOut, afterStrike) + pBall * at(inPlayOut, afterBall);
+                strikeout[state] = pStrike * (afterStrike < 0 ? 1 : strikeout[afterStrike]) + pBall * at(strikeout, afterBall);
+                walk[state] = pStrike * at(walk, afterStrike) + pBall * (afterBall < 0 ? 1 : walk[afterBall]);
+                pitches[state] = 1 + pStrike * at(pitches, afterStrike) + pBall * at(pitches, afterBall);
+            }
+        }
+        return new Odds(strikeout[0], walk[0], hit[0], inPlayOut[0], pitches[0]);
+    }
+
+    private static double at(double[] values, int state) {
+        return state < 0 ? 0 : values[state];
+    }
+
+    private void pitchStep(double speed, int stuff, double[] step, int at) {
+        int power = batter.getPower(), accuracy = batter.getAccuracy();
+        double outChance = AtBatRules.hitProbability(AtBatRules.IN_PLAY_OUT_TIME_PROBABILITY, power, accuracy, stuff, speed);
+        for (int strike = 0; strike < 2; strike++) {
+            boolean isStrike = strike == 1;
+            double location = isStrike ? strikeProbability : 1 - strikeProbability;
+            double swingRate = isStrike ? batter.getZoneSwingRate() : batter.getChaseRate();
+            double swung = 0;
+            for (SwingTiming timing : TIMINGS) {
+                double p = location * swingRate * timingProbability[timing.ordinal()];
+                double hitChance = timing.canMakeContact()
+                        ? AtBatRules.hitProbability(timing.getTimeProbability(isStrike), power, accuracy, stuff, speed) : 0;
+                step[at] += p * hitChance;
+                step[at + 1] += p * (1 - hitChance) * outChance;
+                step[at + 2] += p * (1 - hitChance) * (1 - outChance);
+                swung += p;
+            }
+            step[at + (isStrike ? 2 : 3)] += location - swung; // Taken
+        }
+    }
+
+    // Share of the computer's targets inside the strike zone (AtBatRules.targetX/targetY)
+    static double strikeProbability() {
+        double zoneHeight = AtBatRules.STRIKE_ZONE_TOP_FT - AtBatRules.STRIKE_ZONE_BOTTOM_FT;
+        // Out-of-zone targets: |x| uniform just past the zone's sides, y uniform over the zone plus a margin
+        double outX = overlap(AtBatRules.STRIKE_ZONE_RIGHT_FT, AtBatRules.STRIKE_ZONE_RIGHT_FT + AtBatRules.OUT_OF_ZONE_MARGIN_FT,
+                AtBatRules.STRIKE_ZONE_LEFT_FT, AtBatRules.STRIKE_ZONE_RIGHT_FT) / AtBatRules.OUT_OF_ZONE_MARGIN_FT;
+        double outY = zoneHeight / (zoneHeight + 2 * AtBatRules.OUT_OF_ZONE_MARGIN_FT);
+        return AtBatRules.ZONE_TARGET_PROBABILITY + (1 - AtBatRules.ZONE_TARGET_PROBABILITY) * outX * outY;
+    }
+
+    private static double overlap(double from, double to, double lo, double hi) {
+        return Math.max(0, Math.min(to, hi) - Math.max(from, lo));
+    }
+
+    // Swing time ratios that fall in the timing's window, as SwingTiming.of reads them
+    private static double[] window(SwingTiming timing) {
+        switch (timing) {
+            case PERFECT: return new double[] { SwingTiming.PERFECT_START, SwingTiming.PERFECT_END };
+            case A_BIT_LATE: return new double[] { SwingTiming.PERFECT_END, SwingTiming.GOOD_END };
+            case A_BIT_EARLY: return new double[] { SwingTiming.GOOD_START, SwingTiming.PERFECT_START };
+            case LATE: return new double[] { SwingTiming.GOOD_END, SwingTiming.OK_END };
+            case EARLY: return new double[] { SwingTiming.OK_START, SwingTiming.GOOD_START };
+            default: throw new IllegalArgumentException(timing.name());
+        }
+    }
+
+    private double swingTimeCdf(double ratio) {
+        double sd = batter.getTimingStdDev();
+        if (sd <= 0) return ratio >= batter.getTimingMean() ? 1 : 0;
+        return normalCdf((ratio - batter.getTimingMean()) / sd);
+    }
+
+    static double normalCdf(double z) {
+        return 0.5 * (1 + erf(z / Math.sqrt(2)));
+    }
+
+    // Abramowitz and Stegun 7.1.26; absolute error below 1.5e-7
+    static double erf(double x) {
+        double ax = Math.abs(x);
+        double t = 1 / (1 + 0.3275911 * ax);
+        double poly = t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 + t * 1.061405429))));
+        double y = 1 - poly * Math.exp(-ax * ax);
+        return x < 0 ? -y : y;
+    }
+}
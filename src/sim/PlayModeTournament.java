@@ -0,0 +1,208 @@
+package sim;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Plays full Play Mode games for many pitcher lineups on a fork-join pool. A lineup is a set of targetHits distinct
+ * pitchers, faced in catalog order; a game is won on reaching base off each of them before maxOuts outs. The order
+ * does not change the odds (see winProbability), so only combinations are played: all of them when there are at
+ * most maxLineups, otherwise maxLineups distinct ones drawn at random. Each lineup's games draw from their own random
+ * stream derived from (seed, lineup index), so a run is reproducible regardless of thread count. Alongside the played games, each lineup gets the win probability implied by the
+ * pitchers' exact reach-base rates from PlateAppearanceSolver (see TournamentReport).
+ */
+public final class PlayModeTournament {
+    static final int CHUNK_LINEUPS = 64;
+
+    private final ForkJoinPool pool;
+    private final BatterModel batter;
+    private final Trajectory.Model physics;
+    private final int targetHits;
+    private final int maxOuts;
+
+    public PlayModeTournament(int parallelism, BatterModel batter, Trajectory.Model physics, int targetHits, int maxOuts) {
+        if (targetHits < 1 || maxOuts < 1) {
+            throw new IllegalArgumentException("Target hits and max outs must be at least 1");
+        }
+        this.pool = new ForkJoinPool(parallelism);
+        this.batter = batter;
+        this.physics = physics;
+        this.targetHits = targetHits;
+        this.maxOuts = maxOuts;
+    }
+
+    public TournamentReport run(List<Arsenal> arsenals, int maxLineups, int gamesPerLineup, long seed) {
+        if (arsenals.size() < targetHits) {
+            throw new IllegalArgumentException("Need at least " + targetHits + " pitchers, have " + arsenals.size());
+        }
+        long startTime = System.nanoTime();
+        double[] reachRates = reachRates(arsenals);
+
+        long combinations = combinations(arsenals.size(), targetHits, maxLineups);
+        boolean enumerated = combinations <= maxLineups;
+        int lineups = (int) Math.min(combinations, maxLineups);
+        int[] pitchers = new int[lineups * targetHits];
+        if (enumerated) {
+            enumerate(arsenals.size(), pitchers);
+        } else {
+            sample(arsenals.size(), pitchers, new SplittableRandom(MonteCarloEngine.streamSeed(seed, -2, 0)));
+        }
+        int[] wins = new int[lineups];
+        MatchupMatrix matchups = new MatchupMatrix(List.of(batter.asBatter()), arsenals);
+        pool.invoke(new LineupTask(arsenals, matchups, pitchers, wins, gamesPerLineup, seed, 0, lineups));
+
+        long elapsed = System.nanoTime() - startTime;
+        return new TournamentReport(arsenals, targetHits, maxOuts, pitchers, wins, gamesPerLineup, reachRates,
+                enumerated, elapsed, pool.getParallelism());
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private double[] reachRates(List<Arsenal> arsenals) {
+        PlateAppearanceSolver solver = new PlateAppearanceSolver(batter);
+        double[] rates = new double[arsenals.size()];
+        for (int i = 0; i < rates.length; i++) {
+            rates[i] = arsenals.get(i).getPitchCount() == 0 ? 0 : solver.solve(arsenals.get(i)).getReachBase();
+        }
+        return rates;
+    }
+
+    // n choose k, or cap + 1 once it passes cap. Each step is itself a binomial, so the division is exact
+    static long combinations(int n, int k, long cap) {
+        long total = 1;
+        for (int i = 0; i < k; i++) {
+            total = total * (n - i) / (i + 1);
+            if (total > cap) return cap + 1;
+        }
+        return total;
+    }
+
+    // Every targetHits-subset of 0..n-1, in lexicographic order
+    private void enumerate(int n, int[] pitchers) {
+        int[] lineup = new int[targetHits];
+        for (int i = 0; i < targetHits; i++) lineup[i] = i;
+        for (int offset = 0; offset < pitchers.length; offset += targetHits) {
+            System.arraycopy(lineup, 0, pitchers, offset, targetHits);
+            int i = targetHits - 1;
+            while (i >= 0 && lineup[i] == n - targetHits + i) i--;
+            if (i < 0) break;
+            lineup[i]++;
+            for (int j = i + 1; j < targetHits; j++) lineup[j] = lineup[j - 1] + 1;
+        }
+    }
+
+    // Distinct k-subsets drawn at random: a partial Fisher-Yates shuffle picks each one, sorted so a repeat is seen
+    private void sample(int n, int[] pitchers, SplittableRandom random) {
+        int[] remaining = new int[n];
+        for (int i = 0; i < n; i++) remaining[i] = i;
+        int[] lineup = new int[targetHits];
+        Set<List<Integer>> drawn = new HashSet<>();
+        for (int offset = 0; offset < pitchers.length; ) {
+            for (int i = 0; i < targetHits; i++) {
+                int pick = i + random.nextInt(n - i);
+                int chosen = remaining[pick];
+                remaining[pick] = remaining[i];
+                remaining[i] = chosen;
+                lineup[i] = chosen;
+            }
+            Arrays.sort(lineup);
+            if (drawn.add(Arrays.stream(lineup).boxed().toList())) {
+                System.arraycopy(lineup, 0, pitchers, offset, targetHits);
+                offset += targetHits;
+            }
+        }
+    }
+
+    /**
+     * Probability of reaching base off every pitcher in turn before maxOuts outs, given each one's reach-base rate
+     * per plate appearance. The outs made against one pitcher are geometric, so this is the chance their sum stays
+     * below maxOuts; it does not depend on the order of the lineup.
+     */
+    public static double winProbability(double[] reachRates, int[] lineup, int from, int targetHits, int maxOuts) {
+        double[] outs = new double[maxOuts]; // outs[o]: chance of having made exactly o outs so far
+        double[] next = new double[maxOuts];
+        outs[0] = 1;
+        for (int i = 0; i < targetHits; i++) {
+            double reach = reachRates[lineup[from + i]];
+            Arrays.fill(next, 0);
+            for (int o = 0; o < maxOuts; o++) {
+                double p = outs[o] * reach;
+                for (int more = 0; o + more < maxOuts && p > 0; more++) {
+                    next[o + more] += p;
+                    p *= 1 - reach;
+                }
+            }
+            double[] swap = outs;
+            outs = next;
+            next = swap;
+        }
+        double total = 0;
+        for (double p : outs) total += p;
+        return total;
+    }
+
+    private class LineupTask extends RecursiveAction {
+        private final List<Arsenal> arsenals;
+        private final MatchupMatrix matchups;
+        private final int[] pitchers;
+        private final int[] wins;
+        private final int games;
+        private final long seed;
+        private final int from, to;
+
+        LineupTask(List<Arsenal> arsenals, MatchupMatrix matchups, int[] pitchers, int[] wins, int games, long seed,
+                   int from, int to) {
+            this.arsenals = arsenals;
+            this.matchups = matchups;
+            this.pitchers = pitchers;
+            this.wins = wins;
+            this.games = games;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK_LINEUPS) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new LineupTask(arsenals, matchups, pitchers, wins, games, seed, from, mid),
+                        new LineupTask(arsenals, matchups, pitchers, wins, games, seed, mid, to));
+                return;
+            }
+            Trajectory trajectory = physics.create();
+            for (int lineup = from; lineup < to; lineup++) {
+                SplittableRandom random = new SplittableRandom(MonteCarloEngine.streamSeed(seed, -1, lineup));
+                int offset = lineup * targetHits;
+                PlateAppearanceSimulator simulator = new PlateAppearanceSimulator(batter, random, trajectory, matchups, 0);
+                int won = 0;
+                for (int game = 0; game < games; game++) {
+                    if (play(simulator, offset)) won++;
+                }
+                wins[lineup] = won;
+            }
+        }
+
+        // One Play Mode game: a hit or a walk moves on to the next pitcher, as in GamePanel
+        private boolean play(PlateAppearanceSimulator simulator, int offset) {
+            int hits = 0, outs = 0;
+            while (outs < maxOuts) {
+                int pitcher = pitchers[offset + hits];
+                PitchOutcome outcome = simulator.simulate(arsenals.get(pitcher), pitcher, null);
+                if (outcome == PitchOutcome.HIT || outcome == PitchOutcome.WALK) {
+                    if (++hits == targetHits) return true;
+                } else if (outcome.isOut()) {
+                    outs++;
+                }
+            }
+            return false;
+        }
+    }
+}
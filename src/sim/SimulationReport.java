@@ -0,0 +1,71 @@
+package sim;
+
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * Result of a MonteCarloEngine run: outcome rates per pitcher and per pitch type, plus throughput.
+ */
+public final class SimulationReport {
+    private final List<Arsenal> arsenals;
+    private final OutcomeTally[] tallies;
+    private final long elapsedNanos;
+    private final int parallelism;
+
+    SimulationReport(List<Arsenal> arsenals, OutcomeTally[] tallies, long elapsedNanos, int parallelism) {
+        this.arsenals = arsenals;
+        this.tallies = tallies;
+        this.elapsedNanos = elapsedNanos;
+        this.parallelism = parallelism;
+    }
+
+    public OutcomeTally getTally(int arsenalIndex) { return tallies[arsenalIndex]; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    public long totalPitches() {
+        long total = 0;
+        for (OutcomeTally tally : tallies) total += tally.pitches();
+        return total;
+    }
+
+    public long totalPlateAppearances() {
+        long total = 0;
+        for (OutcomeTally tally : tallies) total += tally.plateAppearances();
+        return total;
+    }
+
+    public double pitchesPerSecond() {
+        return totalPitches() / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    public void print(PrintStream out) {
+        for (int i = 0; i < arsenals.size(); i++) {
+            Arsenal arsenal = arsenals.get(i);
+            OutcomeTally tally = tallies[i];
+            long pa = tally.plateAppearances();
+            out.printf("%s (PID %d): %,d PA, %,d pitches, %.2f pitches/PA%n",
+                    arsenal.getPitcher() != null ? arsenal.getPitcher().getPname() : "N/A",
+                    arsenal.getPitcher() != null ? arsenal.getPitcher().getPid() : 0,
+                    pa, tally.pitches(), ratio(tally.pitches(), pa));
+            out.printf("  K %.4f | BB %.4f | H %.4f | In-play out %.4f%n",
+                    ratio(tally.count(PitchOutcome.STRIKEOUT), pa), ratio(tally.count(PitchOutcome.WALK), pa),
+                    ratio(tally.count(PitchOutcome.HIT), pa), ratio(tally.count(PitchOutcome.IN_PLAY_OUT), pa));
+            for (int p = 0; p < tally.getPitchTypes(); p++) {
+                long pitches = tally.pitches(p);
+                long endingPa = tally.plateAppearances(p);
+                out.printf("    %-10s usage %.3f | PA ended %,d: K %.4f BB %.4f H %.4f Out %.4f%n",
+                        arsenal.getPitchName(p), ratio(pitches, tally.pitches()), endingPa,
+                        ratio(tally.count(p, PitchOutcome.STRIKEOUT), endingPa),
+                        ratio(tally.count(p, PitchOutcome.WALK), endingPa),
+                        ratio(tally.count(p, PitchOutcome.HIT), endingPa),
+                        ratio(tally.count(p, PitchOutcome.IN_PLAY_OUT), endingPa));
+            }
+        }
+        out.printf("Simulated %,d PA / %,d pitches in %.3f s on %d threads: %,.0f pitches/s%n",
+                totalPlateAppearances(), totalPitches(), elapsedNanos / 1_000_000_000.0, parallelism, pitchesPerSecond());
+    }
+
+    private static double ratio(long count, long total) {
+        return total == 0 ? 0 : (double) count / total;
+    }
+}
@@ -0,0 +1,52 @@
+package sim;
+
+/**
+ * Swing timing windows. The swing time ratio is the share of the pitch's flight
+ * that had been covered when the batter swung (0 = release, 1 = front of the plate).
+ */
+public enum SwingTiming {
+    PERFECT("Perfect", 0.6, 0.1),
+    A_BIT_LATE("A bit late", 0.2, 0.05),
+    A_BIT_EARLY("A bit early", 0.2, 0.05),
+    LATE("Late", 0.1, 0),
+    EARLY("Early", 0.1, 0),
+    TOO_EARLY("Too Early", 0, 0);
+
+    public static final double PERFECT_START = 0.91, PERFECT_END = 0.97;
+    public static final double GOOD_START = 0.86, GOOD_END = 1.0;
+    public static final double OK_START = 0.82, OK_END = 1.04;
+
+    private final String label;
+    private final double strikeTimeProbability;
+    private final double ballTimeProbability;
+
+    SwingTiming(String label, double strikeTimeProbability, double ballTimeProbability) {
+        this.label = label;
+        this.strikeTimeProbability = strikeTimeProbability;
+        this.ballTimeProbability = ballTimeProbability;
+    }
+
+    public static SwingTiming of(double swingTimeRatio) {
+        if (swingTimeRatio >= PERFECT_START && swingTimeRatio <= PERFECT_END) {
+            return PERFECT;
+        } else if (swingTimeRatio > PERFECT_END && swingTimeRatio <= GOOD_END) {
+            return A_BIT_LATE;
+        } else if (swingTimeRatio < PERFECT_START && swingTimeRatio >= GOOD_START) {
+            return A_BIT_EARLY;
+        } else if (swingTimeRatio > GOOD_END && swingTimeRatio <= OK_END) {
+            return LATE;
+        } else if (swingTimeRatio < GOOD_START && swingTimeRatio >= OK_START) {
+            return EARLY;
+        }
+        return TOO_EARLY;
+    }
+
+    public String getLabel() { return label; }
+
+    // A "Too Early" swing never makes contact, every other window rolls calculateHitProbability
+    public boolean canMakeContact() { return this != TOO_EARLY; }
+
+    public double getTimeProbability(boolean isStrike) {
+        return isStrike ? strikeTimeProbability : ballTimeProbability;
+    }
+}
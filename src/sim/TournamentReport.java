@@ -0,0 +1,120 @@
+package sim;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Result of a PlayModeTournament run: the lineups played, their games won, and the win probability the pitchers'
+ * reach-base rates predict for each. Lineups are ranked by their played win rate; the predicted column shows how
+ * much of the spread between lineups is sampling noise.
+ */
+public final class TournamentReport {
+    private final List<Arsenal> arsenals;
+    private final int targetHits;
+    private final int maxOuts;
+    private final int[] pitchers; // targetHits arsenal indexes per lineup
+    private final int[] wins;
+    private final int gamesPerLineup;
+    private final double[] reachRates;
+    private final boolean enumerated;
+    private final long elapsedNanos;
+    private final int parallelism;
+    private final Integer[] ranking;
+
+    TournamentReport(List<Arsenal> arsenals, int targetHits, int maxOuts, int[] pitchers, int[] wins,
+                     int gamesPerLineup, double[] reachRates, boolean enumerated, long elapsedNanos, int parallelism) {
+        this.arsenals = arsenals;
+        this.targetHits = targetHits;
+        this.maxOuts = maxOuts;
+        this.pitchers = pitchers;
+        this.wins = wins;
+        this.gamesPerLineup = gamesPerLineup;
+        this.reachRates = reachRates;
+        this.enumerated = enumerated;
+        this.elapsedNanos = elapsedNanos;
+        this.parallelism = parallelism;
+        this.ranking = new Integer[wins.length];
+        for (int i = 0; i < ranking.length; i++) ranking[i] = i;
+        Arrays.sort(ranking, (a, b) -> wins[a] != wins[b] ? Integer.compare(wins[b], wins[a])
+                : Double.compare(predictedWinProbability(b), predictedWinProbability(a)));
+    }
+
+    public int getLineups() { return wins.length; }
+    public long getGames() { return (long) wins.length * gamesPerLineup; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public boolean isEnumerated() { return enumerated; }
+    public double getReachRate(int arsenalIndex) { return reachRates[arsenalIndex]; }
+
+    // Lineup at the given rank, 0 being the best
+    public int lineupAt(int rank) { return ranking[rank]; }
+
+    public int pitcher(int lineup, int order) { return pitchers[lineup * targetHits + order]; }
+
+    public double winRate(int lineup) {
+        return gamesPerLineup == 0 ? 0 : (double) wins[lineup] / gamesPerLineup;
+    }
+
+    // Half-width of the 95% normal-approximation interval around winRate
+    public double winRateMargin(int lineup) {
+        double p = winRate(lineup);
+        return gamesPerLineup == 0 ? 0 : 1.96 * Math.sqrt(p * (1 - p) / gamesPerLineup);
+    }
+
+    public double predictedWinProbability(int lineup) {
+        return PlayModeTournament.winProbability(reachRates, pitchers, lineup * targetHits, targetHits, maxOuts);
+    }
+
+    public void print(PrintStream out, int top) {
+        out.printf("Play Mode: reach base off %d pitchers before %d outs; %s %,d lineups of %d%n", targetHits, maxOuts,
+                enumerated ? "all" : "sampled", wins.length, arsenals.size());
+        out.printf("%5s %9s %8s %10s  %s%n", "Rank", "Win rate", "+/-95%", "Predicted", "Lineup");
+        for (int rank = 0; rank < Math.min(top, wins.length); rank++) {
+            int lineup = ranking[rank];
+            out.printf(Locale.ROOT, "%5d %9.4f %8.4f %10.4f  %s%n", rank + 1, winRate(lineup), winRateMargin(lineup),
+                    predictedWinProbability(lineup), names(lineup, " / "));
+        }
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        out.printf("Played %,d games (%,d per lineup) in %.3f s on %d threads: %,.0f games/s%n",
+                getGames(), gamesPerLineup, seconds, parallelism, getGames() / seconds);
+    }
+
+    // One row per lineup in rank order; pitchers are listed by PID and name in the order they are faced
+    public void writeCsv(Path path) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            out.println("rank,win_rate,margin_95,predicted,wins,games,pids,pitchers");
+            for (int rank = 0; rank < wins.length; rank++) {
+                int lineup = ranking[rank];
+                StringBuilder pids = new StringBuilder();
+                for (int i = 0; i < targetHits; i++) {
+                    if (i > 0) pids.append(' ');
+                    pids.append(pid(pitcher(lineup, i)));
+                }
+                out.printf(Locale.ROOT, "%d,%.5f,%.5f,%.5f,%d,%d,%s,\"%s\"%n", rank + 1, winRate(lineup),
+                        winRateMargin(lineup), predictedWinProbability(lineup), wins[lineup], gamesPerLineup, pids,
+                        names(lineup, " / ").replace("\"", "\"\""));
+            }
+        }
+    }
+
+    private String names(int lineup, String separator) {
+        StringBuilder names = new StringBuilder();
+        for (int i = 0; i < targetHits; i++) {
+            if (i > 0) names.append(separator);
+            Arsenal arsenal = arsenals.get(pitcher(lineup, i));
+            names.append(arsenal.getPitcher() != null ? arsenal.getPitcher().getPname() : "N/A");
+        }
+        return names.toString();
+    }
+
+    private int pid(int arsenalIndex) {
+        Arsenal arsenal = arsenals.get(arsenalIndex);
+        return arsenal.getPitcher() != null ? arsenal.getPitcher().getPid() : 0;
+    }
+}
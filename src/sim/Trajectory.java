@@ -0,0 +1,61 @@
+package sim;
+
+import data.TrajectoryData;
+
+/**
+ * Pitch flight from the release point to the front of home plate, aimed so it crosses the plate at a target.
+ * Implementations are reused pitch after pitch and must not allocate once constructed.
+ */
+public interface Trajectory {
+    String PHYSICS_PROPERTY = "pitch.physics";
+
+    enum Model {
+        CONSTANT_ACCELERATION("constant"), // PitchTrajectory, the default
+        DRAG_MAGNUS("spin");               // DragMagnusTrajectory
+
+        private final String label;
+
+        Model(String label) {
+            this.label = label;
+        }
+
+        public Trajectory create() {
+            return this == DRAG_MAGNUS ? new DragMagnusTrajectory() : new PitchTrajectory();
+        }
+
+        public String getLabel() { return label; }
+
+        // -Dpitch.physics=spin selects the drag/Magnus model; anything else keeps the default
+        public static Model selected() {
+            return DRAG_MAGNUS.label.equalsIgnoreCase(System.getProperty(PHYSICS_PROPERTY)) ? DRAG_MAGNUS : CONSTANT_ACCELERATION;
+        }
+    }
+
+    Model getModel();
+
+    // Solve the release velocity that carries the ball onto the target
+    void aim(TrajectoryData data, double targetX, double targetY);
+
+    // Position t seconds after release
+    double xAt(double t);
+    double yAt(double t);
+    double zAt(double t);
+
+    double getPlateTime();
+    double getPlateX();
+    double getPlateY();
+
+    // Share of the flight covered t seconds after release (0 = release, 1 = front of the plate)
+    default double progressAt(double t) {
+        return t / getPlateTime();
+    }
+
+    default boolean isStrike() {
+        return AtBatRules.isStrike(getPlateX(), getPlateY());
+    }
+
+    double getStartX();
+    double getStartY();
+    double getStartZ();
+    double getEndZ();
+}
@@ -0,0 +1,59 @@
+package sim;
+
+/**
+ * Sampled pitch path stored as parallel primitive arrays (x/y/z in feet), for trails, replay and export.
+ * Buffers come from a TrajectoryBufferPool and are refilled in place, so sampling a pitch allocates nothing.
+ */
+public final class TrajectoryBuffer {
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    private double interval;
+    private int size;
+
+    TrajectoryBuffer(int capacity) {
+        this.x = new double[capacity];
+        this.y = new double[capacity];
+        this.z = new double[capacity];
+    }
+
+    // Sample the path every interval seconds from release, ending exactly at the front of the plate
+    public void fill(Trajectory trajectory, double interval) {
+        this.interval = interval;
+        double plateTime = trajectory.getPlateTime();
+        int steps = Math.min((int) (plateTime / interval), x.length - 2);
+        for (int i = 0; i <= steps; i++) {
+            double t = i * interval;
+            x[i] = trajectory.xAt(t);
+            y[i] = trajectory.yAt(t);
+            z[i] = trajectory.zAt(t);
+        }
+        size = steps + 1;
+        if (steps * interval < plateTime) {
+            x[size] = trajectory.getPlateX();
+            y[size] = trajectory.getPlateY();
+            z[size] = trajectory.zAt(plateTime);
+            size++;
+        }
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // Index of the last sample taken at or before t seconds after release
+    public int indexAt(double t) {
+        if (size == 0) return -1;
+        return Math.min(size - 1, (int) (t / interval));
+    }
+
+    public double x(int index) { return x[index]; }
+    public double y(int index) { return y[index]; }
+    public double z(int index) { return z[index]; }
+    public double[] xs() { return x; }
+    public double[] ys() { return y; }
+    public double[] zs() { return z; }
+    public int size() { return size; }
+    public int capacity() { return x.length; }
+    public double getInterval() { return interval; }
+}
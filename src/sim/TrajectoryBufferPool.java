@@ -0,0 +1,64 @@
+package sim;
+
+import data.TrajectoryData;
+import java.util.Collection;
+
+/**
+ * Reusable TrajectoryBuffers sized to the longest pitch of the loaded arsenal.
+ * Buffers are only allocated when the pool grows or an arsenal with a slower pitch is loaded.
+ * Not thread-safe; GamePanel uses it from the event thread only.
+ */
+public final class TrajectoryBufferPool {
+    private static final int MAX_IDLE = 4;
+    // Drag slows the ball, so under DragMagnusTrajectory a pitch takes up to about 7% longer than at release speed
+    private static final double DRAG_FLIGHT_ALLOWANCE = 1.1;
+
+    private final TrajectoryBuffer[] idle = new TrajectoryBuffer[MAX_IDLE];
+    private int idleCount;
+    private int bufferCapacity;
+
+    public TrajectoryBufferPool(int bufferCapacity) {
+        this.bufferCapacity = bufferCapacity;
+    }
+
+    // Number of samples needed for the slowest pitch, including the release and plate points
+    public static int capacityFor(Collection<TrajectoryData> pitches, double interval) {
+        double longestFlight = 0;
+        for (TrajectoryData data : pitches) {
+            double releaseSpeed_fts = data.getSpeed() * 1.467;
+            if (releaseSpeed_fts <= 0) continue;
+            double flightTime = (AtBatRules.PITCHER_MOUND_DISTANCE_FT - AtBatRules.HOME_PLATE_FRONT_FT) / releaseSpeed_fts;
+            longestFlight = Math.max(longestFlight, flightTime);
+        }
+        return (int) (longestFlight * DRAG_FLIGHT_ALLOWANCE / interval) + 2;
+    }
+
+    // Grow the buffers for a newly loaded arsenal; idle buffers that are too small are dropped
+    public void ensureCapacity(int capacity) {
+        if (capacity <= bufferCapacity) return;
+        bufferCapacity = capacity;
+        for (int i = 0; i < idleCount; i++) {
+            idle[i] = null;
+        }
+        idleCount = 0;
+    }
+
+    public TrajectoryBuffer acquire() {
+        if (idleCount > 0) {
+            TrajectoryBuffer buffer = idle[--idleCount];
+            idle[idleCount] = null;
+            return buffer;
+        }
+        return new TrajectoryBuffer(bufferCapacity);
+    }
+
+    public void release(TrajectoryBuffer buffer) {
+        if (buffer == null) return;
+        buffer.clear();
+        if (buffer.capacity() >= bufferCapacity && idleCount < MAX_IDLE) {
+            idle[idleCount++] = buffer;
+        }
+    }
+
+    public int getBufferCapacity() { return bufferCapacity; }
+}